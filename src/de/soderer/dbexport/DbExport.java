@@ -33,6 +33,7 @@ import de.soderer.utilities.UpdateableConsoleApplication;
 import de.soderer.utilities.Utilities;
 import de.soderer.utilities.Version;
 import de.soderer.utilities.appupdate.ApplicationUpdateUtilities;
+import de.soderer.utilities.compression.CompressionCodecs;
 import de.soderer.utilities.console.ConsoleMenu;
 import de.soderer.utilities.console.ConsoleType;
 import de.soderer.utilities.console.ConsoleUtilities;
@@ -272,6 +273,65 @@ public class DbExport extends UpdateableConsoleApplication implements WorkerPare
 					} else if ("-useZipCrypto".equalsIgnoreCase(arguments[i])) {
 						dbExportDefinition.setUseZipCrypto(true);
 						wasAllowedParam = true;
+					} else if ("-ziplevel".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for zip compression level");
+						} else if (!NumberUtilities.isInteger(arguments[i]) || Integer.parseInt(arguments[i]) < 0 || Integer.parseInt(arguments[i]) > 9) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for zip compression level");
+						} else {
+							dbExportDefinition.setZipLevel(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-zipthreads".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for number of zip threads");
+						} else if (!NumberUtilities.isInteger(arguments[i]) || Integer.parseInt(arguments[i]) < 1) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for number of zip threads");
+						} else {
+							dbExportDefinition.setZipThreads(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-zipSingleArchive".equalsIgnoreCase(arguments[i])) {
+						dbExportDefinition.setZipSingleArchive(true);
+						wasAllowedParam = true;
+					} else if ("-compression".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for compression");
+						} else if ("none".equalsIgnoreCase(arguments[i])) {
+							dbExportDefinition.setZip(false);
+							dbExportDefinition.setCompression(null);
+						} else if ("zip".equalsIgnoreCase(arguments[i])) {
+							dbExportDefinition.setZip(true);
+							dbExportDefinition.setCompression(null);
+						} else if (CompressionCodecs.getCodec(arguments[i]) != null) {
+							dbExportDefinition.setCompression(arguments[i].toLowerCase());
+						} else {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for compression");
+						}
+						wasAllowedParam = true;
+					} else if ("-splitrows".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for split rows");
+						} else if (!NumberUtilities.isLong(arguments[i]) || Long.parseLong(arguments[i]) < 1) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for split rows");
+						} else {
+							dbExportDefinition.setSplitRows(Long.parseLong(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-splitbytes".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for split bytes");
+						} else if (!NumberUtilities.isDataSize(arguments[i]) || NumberUtilities.parseDataSize(arguments[i]) < 1) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for split bytes");
+						} else {
+							dbExportDefinition.setSplitBytes(NumberUtilities.parseDataSize(arguments[i]));
+						}
+						wasAllowedParam = true;
 					} else if ("-dbtz".equalsIgnoreCase(arguments[i])) {
 						i++;
 						if (i >= arguments.length) {
@@ -403,6 +463,100 @@ public class DbExport extends UpdateableConsoleApplication implements WorkerPare
 					} else if ("-structure".equalsIgnoreCase(arguments[i])) {
 						dbExportDefinition.setExportStructure(true);
 						wasAllowedParam = true;
+					} else if ("-threads".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for number of threads");
+						} else if (!NumberUtilities.isInteger(arguments[i]) || Integer.parseInt(arguments[i]) < 1) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for number of threads");
+						} else {
+							dbExportDefinition.setThreads(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-partitions".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for number of partitions");
+						} else if (!NumberUtilities.isInteger(arguments[i]) || Integer.parseInt(arguments[i]) < 1) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for number of partitions");
+						} else {
+							dbExportDefinition.setPartitions(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-partitionfiles".equalsIgnoreCase(arguments[i])) {
+						dbExportDefinition.setPartitionFiles(true);
+						wasAllowedParam = true;
+					} else if ("-copy".equalsIgnoreCase(arguments[i])) {
+						dbExportDefinition.setUseDbCopy(true);
+						wasAllowedParam = true;
+					} else if ("-snapshot".equalsIgnoreCase(arguments[i])) {
+						dbExportDefinition.setConsistentSnapshot(true);
+						wasAllowedParam = true;
+					} else if ("-pipeline".equalsIgnoreCase(arguments[i])) {
+						dbExportDefinition.setPipeline(true);
+						wasAllowedParam = true;
+					} else if ("-fetchmemory".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for fetch memory");
+						} else if (!NumberUtilities.isDataSize(arguments[i])) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for fetch memory");
+						} else {
+							dbExportDefinition.setFetchMemory(NumberUtilities.parseDataSize(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-outputbuffer".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for output buffer size");
+						} else if (!NumberUtilities.isDataSize(arguments[i]) || NumberUtilities.parseDataSize(arguments[i]) <= 0 || NumberUtilities.parseDataSize(arguments[i]) > Integer.MAX_VALUE) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for output buffer size");
+						} else {
+							dbExportDefinition.setOutputBufferSize((int) NumberUtilities.parseDataSize(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-sqlbatch".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for number of sql batch lines");
+						} else if (!NumberUtilities.isInteger(arguments[i]) || Integer.parseInt(arguments[i]) < 1) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for number of sql batch lines");
+						} else {
+							dbExportDefinition.setSqlBatchLines(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-sqlcommit".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for number of sql commit lines");
+						} else if (!NumberUtilities.isInteger(arguments[i]) || Integer.parseInt(arguments[i]) < 1) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for number of sql commit lines");
+						} else {
+							dbExportDefinition.setSqlCommitLines(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-sqlbulkload".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for sql bulk load db vendor");
+						} else {
+							try {
+								dbExportDefinition.setSqlBulkLoad(DbVendor.getDbVendorByName(arguments[i]));
+							} catch (final Exception e) {
+								throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for sql bulk load db vendor");
+							}
+						}
+						wasAllowedParam = true;
+					} else if ("-count".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter for count mode");
+						} else if (Utilities.isBlank(arguments[i])) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for count mode");
+						} else {
+							dbExportDefinition.setCountMode(arguments[i]);
+						}
+						wasAllowedParam = true;
 					} else if ("-export".equalsIgnoreCase(arguments[i])) {
 						i++;
 						if (i >= arguments.length) {
@@ -6,15 +6,19 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.zip.Deflater;
 
 import de.soderer.dbexport.worker.AbstractDbExportWorker;
 import de.soderer.dbexport.worker.DbCsvExportWorker;
 import de.soderer.dbexport.worker.DbJsonExportWorker;
 import de.soderer.dbexport.worker.DbSqlExportWorker;
 import de.soderer.dbexport.worker.DbXmlExportWorker;
+import de.soderer.utilities.OutputSink;
 import de.soderer.utilities.Utilities;
+import de.soderer.utilities.compression.CompressionCodecs;
 import de.soderer.utilities.db.DbDefinition;
 import de.soderer.utilities.db.DbUtilities;
+import de.soderer.utilities.db.FetchSizeGovernor;
 import de.soderer.utilities.db.DbUtilities.DbVendor;
 import de.soderer.utilities.worker.WorkerParentDual;
 
@@ -52,6 +56,27 @@ public class DbExportDefinition extends DbDefinition {
 		}
 	}
 
+	/**
+	 * The Enum CountMode for the number of lines to export, which is needed for progress display.
+	 */
+	public enum CountMode {
+		/** Count by an extra COUNT(*) query */
+		EXACT,
+		/** Use the table statistics of the db vendor */
+		ESTIMATE,
+		/** Show progress without known end */
+		NONE;
+
+		public static CountMode getFromString(final String countModeString) throws Exception {
+			for (final CountMode countMode : CountMode.values()) {
+				if (countMode.toString().equalsIgnoreCase(countModeString)) {
+					return countMode;
+				}
+			}
+			throw new Exception("Invalid count mode: " + countModeString);
+		}
+	}
+
 	// Mandatory parameters
 
 	/** The sql statement or tablelist. */
@@ -82,6 +107,24 @@ public class DbExportDefinition extends DbDefinition {
 
 	private boolean useZipCrypto = false;
 
+	/** Compression level of zipped output */
+	private int zipLevel = Deflater.DEFAULT_COMPRESSION;
+
+	/** Number of threads compressing zipped output */
+	private int zipThreads = 1;
+
+	/** Write all tables of a table pattern export into one zip archive */
+	private boolean zipSingleArchive = false;
+
+	/** Compression codec of the output files instead of zip */
+	private String compression = null;
+
+	/** Maximum number of lines of each part file of a split output, 0 for no split by lines */
+	private long splitRows = 0;
+
+	/** Maximum size of the uncompressed data of each part file of a split output, 0 for no split by size */
+	private long splitBytes = 0;
+
 	private String databaseTimeZone = TimeZone.getDefault().getID();
 
 	private String exportDataTimeZone = TimeZone.getDefault().getID();
@@ -134,6 +177,42 @@ public class DbExportDefinition extends DbDefinition {
 	/** The null value string. */
 	private String nullValueString = "";
 
+	/** The number of tables exported in parallel */
+	private int threads = 1;
+
+	/** The number of primary key ranges a table is split into for concurrent readout */
+	private int partitions = 1;
+
+	/** Export each primary key range into a separate file */
+	private boolean partitionFiles = false;
+
+	/** Fetch and write data in separate threads */
+	private boolean pipeline = false;
+
+	/** The way the number of lines to export is determined */
+	private CountMode countMode = CountMode.EXACT;
+
+	/** Use the db vendors own bulk export (PostgreSQL COPY) */
+	private boolean useDbCopy = false;
+
+	/** Memory budget for the rows fetched from db at once, 0 to keep the jdbc drivers fetch size */
+	private long fetchMemory = FetchSizeGovernor.DEFAULT_FETCH_MEMORY;
+
+	/** Read all tables and partitions at the same point in time */
+	private boolean consistentSnapshot = false;
+
+	/** Size of the output buffer in bytes */
+	private int outputBufferSize = OutputSink.DEFAULT_BUFFER_SIZE;
+
+	/** Number of lines combined in one sql insert statement */
+	private int sqlBatchLines = 1;
+
+	/** Number of lines enclosed in one sql transaction, 0 for no transaction statements */
+	private int sqlCommitLines = 0;
+
+	/** Target db vendor of a sql bulk load script, null for insert statements */
+	private DbVendor sqlBulkLoad = null;
+
 	/**
 	 * Sets the data type.
 	 *
@@ -432,6 +511,120 @@ public class DbExportDefinition extends DbDefinition {
 		return useZipCrypto;
 	}
 
+	/**
+	 * Sets the compression level of zipped output.
+	 *
+	 * @param zipLevel
+	 *            the new compression level 0 to 9, Deflater.DEFAULT_COMPRESSION for the default level
+	 */
+	public void setZipLevel(final int zipLevel) {
+		this.zipLevel = zipLevel;
+	}
+
+	/**
+	 * Gets the compression level of zipped output.
+	 *
+	 * @return the compression level
+	 */
+	public int getZipLevel() {
+		return zipLevel;
+	}
+
+	/**
+	 * Sets the number of threads compressing zipped output in parallel blocks.
+	 *
+	 * @param zipThreads
+	 *            the new number of zip threads
+	 */
+	public void setZipThreads(final int zipThreads) {
+		this.zipThreads = zipThreads;
+	}
+
+	/**
+	 * Gets the number of zip threads.
+	 *
+	 * @return the number of zip threads
+	 */
+	public int getZipThreads() {
+		return zipThreads;
+	}
+
+	/**
+	 * Sets the zipSingleArchive.
+	 *
+	 * @param zipSingleArchive
+	 *            the new zipSingleArchive
+	 */
+	public void setZipSingleArchive(final boolean zipSingleArchive) {
+		this.zipSingleArchive = zipSingleArchive;
+	}
+
+	/**
+	 * Checks if is zipSingleArchive.
+	 *
+	 * @return true, if is zipSingleArchive
+	 */
+	public boolean isZipSingleArchive() {
+		return zipSingleArchive;
+	}
+
+	/**
+	 * Sets the compression.
+	 *
+	 * @param compression
+	 *            the new compression
+	 */
+	public void setCompression(final String compression) {
+		this.compression = compression;
+	}
+
+	/**
+	 * Gets the compression.
+	 *
+	 * @return the compression
+	 */
+	public String getCompression() {
+		return compression;
+	}
+
+	/**
+	 * Sets the maximum number of lines per part file.
+	 *
+	 * @param splitRows
+	 *            the new split rows
+	 */
+	public void setSplitRows(final long splitRows) {
+		this.splitRows = splitRows;
+	}
+
+	/**
+	 * Gets the split rows.
+	 *
+	 * @return the split rows
+	 */
+	public long getSplitRows() {
+		return splitRows;
+	}
+
+	/**
+	 * Sets the maximum size of the data per part file.
+	 *
+	 * @param splitBytes
+	 *            the new split bytes
+	 */
+	public void setSplitBytes(final long splitBytes) {
+		this.splitBytes = splitBytes;
+	}
+
+	/**
+	 * Gets the split bytes.
+	 *
+	 * @return the split bytes
+	 */
+	public long getSplitBytes() {
+		return splitBytes;
+	}
+
 	/**
 	 * Gets the encoding.
 	 *
@@ -594,6 +787,128 @@ public class DbExportDefinition extends DbDefinition {
 		if (beautify && dataType != DataType.CSV && dataType != DataType.JSON && dataType != DataType.XML) {
 			throw new DbExportException("Beautify is not supported for export format " + dataType);
 		}
+
+		if (useDbCopy && dataType != DataType.CSV) {
+			throw new DbExportException("Db copy is not supported for export format " + dataType);
+		} else if (useDbCopy && getDbVendor() != DbVendor.PostgreSQL) {
+			throw new DbExportException("Db copy is not supported for db vendor " + getDbVendor());
+		}
+
+		if (consistentSnapshot && getDbVendor() != DbVendor.PostgreSQL && getDbVendor() != DbVendor.MySQL && getDbVendor() != DbVendor.MariaDB && getDbVendor() != DbVendor.Oracle) {
+			throw new DbExportException("Consistent snapshot is not supported for db vendor " + getDbVendor());
+		}
+
+		if (fetchMemory < 0) {
+			throw new DbExportException("Invalid fetch memory: " + fetchMemory);
+		}
+
+		if (outputBufferSize <= 0) {
+			throw new DbExportException("Invalid output buffer size: " + outputBufferSize);
+		}
+
+		if (sqlBatchLines < 1) {
+			throw new DbExportException("Invalid number of sql batch lines: " + sqlBatchLines);
+		} else if (sqlBatchLines > 1 && dataType != DataType.SQL) {
+			throw new DbExportException("SqlBatch is not supported for export format " + dataType);
+		}
+
+		if (sqlCommitLines < 0) {
+			throw new DbExportException("Invalid number of sql commit lines: " + sqlCommitLines);
+		} else if (sqlCommitLines > 0 && dataType != DataType.SQL) {
+			throw new DbExportException("SqlCommit is not supported for export format " + dataType);
+		} else if (sqlCommitLines > 0 && getDbVendor() == DbVendor.Cassandra) {
+			throw new DbExportException("SqlCommit is not supported for db vendor " + getDbVendor());
+		}
+
+		if ((zipLevel < 0 || zipLevel > 9) && zipLevel != Deflater.DEFAULT_COMPRESSION) {
+			throw new DbExportException("Invalid zip compression level: " + zipLevel);
+		} else if (zipLevel != Deflater.DEFAULT_COMPRESSION && !zip && compression == null) {
+			throw new DbExportException("ZipLevel is only supported for zipped or compressed output");
+		}
+
+		if (zipThreads < 1) {
+			throw new DbExportException("Invalid number of zip threads: " + zipThreads);
+		} else if (zipThreads > 1 && !zip && compression == null) {
+			throw new DbExportException("ZipThreads is only supported for zipped or compressed output");
+		}
+
+		if (compression != null) {
+			if (CompressionCodecs.getCodec(compression) == null) {
+				throw new DbExportException("Invalid compression: " + compression);
+			} else if (zip) {
+				throw new DbExportException("Compression " + compression + " cannot be combined with zipped output");
+			} else if ("console".equalsIgnoreCase(outputpath) || "gui".equalsIgnoreCase(outputpath)) {
+				throw new DbExportException("Compression is not supported for " + outputpath.toLowerCase() + " output");
+			} else if (sqlBulkLoad != null && sqlBulkLoad != DbVendor.PostgreSQL) {
+				throw new DbExportException("SqlBulkLoad for db vendor " + sqlBulkLoad + " is not supported for compressed output");
+			}
+		}
+
+		if (splitRows < 0) {
+			throw new DbExportException("Invalid split rows: " + splitRows);
+		} else if (splitBytes < 0) {
+			throw new DbExportException("Invalid split bytes: " + splitBytes);
+		} else if (splitRows > 0 || splitBytes > 0) {
+			if ("console".equalsIgnoreCase(outputpath) || "gui".equalsIgnoreCase(outputpath)) {
+				throw new DbExportException("Split output is not supported for " + outputpath.toLowerCase() + " output");
+			} else if (zipSingleArchive) {
+				throw new DbExportException("Split output cannot be combined with ZipSingleArchive");
+			} else if (sqlBulkLoad != null && sqlBulkLoad != DbVendor.PostgreSQL) {
+				throw new DbExportException("SqlBulkLoad for db vendor " + sqlBulkLoad + " is not supported for split output");
+			} else if (splitBytes > 0 && beautify && dataType == DataType.CSV) {
+				// Beautified csv data is written when the output is closed, so its size is not known before
+				throw new DbExportException("SplitBytes is not supported for beautified csv output");
+			}
+		}
+
+		if (zipSingleArchive && !zip) {
+			throw new DbExportException("ZipSingleArchive is only supported for zipped output");
+		}
+
+		if (sqlBulkLoad != null) {
+			if (dataType != DataType.SQL) {
+				throw new DbExportException("SqlBulkLoad is not supported for export format " + dataType);
+			} else if (sqlBulkLoad != DbVendor.PostgreSQL && sqlBulkLoad != DbVendor.MySQL && sqlBulkLoad != DbVendor.MariaDB && sqlBulkLoad != DbVendor.Oracle) {
+				throw new DbExportException("SqlBulkLoad is not supported for db vendor " + sqlBulkLoad);
+			} else if (sqlBatchLines > 1 || sqlCommitLines > 0) {
+				throw new DbExportException("SqlBulkLoad cannot be combined with SqlBatch or SqlCommit");
+			} else if (sqlBulkLoad != DbVendor.PostgreSQL && ("console".equalsIgnoreCase(outputpath) || "gui".equalsIgnoreCase(outputpath))) {
+				throw new DbExportException("SqlBulkLoad for db vendor " + sqlBulkLoad + " is not supported for " + outputpath.toLowerCase() + " output");
+			}
+		}
+
+		if (threads < 1) {
+			throw new DbExportException("Invalid number of threads: " + threads);
+		} else if (threads > 1) {
+			if ("console".equalsIgnoreCase(outputpath) || "gui".equalsIgnoreCase(outputpath)) {
+				throw new DbExportException("Parallel export is not supported for " + outputpath.toLowerCase() + " output");
+			} else if (sqlStatementOrTablelist.toLowerCase().startsWith("select ")
+					|| sqlStatementOrTablelist.toLowerCase().startsWith("select\t")
+					|| sqlStatementOrTablelist.toLowerCase().startsWith("select\n")
+					|| sqlStatementOrTablelist.toLowerCase().startsWith("select\r")) {
+				throw new DbExportException("Parallel export is only supported for table exports");
+			}
+		}
+
+		if (partitions < 1) {
+			throw new DbExportException("Invalid number of partitions: " + partitions);
+		} else if (partitions > 1) {
+			if ("console".equalsIgnoreCase(outputpath) || "gui".equalsIgnoreCase(outputpath)) {
+				throw new DbExportException("Partitioned export is not supported for " + outputpath.toLowerCase() + " output");
+			} else if (sqlStatementOrTablelist.toLowerCase().startsWith("select ")
+					|| sqlStatementOrTablelist.toLowerCase().startsWith("select\t")
+					|| sqlStatementOrTablelist.toLowerCase().startsWith("select\n")
+					|| sqlStatementOrTablelist.toLowerCase().startsWith("select\r")) {
+				throw new DbExportException("Partitioned export is only supported for table exports");
+			} else if (exportStructure) {
+				throw new DbExportException("Partitioned export is not supported for structure export");
+			} else if (threads > 1) {
+				// Table workers of a parallel export read their table by a single connection each
+				throw new DbExportException("Partitioned export cannot be combined with parallel export of tables (threads)");
+			}
+		} else if (partitionFiles) {
+			throw new DbExportException("PartitionFiles is set without partitioning");
+		}
 	}
 
 	/**
@@ -691,6 +1006,255 @@ public class DbExportDefinition extends DbDefinition {
 		return exportStructure;
 	}
 
+	/**
+	 * Sets the number of tables to be exported in parallel, each on its own db connection.
+	 *
+	 * @param threads
+	 *            the number of parallel table exports
+	 */
+	public void setThreads(final int threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * Gets the number of tables to be exported in parallel.
+	 *
+	 * @return the number of parallel table exports
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of primary key ranges a table is split into, which are read concurrently on separate db connections.
+	 *
+	 * @param partitions
+	 *            the number of partitions per table
+	 */
+	public void setPartitions(final int partitions) {
+		this.partitions = partitions;
+	}
+
+	/**
+	 * Gets the number of primary key ranges a table is split into.
+	 *
+	 * @return the number of partitions per table
+	 */
+	public int getPartitions() {
+		return partitions;
+	}
+
+	/**
+	 * Sets the partition files.
+	 *
+	 * @param partitionFiles
+	 *            export each partition into a separate file instead of joining them in one file
+	 */
+	public void setPartitionFiles(final boolean partitionFiles) {
+		this.partitionFiles = partitionFiles;
+	}
+
+	/**
+	 * Checks if is partition files.
+	 *
+	 * @return true, if each partition is exported into a separate file
+	 */
+	public boolean isPartitionFiles() {
+		return partitionFiles;
+	}
+
+	/**
+	 * Sets the pipeline mode, which fetches the data from db and writes the output in separate threads.
+	 *
+	 * @param pipeline
+	 *            the new pipeline mode
+	 */
+	public void setPipeline(final boolean pipeline) {
+		this.pipeline = pipeline;
+	}
+
+	/**
+	 * Checks if is pipeline mode.
+	 *
+	 * @return true, if is pipeline mode
+	 */
+	public boolean isPipeline() {
+		return pipeline;
+	}
+
+	/**
+	 * Sets the count mode.
+	 *
+	 * @param countMode
+	 *            the new count mode
+	 */
+	public void setCountMode(final CountMode countMode) {
+		this.countMode = countMode;
+		if (this.countMode == null) {
+			this.countMode = CountMode.EXACT;
+		}
+	}
+
+	/**
+	 * Sets the count mode.
+	 *
+	 * @param countMode
+	 *            the new count mode
+	 * @throws Exception
+	 *             the exception
+	 */
+	public void setCountMode(final String countMode) throws Exception {
+		this.countMode = CountMode.getFromString(countMode);
+	}
+
+	/**
+	 * Gets the count mode.
+	 *
+	 * @return the count mode
+	 */
+	public CountMode getCountMode() {
+		return countMode;
+	}
+
+	/**
+	 * Sets the use of the db vendors bulk export (PostgreSQL "COPY ... TO STDOUT") for csv export.
+	 * Configurations, which cannot be mapped onto the bulk export options, and result columns, which the db server formats or quotes differently
+	 * than the generic export (like texts, dates, decimals, booleans and blobs), are exported the generic way.
+	 *
+	 * @param useDbCopy
+	 *            the new use db copy
+	 */
+	public void setUseDbCopy(final boolean useDbCopy) {
+		this.useDbCopy = useDbCopy;
+	}
+
+	/**
+	 * Checks if is use db copy.
+	 *
+	 * @return true, if is use db copy
+	 */
+	public boolean isUseDbCopy() {
+		return useDbCopy;
+	}
+
+	/**
+	 * Sets the memory budget in bytes for the rows fetched from db at once.
+	 * The jdbc fetch size is derived from this budget and the size of the lines.
+	 *
+	 * @param fetchMemory
+	 *            the new fetch memory
+	 */
+	public void setFetchMemory(final long fetchMemory) {
+		this.fetchMemory = fetchMemory;
+	}
+
+	/**
+	 * Gets the fetch memory.
+	 *
+	 * @return the fetch memory
+	 */
+	public long getFetchMemory() {
+		return fetchMemory;
+	}
+
+	/**
+	 * Sets the readout of all tables and partitions at the same point in time, even when using multiple connections.
+	 *
+	 * @param consistentSnapshot
+	 *            the new consistent snapshot
+	 */
+	public void setConsistentSnapshot(final boolean consistentSnapshot) {
+		this.consistentSnapshot = consistentSnapshot;
+	}
+
+	/**
+	 * Checks if is consistent snapshot.
+	 *
+	 * @return true, if is consistent snapshot
+	 */
+	public boolean isConsistentSnapshot() {
+		return consistentSnapshot;
+	}
+
+	/**
+	 * Sets the size of the output buffer in bytes.
+	 * Output in UTF-8, US-ASCII or ISO-8859-1 is encoded directly into this buffer.
+	 *
+	 * @param outputBufferSize
+	 *            the new output buffer size
+	 */
+	public void setOutputBufferSize(final int outputBufferSize) {
+		this.outputBufferSize = outputBufferSize;
+	}
+
+	/**
+	 * Gets the output buffer size.
+	 *
+	 * @return the output buffer size
+	 */
+	public int getOutputBufferSize() {
+		return outputBufferSize;
+	}
+
+	/**
+	 * Sets the number of lines combined in one multi-line sql insert statement.
+	 * MySQL and MariaDB statements are also limited by the servers max_allowed_packet.
+	 *
+	 * @param sqlBatchLines
+	 *            the new number of sql batch lines
+	 */
+	public void setSqlBatchLines(final int sqlBatchLines) {
+		this.sqlBatchLines = sqlBatchLines;
+	}
+
+	/**
+	 * Gets the number of sql batch lines.
+	 *
+	 * @return the number of sql batch lines
+	 */
+	public int getSqlBatchLines() {
+		return sqlBatchLines;
+	}
+
+	/**
+	 * Sets the number of lines enclosed in one sql transaction.
+	 *
+	 * @param sqlCommitLines
+	 *            the new number of sql commit lines
+	 */
+	public void setSqlCommitLines(final int sqlCommitLines) {
+		this.sqlCommitLines = sqlCommitLines;
+	}
+
+	/**
+	 * Gets the number of sql commit lines.
+	 *
+	 * @return the number of sql commit lines
+	 */
+	public int getSqlCommitLines() {
+		return sqlCommitLines;
+	}
+
+	/**
+	 * Sets the target db vendor of a sql bulk load script.
+	 * PostgreSQL gets a COPY statement with its data, MySQL and MariaDB get a LOAD DATA statement and Oracle gets a SQL*Loader control file, each with a separate data file.
+	 *
+	 * @param sqlBulkLoad
+	 *            the new sql bulk load db vendor, null for insert statements
+	 */
+	public void setSqlBulkLoad(final DbVendor sqlBulkLoad) {
+		this.sqlBulkLoad = sqlBulkLoad;
+	}
+
+	/**
+	 * Gets the sql bulk load db vendor.
+	 *
+	 * @return the sql bulk load db vendor
+	 */
+	public DbVendor getSqlBulkLoad() {
+		return sqlBulkLoad;
+	}
+
 	/**
 	 * Create and configure a worker according to the current configuration
 	 *
@@ -731,6 +1295,9 @@ public class DbExportDefinition extends DbDefinition {
 			((DbSqlExportWorker) worker).setDateTimeFormat(getDateTimeFormat());
 			((DbSqlExportWorker) worker).setDecimalSeparator(getDecimalSeparator());
 			((DbSqlExportWorker) worker).setBeautify(isBeautify());
+			((DbSqlExportWorker) worker).setSqlBatchLines(getSqlBatchLines());
+			((DbSqlExportWorker) worker).setSqlCommitLines(getSqlCommitLines());
+			((DbSqlExportWorker) worker).setBulkLoadVendor(getSqlBulkLoad());
 		} else {
 			worker = new DbCsvExportWorker(parent,
 					this,
@@ -753,12 +1320,27 @@ public class DbExportDefinition extends DbDefinition {
 		worker.setZip(isZip());
 		worker.setZipPassword(getZipPassword());
 		worker.setUseZipCrypto(isUseZipCrypto());
+		worker.setZipLevel(getZipLevel());
+		worker.setZipThreads(getZipThreads());
+		worker.setZipSingleArchive(isZipSingleArchive());
+		worker.setCompressionCodec(CompressionCodecs.getCodec(getCompression()));
+		worker.setSplitRows(getSplitRows());
+		worker.setSplitBytes(getSplitBytes());
 		worker.setEncoding(getEncoding());
 		worker.setCreateBlobFiles(isCreateBlobFiles());
 		worker.setCreateClobFiles(isCreateClobFiles());
 		worker.setExportStructure(isExportStructure());
 		worker.setDatabaseTimeZone(getDatabaseTimeZone());
 		worker.setExportDataTimeZone(getExportDataTimeZone());
+		worker.setThreads(getThreads());
+		worker.setPartitions(getPartitions());
+		worker.setPartitionFiles(isPartitionFiles());
+		worker.setPipeline(isPipeline());
+		worker.setCountMode(getCountMode());
+		worker.setUseDbCopy(isUseDbCopy());
+		worker.setFetchMemory(getFetchMemory());
+		worker.setConsistentSnapshot(isConsistentSnapshot());
+		worker.setOutputBufferSize(getOutputBufferSize());
 
 		return worker;
 	}
@@ -802,6 +1384,24 @@ public class DbExportDefinition extends DbDefinition {
 		if (isUseZipCrypto()) {
 			params += " " + "-useZipCrypto";
 		}
+		if (getZipLevel() != Deflater.DEFAULT_COMPRESSION) {
+			params += " " + "-zipLevel" + " " + getZipLevel();
+		}
+		if (getZipThreads() > 1) {
+			params += " " + "-zipThreads" + " " + getZipThreads();
+		}
+		if (isZipSingleArchive()) {
+			params += " " + "-zipSingleArchive";
+		}
+		if (getCompression() != null) {
+			params += " " + "-compression" + " " + getCompression();
+		}
+		if (getSplitRows() > 0) {
+			params += " " + "-splitRows" + " " + getSplitRows();
+		}
+		if (getSplitBytes() > 0) {
+			params += " " + "-splitBytes" + " " + getSplitBytes();
+		}
 		if (TimeZone.getDefault().getDisplayName().equalsIgnoreCase(getDatabaseTimeZone())) {
 			params += " " + "-dbtz" + " " + getDatabaseTimeZone();
 		}
@@ -853,6 +1453,42 @@ public class DbExportDefinition extends DbDefinition {
 		if (!"".equals(getNullValueString())) {
 			params += " " + "-n" + " '" + getNullValueString() + "'";
 		}
+		if (getThreads() > 1) {
+			params += " " + "-threads" + " " + getThreads();
+		}
+		if (getPartitions() > 1) {
+			params += " " + "-partitions" + " " + getPartitions();
+		}
+		if (isPartitionFiles()) {
+			params += " " + "-partitionfiles";
+		}
+		if (isPipeline()) {
+			params += " " + "-pipeline";
+		}
+		if (getCountMode() != CountMode.EXACT) {
+			params += " " + "-count" + " " + getCountMode().name().toLowerCase();
+		}
+		if (isUseDbCopy()) {
+			params += " " + "-copy";
+		}
+		if (getFetchMemory() != FetchSizeGovernor.DEFAULT_FETCH_MEMORY) {
+			params += " " + "-fetchMemory" + " " + getFetchMemory();
+		}
+		if (isConsistentSnapshot()) {
+			params += " " + "-snapshot";
+		}
+		if (getOutputBufferSize() != OutputSink.DEFAULT_BUFFER_SIZE) {
+			params += " " + "-outputBuffer" + " " + getOutputBufferSize();
+		}
+		if (getSqlBatchLines() > 1) {
+			params += " " + "-sqlBatch" + " " + getSqlBatchLines();
+		}
+		if (getSqlCommitLines() > 0) {
+			params += " " + "-sqlCommit" + " " + getSqlCommitLines();
+		}
+		if (getSqlBulkLoad() != null) {
+			params += " " + "-sqlBulkLoad" + " " + getSqlBulkLoad().toString();
+		}
 		return params;
 	}
 }
@@ -1,11 +1,11 @@
 package de.soderer.dbexport.converter;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.OutputStream;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Types;
-import java.util.Base64;
 
 import de.soderer.utilities.Utilities;
 
@@ -38,7 +38,7 @@ public class CassandraDBValueConverter extends DefaultDBValueConverter {
 					throw new Exception("Error creating blob file '" + blobOutputFile.getAbsolutePath() + "': " + e.getMessage());
 				}
 			} else {
-				value = Base64.getEncoder().encodeToString(data);
+				value = createBase64Value(new ByteArrayInputStream(data));
 			}
 		} else {
 			value = super.convert(metaData, resultSet, columnIndex, exportFilePath);
@@ -12,18 +12,32 @@ import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.sql.Types;
 import java.time.ZonedDateTime;
 import java.util.Base64;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import de.soderer.utilities.Base64EncodingReader;
+import de.soderer.utilities.CharacterStreamEncoder;
+import de.soderer.utilities.CountingOutputStream;
 import de.soderer.utilities.IoUtilities;
 import de.soderer.utilities.Utilities;
-import de.soderer.utilities.zip.Zip4jUtilities;
+import de.soderer.utilities.compression.CompressionCodec;
+import de.soderer.utilities.zip.SharedZipArchive;
 import de.soderer.utilities.zip.ZipUtilities;
 
 public class DefaultDBValueConverter {
+	/**
+	 * Primitive getter of the ResultSet, which reads a column with the same result as convert(...)
+	 */
+	public enum PrimitiveValueType {
+		LONG,
+		DOUBLE
+	}
+
 	protected boolean zip;
 	protected char[] zipPassword;
 	protected boolean useZipCrypto = false;
@@ -31,6 +45,19 @@ public class DefaultDBValueConverter {
 	protected boolean createClobFiles;
 	protected String outputFilePath;
 	protected String fileExtension;
+	protected boolean streamLobValues = false;
+	protected SharedZipArchive sharedZipArchive = null;
+	protected CompressionCodec compressionCodec = null;
+
+	/** Data amount of all written lob files, uncompressed and compressed */
+	private long lobDataAmountRaw = 0;
+	private long lobDataAmountCompressed = 0;
+
+	/** Zip entry of the currently written zipped lob file */
+	private ZipEntry lobZipEntry = null;
+
+	/** Encoder for clob files, created on first use */
+	private CharacterStreamEncoder clobFileEncoder = null;
 
 	public DefaultDBValueConverter(final boolean zip, final char[] zipPassword, final boolean useZipCrypto, final boolean createBlobFiles, final boolean createClobFiles, final String fileExtension) {
 		this.zip = zip;
@@ -41,6 +68,36 @@ public class DefaultDBValueConverter {
 		this.fileExtension = fileExtension;
 	}
 
+	/**
+	 * Deliver Base64 encoded blob values as Base64EncodingReader and clob values as Reader, which must be read and closed before the next value of the ResultSet is converted.
+	 * Otherwise they are delivered as String.
+	 */
+	public void setStreamLobValues(final boolean streamLobValues) {
+		this.streamLobValues = streamLobValues;
+	}
+
+	/**
+	 * Write lob files as entries of a zip archive shared with the export files instead of separate zip files
+	 */
+	public void setSharedZipArchive(final SharedZipArchive sharedZipArchive) {
+		this.sharedZipArchive = sharedZipArchive;
+	}
+
+	/**
+	 * Compress lob files by a codec instead of zipping them
+	 */
+	public void setCompressionCodec(final CompressionCodec compressionCodec) {
+		this.compressionCodec = compressionCodec;
+	}
+
+	public long getLobDataAmountRaw() {
+		return lobDataAmountRaw;
+	}
+
+	public long getLobDataAmountCompressed() {
+		return lobDataAmountCompressed;
+	}
+
 	public Object convert(final ResultSetMetaData metaData, final ResultSet resultSet, final int columnIndex, final String exportFilePath) throws Exception {
 		Object value;
 		final int columnTypeCode = metaData.getColumnType(columnIndex);
@@ -64,10 +121,7 @@ public class DefaultDBValueConverter {
 					throw new Exception("Error creating blob file '" + blobOutputFile.getAbsolutePath() + "': " + e.getMessage());
 				}
 			} else {
-				try (InputStream input = blob.getBinaryStream()) {
-					final byte[] data = IoUtilities.toByteArray(input);
-					value = Base64.getEncoder().encodeToString(data);
-				}
+				value = createBase64Value(blob.getBinaryStream());
 			}
 		} else if (columnTypeCode == Types.CLOB) {
 			final Clob clob = resultSet.getClob(columnIndex);
@@ -79,7 +133,7 @@ public class DefaultDBValueConverter {
 					OutputStream output = null;
 					try {
 						output = openLobOutputStream(clobOutputFile);
-						IoUtilities.copy(input, output, StandardCharsets.UTF_8);
+						writeClobData(input, output);
 					} finally {
 						checkAndCloseZipEntry(output, clobOutputFile);
 						Utilities.closeQuietly(output);
@@ -89,17 +143,19 @@ public class DefaultDBValueConverter {
 					throw new Exception("Error creating clob file '" + clobOutputFile.getAbsolutePath() + "': " + e.getMessage());
 				}
 			} else {
-				try (Reader input = clob.getCharacterStream()) {
-					value = Utilities.toString(input);
-				}
+				value = createTextValue(clob.getCharacterStream());
 			}
 		} else if (columnTypeCode == Types.TIMESTAMP || columnTypeCode == Types.DATE) {
 			value = resultSet.getObject(columnIndex);
 			if (value != null && "0000-00-00 00:00:00".equals(value)) {
 				value = null;
 			}
-		} else if (columnTypeCode == Types.NUMERIC) {
-			value = resultSet.getDouble(columnIndex);
+		} else if (columnTypeCode == Types.NUMERIC || columnTypeCode == Types.DECIMAL) {
+			// Exact numeric values would lose digits as double
+			value = resultSet.getBigDecimal(columnIndex);
+			if (resultSet.wasNull()) {
+				value = null;
+			}
 		}  else {
 			value = resultSet.getObject(columnIndex);
 			if (resultSet.wasNull()) {
@@ -109,47 +165,133 @@ public class DefaultDBValueConverter {
 		return value;
 	}
 
+	/**
+	 * Get the primitive getter, which may be used to read the values of a column without boxing them, or null if the values must be read by convert(...)
+	 */
+	public PrimitiveValueType getPrimitiveValueType(final ResultSetMetaData metaData, final int columnIndex) throws SQLException {
+		switch (metaData.getColumnType(columnIndex)) {
+			case Types.TINYINT:
+			case Types.SMALLINT:
+			case Types.INTEGER:
+				return PrimitiveValueType.LONG;
+			case Types.BIGINT:
+				// Unsigned values may exceed the range of long
+				return metaData.isSigned(columnIndex) ? PrimitiveValueType.LONG : null;
+			case Types.DOUBLE:
+			case Types.FLOAT:
+				return PrimitiveValueType.DOUBLE;
+			case Types.NUMERIC:
+			case Types.DECIMAL:
+				// Exact numeric values are read as BigDecimal by convert(...)
+				return null;
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Base64 encoded value of blob data. A streamed value takes over the InputStream, otherwise the data is read completely and the InputStream is closed.
+	 */
+	protected Object createBase64Value(final InputStream input) throws IOException {
+		if (streamLobValues) {
+			return new Base64EncodingReader(input);
+		} else {
+			try (InputStream dataStream = input) {
+				return Base64.getEncoder().encodeToString(IoUtilities.toByteArray(dataStream));
+			}
+		}
+	}
+
+	/**
+	 * Text value of clob data. A streamed value is the reader itself, otherwise the data is read completely and the reader is closed.
+	 */
+	protected Object createTextValue(final Reader input) throws IOException {
+		if (streamLobValues) {
+			return input;
+		} else {
+			try (Reader dataReader = input) {
+				return Utilities.toString(dataReader);
+			}
+		}
+	}
+
+	/**
+	 * Write clob data UTF-8 encoded into a lob file
+	 */
+	protected void writeClobData(final Reader input, final OutputStream output) throws IOException {
+		if (clobFileEncoder == null) {
+			clobFileEncoder = new CharacterStreamEncoder(StandardCharsets.UTF_8);
+		}
+		clobFileEncoder.copy(input, output);
+	}
+
 	protected String getLobFilePath(final String exportFilePath, final String lobType) throws Exception {
 		String lobOutputFilePathPrefix = exportFilePath;
 		if (lobOutputFilePathPrefix.endsWith(".zip")) {
 			lobOutputFilePathPrefix = exportFilePath.substring(0, exportFilePath.length() - 4);
+		} else if (compressionCodec != null && lobOutputFilePathPrefix.endsWith("." + compressionCodec.getFileExtension())) {
+			lobOutputFilePathPrefix = exportFilePath.substring(0, exportFilePath.length() - (compressionCodec.getFileExtension().length() + 1));
 		}
 		if (lobOutputFilePathPrefix.endsWith("." + fileExtension)) {
 			lobOutputFilePathPrefix = lobOutputFilePathPrefix.substring(0, lobOutputFilePathPrefix.length() - (fileExtension.length() + 1));
 		}
-		return File.createTempFile(new File(lobOutputFilePathPrefix).getName() + "_", "." + lobType + (zip ? ".zip" : ""), new File(exportFilePath).getParentFile()).getAbsolutePath();
+		if (sharedZipArchive != null) {
+			// Lob entries of a shared archive need no file to reserve their name
+			return new File(new File(exportFilePath).getParentFile(), sharedZipArchive.createUniqueEntryName(new File(lobOutputFilePathPrefix).getName(), "." + lobType)).getAbsolutePath();
+		} else {
+			final String compressionExtension = zip ? ".zip" : (compressionCodec != null ? "." + compressionCodec.getFileExtension() : "");
+			return File.createTempFile(new File(lobOutputFilePathPrefix).getName() + "_", "." + lobType + compressionExtension, new File(exportFilePath).getParentFile()).getAbsolutePath();
+		}
 	}
 
 	protected OutputStream openLobOutputStream(final File lobOutputFile) throws IOException, FileNotFoundException {
-		if (zip) {
-			final OutputStream outputStream = ZipUtilities.openNewZipOutputStream(new FileOutputStream(lobOutputFile));
+		if (sharedZipArchive != null) {
+			return sharedZipArchive.openEntry(lobOutputFile.getName());
+		} else if (zip) {
+			final OutputStream outputStream = ZipUtilities.openNewZipOutputStream(new FileOutputStream(lobOutputFile), Deflater.DEFAULT_COMPRESSION, 1, zipPassword, useZipCrypto);
 			final String entryFileName = lobOutputFile.getName().substring(0, lobOutputFile.getName().lastIndexOf("."));
-			final ZipEntry entry = new ZipEntry(entryFileName);
-			entry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
-			((ZipOutputStream) outputStream).putNextEntry(entry);
+			lobZipEntry = new ZipEntry(entryFileName);
+			lobZipEntry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
+			((ZipOutputStream) outputStream).putNextEntry(lobZipEntry);
 			return outputStream;
+		} else if (compressionCodec != null) {
+			return new CountingOutputStream(compressionCodec.createOutputStream(new FileOutputStream(lobOutputFile), Deflater.DEFAULT_COMPRESSION, 1));
 		} else {
 			return new FileOutputStream(lobOutputFile);
 		}
 	}
 
+	/**
+	 * Close a lob file and count its data amount, which is known from the zip entry without reading the file again
+	 */
 	protected void checkAndCloseZipEntry(final OutputStream outputStream, final File lobOutputFile) throws Exception {
-		if (outputStream instanceof ZipOutputStream) {
+		if (outputStream instanceof SharedZipArchive.EntryOutputStream) {
+			outputStream.close();
+			lobDataAmountRaw += ((SharedZipArchive.EntryOutputStream) outputStream).getSize();
+			lobDataAmountCompressed += ((SharedZipArchive.EntryOutputStream) outputStream).getCompressedSize();
+		} else if (outputStream instanceof ZipOutputStream) {
 			try {
-				outputStream.close();
+				((ZipOutputStream) outputStream).closeEntry();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
 
 			try {
-				((ZipOutputStream) outputStream).closeEntry();
+				outputStream.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
 
-			if (zip && zipPassword != null) {
-				Zip4jUtilities.createPasswordSecuredZipFile(lobOutputFile.getAbsolutePath(), zipPassword, useZipCrypto);
-			}
+			lobDataAmountRaw += lobZipEntry.getSize();
+			lobDataAmountCompressed += lobOutputFile.length();
+			lobZipEntry = null;
+		} else if (outputStream instanceof CountingOutputStream) {
+			outputStream.close();
+			lobDataAmountRaw += ((CountingOutputStream) outputStream).getByteCount();
+			lobDataAmountCompressed += lobOutputFile.length();
+		} else if (outputStream != null) {
+			outputStream.close();
+			lobDataAmountRaw += lobOutputFile.length();
 		}
 	}
 }
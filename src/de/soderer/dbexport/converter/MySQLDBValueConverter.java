@@ -4,13 +4,11 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
-import java.nio.charset.StandardCharsets;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Types;
-import java.util.Base64;
 
 import de.soderer.utilities.IoUtilities;
 
@@ -41,10 +39,7 @@ public class MySQLDBValueConverter extends DefaultDBValueConverter {
 					throw new Exception("Error creating blob file '" + blobOutputFile.getAbsolutePath() + "': " + e.getMessage());
 				}
 			} else {
-				try (InputStream dataStream = blob.getBinaryStream()) {
-					final byte[] data = IoUtilities.toByteArray(dataStream);
-					value = Base64.getEncoder().encodeToString(data);
-				}
+				value = createBase64Value(blob.getBinaryStream());
 			}
 		} else if (columnTypeCode == Types.LONGVARCHAR) {
 			final Clob clob = resultSet.getClob(columnIndex);
@@ -56,13 +51,7 @@ public class MySQLDBValueConverter extends DefaultDBValueConverter {
 				try {
 					try (OutputStream outputStream = openLobOutputStream(blobOutputFile);
 							Reader reader = clob.getCharacterStream()) {
-						int readChars;
-						final char[] cbuf = new char[1024];
-						while ((readChars = reader.read(cbuf)) >= 0) {
-							final StringBuilder buffer = new StringBuilder();
-							buffer.append(cbuf, 0, readChars);
-							outputStream.write(buffer.toString().getBytes(StandardCharsets.UTF_8));
-						}
+						writeClobData(reader, outputStream);
 						checkAndCloseZipEntry(outputStream, blobOutputFile);
 					}
 					value = blobOutputFile;
@@ -70,15 +59,7 @@ public class MySQLDBValueConverter extends DefaultDBValueConverter {
 					throw new Exception("Error creating clob file '" + blobOutputFile.getAbsolutePath() + "': " + e.getMessage());
 				}
 			} else {
-				try (Reader reader = clob.getCharacterStream()) {
-					final StringBuilder buffer = new StringBuilder();
-					int readChars;
-					final char[] cbuf = new char[1024];
-					while ((readChars = reader.read(cbuf)) >= 0) {
-						buffer.append(cbuf, 0, readChars);
-					}
-					value = buffer.toString();
-				}
+				value = createTextValue(clob.getCharacterStream());
 			}
 		} else if (columnTypeCode == Types.BIT) {
 			if (resultSet.wasNull()) {
@@ -6,7 +6,6 @@ import java.io.OutputStream;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Types;
-import java.util.Base64;
 
 import de.soderer.utilities.IoUtilities;
 import de.soderer.utilities.Utilities;
@@ -25,32 +24,23 @@ public class PostgreSQLDBValueConverter extends DefaultDBValueConverter {
 			resultSet.getObject(columnIndex);
 			if (resultSet.wasNull()) {
 				value = null;
-			} else {
-				InputStream blobStream = null;
-				try {
-					blobStream = resultSet.getBinaryStream(columnIndex);
-					if (createBlobFiles) {
-						final File blobOutputFile = new File(getLobFilePath(exportFilePath, "blob"));
-						try (InputStream input = blobStream) {
-							OutputStream output = null;
-							try {
-								output = openLobOutputStream(blobOutputFile);
-								IoUtilities.copy(input, output);
-							} finally {
-								checkAndCloseZipEntry(output, blobOutputFile);
-								Utilities.closeQuietly(output);
-							}
-							value = blobOutputFile;
-						} catch (final Exception e) {
-							throw new Exception("Error creating blob file '" + blobOutputFile.getAbsolutePath() + "': " + e.getMessage());
-						}
-					} else {
-						final byte[] data = IoUtilities.toByteArray(blobStream);
-						value = Base64.getEncoder().encodeToString(data);
+			} else if (createBlobFiles) {
+				final File blobOutputFile = new File(getLobFilePath(exportFilePath, "blob"));
+				try (InputStream input = resultSet.getBinaryStream(columnIndex)) {
+					OutputStream output = null;
+					try {
+						output = openLobOutputStream(blobOutputFile);
+						IoUtilities.copy(input, output);
+					} finally {
+						checkAndCloseZipEntry(output, blobOutputFile);
+						Utilities.closeQuietly(output);
 					}
-				} finally {
-					Utilities.closeQuietly(blobStream);
+					value = blobOutputFile;
+				} catch (final Exception e) {
+					throw new Exception("Error creating blob file '" + blobOutputFile.getAbsolutePath() + "': " + e.getMessage());
 				}
+			} else {
+				value = createBase64Value(resultSet.getBinaryStream(columnIndex));
 			}
 		} else {
 			value = super.convert(metaData, resultSet, columnIndex, exportFilePath);
@@ -6,7 +6,6 @@ import java.io.OutputStream;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Types;
-import java.util.Base64;
 
 import de.soderer.utilities.IoUtilities;
 import de.soderer.utilities.Utilities;
@@ -17,6 +16,12 @@ public class SQLiteDBValueConverter extends DefaultDBValueConverter {
 		super(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, fileExtension);
 	}
 
+	@Override
+	public PrimitiveValueType getPrimitiveValueType(final ResultSetMetaData metaData, final int columnIndex) {
+		// SQLite columns may contain values of any type
+		return null;
+	}
+
 	@Override
 	public Object convert(final ResultSetMetaData metaData, final ResultSet resultSet, final int columnIndex, final String expoprtFilePath) throws Exception {
 		Object value;
@@ -26,32 +31,23 @@ public class SQLiteDBValueConverter extends DefaultDBValueConverter {
 			resultSet.getObject(columnIndex);
 			if (resultSet.wasNull()) {
 				value = null;
-			} else {
-				InputStream blobStream = null;
-				try {
-					blobStream = resultSet.getBinaryStream(columnIndex);
-					if (createBlobFiles) {
-						final File blobOutputFile = new File(getLobFilePath(expoprtFilePath, "blob"));
-						try (InputStream input = blobStream) {
-							OutputStream output = null;
-							try {
-								output = openLobOutputStream(blobOutputFile);
-								IoUtilities.copy(input, output);
-							} finally {
-								checkAndCloseZipEntry(output, blobOutputFile);
-								Utilities.closeQuietly(output);
-							}
-							value = blobOutputFile;
-						} catch (final Exception e) {
-							throw new Exception("Error creating blob file '" + blobOutputFile.getAbsolutePath() + "': " + e.getMessage());
-						}
-					} else {
-						final byte[] data = IoUtilities.toByteArray(blobStream);
-						value = Base64.getEncoder().encodeToString(data);
+			} else if (createBlobFiles) {
+				final File blobOutputFile = new File(getLobFilePath(expoprtFilePath, "blob"));
+				try (InputStream input = resultSet.getBinaryStream(columnIndex)) {
+					OutputStream output = null;
+					try {
+						output = openLobOutputStream(blobOutputFile);
+						IoUtilities.copy(input, output);
+					} finally {
+						checkAndCloseZipEntry(output, blobOutputFile);
+						Utilities.closeQuietly(output);
 					}
-				} finally {
-					Utilities.closeQuietly(blobStream);
+					value = blobOutputFile;
+				} catch (final Exception e) {
+					throw new Exception("Error creating blob file '" + blobOutputFile.getAbsolutePath() + "': " + e.getMessage());
 				}
+			} else {
+				value = createBase64Value(resultSet.getBinaryStream(columnIndex));
 			}
 		} else if (columnTypeCode == Types.INTEGER) {
 			value = resultSet.getObject(columnIndex);
@@ -1,9 +1,18 @@
 package de.soderer.dbexport.worker;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
@@ -26,36 +35,59 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import de.soderer.dbexport.DbExport;
+import de.soderer.dbexport.DbExportDefinition;
+import de.soderer.dbexport.DbExportDefinition.CountMode;
 import de.soderer.dbexport.DbExportException;
 import de.soderer.dbexport.converter.CassandraDBValueConverter;
 import de.soderer.dbexport.converter.DefaultDBValueConverter;
+import de.soderer.dbexport.converter.DefaultDBValueConverter.PrimitiveValueType;
 import de.soderer.dbexport.converter.FirebirdDBValueConverter;
 import de.soderer.dbexport.converter.MariaDBValueConverter;
 import de.soderer.dbexport.converter.MySQLDBValueConverter;
 import de.soderer.dbexport.converter.OracleDBValueConverter;
 import de.soderer.dbexport.converter.PostgreSQLDBValueConverter;
 import de.soderer.dbexport.converter.SQLiteDBValueConverter;
+import de.soderer.utilities.Base64EncodingReader;
+import de.soderer.utilities.CountingOutputStream;
 import de.soderer.utilities.DateUtilities;
+import de.soderer.utilities.FastNumberFormatter;
+import de.soderer.utilities.OutputSink;
 import de.soderer.utilities.Utilities;
+import de.soderer.utilities.ZoneConverter;
 import de.soderer.utilities.collection.CaseInsensitiveMap;
 import de.soderer.utilities.collection.CaseInsensitiveSet;
+import de.soderer.utilities.compression.CompressionCodec;
 import de.soderer.utilities.db.DatabaseConstraint;
 import de.soderer.utilities.db.DatabaseForeignKey;
 import de.soderer.utilities.db.DatabaseIndex;
+import de.soderer.utilities.db.CachedResultSetMetaData;
+import de.soderer.utilities.db.DbCatalog;
+import de.soderer.utilities.db.DbConnectionPool;
 import de.soderer.utilities.db.DbColumnType;
 import de.soderer.utilities.db.DbDefinition;
+import de.soderer.utilities.db.DbSnapshot;
 import de.soderer.utilities.db.DbUtilities;
+import de.soderer.utilities.db.FetchSizeGovernor;
 import de.soderer.utilities.db.SimpleDataType;
+import de.soderer.utilities.db.StreamingReadTransaction;
 import de.soderer.utilities.db.DbUtilities.DbVendor;
 import de.soderer.utilities.json.JsonArray;
 import de.soderer.utilities.json.JsonObject;
 import de.soderer.utilities.json.JsonWriter;
 import de.soderer.utilities.worker.WorkerDual;
 import de.soderer.utilities.worker.WorkerParentDual;
+import de.soderer.utilities.zip.SharedZipArchive;
 import de.soderer.utilities.zip.Zip4jUtilities;
 import de.soderer.utilities.zip.ZipUtilities;
 
@@ -72,6 +104,12 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 	protected boolean zip = false;
 	protected char[] zipPassword = null;
 	protected boolean useZipCrypto = false;
+	protected int zipLevel = Deflater.DEFAULT_COMPRESSION;
+	protected int zipThreads = 1;
+	protected boolean zipSingleArchive = false;
+	protected CompressionCodec compressionCodec = null;
+	protected long splitRows = 0;
+	protected long splitBytes = 0;
 	protected Charset encoding = StandardCharsets.UTF_8;
 	protected boolean createBlobFiles = false;
 	protected boolean createClobFiles = false;
@@ -82,6 +120,25 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 	protected Character decimalSeparator;
 	protected boolean beautify = false;
 	protected boolean exportStructure = false;
+	protected int threads = 1;
+	protected int partitions = 1;
+	protected boolean partitionFiles = false;
+	protected boolean pipeline = false;
+	protected CountMode countMode = CountMode.EXACT;
+	protected boolean useDbCopy = false;
+	protected long fetchMemory = FetchSizeGovernor.DEFAULT_FETCH_MEMORY;
+	protected boolean consistentSnapshot = false;
+	protected int outputBufferSize = OutputSink.DEFAULT_BUFFER_SIZE;
+
+	/** Connections joined to the consistent snapshot, shared by all parallel readouts */
+	private DbConnectionPool snapshotConnectionPool = null;
+	private String snapshotDescription = null;
+
+	/** Number of rows buffered between fetch thread and writer in pipelined mode */
+	private static final int PIPELINE_BUFFER_ROWS = 1024;
+
+	/** Output buffer of a split output is limited to 1/64 of the part size, but not below this size */
+	private static final int MINIMUM_SPLIT_OUTPUT_BUFFER_SIZE = 8 * 1024;
 
 	private int overallExportedLines = 0;
 	private long overallExportedDataAmountRaw = 0;
@@ -89,9 +146,24 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 
 	private String databaseTimeZone = TimeZone.getDefault().getID();
 	private String exportDataTimeZone = TimeZone.getDefault().getID();
+	private ZoneId databaseZoneId = ZoneId.systemDefault();
+	private ZoneId exportDataZoneId = ZoneId.systemDefault();
+	private ZoneConverter zoneConverter = new ZoneConverter(databaseZoneId, exportDataZoneId);
 
 	private DefaultDBValueConverter dbValueConverter;
 
+	/** Zip archive of all tables of a table pattern export, shared with the sub workers */
+	private SharedZipArchive sharedZipArchive = null;
+
+	/** Part files of the current output, if it is split by lines or bytes, else null */
+	private List<OutputPart> outputParts = null;
+	private OutputPartStarter outputPartStarter = null;
+
+	@FunctionalInterface
+	private interface OutputPartStarter {
+		void startNextOutputPart() throws Exception;
+	}
+
 	{
 		// Create the default number format
 		decimalFormat = NumberFormat.getNumberInstance(dateFormatLocale);
@@ -122,11 +194,52 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 		this.useZipCrypto = useZipCrypto;
 	}
 
+	public void setZipLevel(final int zipLevel) {
+		this.zipLevel = zipLevel;
+	}
+
+	/**
+	 * Number of threads deflating the zipped output in parallel blocks, 1 for the standard ZipOutputStream
+	 */
+	public void setZipThreads(final int zipThreads) {
+		this.zipThreads = zipThreads;
+	}
+
+	/**
+	 * Write the tables of a table pattern export and their lob files as entries of one zip archive instead of one zip file each
+	 */
+	public void setZipSingleArchive(final boolean zipSingleArchive) {
+		this.zipSingleArchive = zipSingleArchive;
+	}
+
+	/**
+	 * Compress the output files by a codec instead of zipping them, the compression level and threads are the ones of zip
+	 */
+	public void setCompressionCodec(final CompressionCodec compressionCodec) {
+		this.compressionCodec = compressionCodec;
+	}
+
+	/**
+	 * Split the output into numbered part files with at most this number of lines each, 0 for no split by lines
+	 */
+	public void setSplitRows(final long splitRows) {
+		this.splitRows = splitRows;
+	}
+
+	/**
+	 * Split the output into numbered part files, when a part reached this size of uncompressed data, 0 for no split by size
+	 */
+	public void setSplitBytes(final long splitBytes) {
+		this.splitBytes = splitBytes;
+	}
+
 	public void setDatabaseTimeZone(final String databaseTimeZone) {
 		this.databaseTimeZone = databaseTimeZone;
 		if (this.databaseTimeZone == null) {
 			this.databaseTimeZone = TimeZone.getDefault().getID();
 		}
+		databaseZoneId = ZoneId.of(this.databaseTimeZone);
+		zoneConverter = new ZoneConverter(databaseZoneId, exportDataZoneId);
 	}
 
 	public void setExportDataTimeZone(final String exportDataTimeZone) {
@@ -134,6 +247,8 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 		if (this.exportDataTimeZone == null) {
 			this.exportDataTimeZone = TimeZone.getDefault().getID();
 		}
+		exportDataZoneId = ZoneId.of(this.exportDataTimeZone);
+		zoneConverter = new ZoneConverter(databaseZoneId, exportDataZoneId);
 	}
 
 	public void setEncoding(final Charset encoding) {
@@ -162,6 +277,42 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 		this.exportStructure = exportStructure;
 	}
 
+	public void setThreads(final int threads) {
+		this.threads = threads;
+	}
+
+	public void setPartitions(final int partitions) {
+		this.partitions = partitions;
+	}
+
+	public void setPartitionFiles(final boolean partitionFiles) {
+		this.partitionFiles = partitionFiles;
+	}
+
+	public void setPipeline(final boolean pipeline) {
+		this.pipeline = pipeline;
+	}
+
+	public void setCountMode(final CountMode countMode) {
+		this.countMode = countMode;
+	}
+
+	public void setUseDbCopy(final boolean useDbCopy) {
+		this.useDbCopy = useDbCopy;
+	}
+
+	public void setFetchMemory(final long fetchMemory) {
+		this.fetchMemory = fetchMemory;
+	}
+
+	public void setConsistentSnapshot(final boolean consistentSnapshot) {
+		this.consistentSnapshot = consistentSnapshot;
+	}
+
+	public void setOutputBufferSize(final int outputBufferSize) {
+		this.outputBufferSize = outputBufferSize;
+	}
+
 	public void setDateFormat(final String dateFormat) {
 		if (dateFormat != null) {
 			dateFormatPattern = dateFormat;
@@ -179,7 +330,16 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 	public void setDecimalSeparator(final Character decimalSeparator) {
 		if (decimalSeparator != null) {
 			this.decimalSeparator = decimalSeparator;
+			numberFormatterCache = null;
+		}
+	}
+
+	private FastNumberFormatter numberFormatterCache = null;
+	protected FastNumberFormatter getNumberFormatter() {
+		if (numberFormatterCache == null) {
+			numberFormatterCache = new FastNumberFormatter(decimalFormat, decimalSeparator);
 		}
+		return numberFormatterCache;
 	}
 
 	private DateTimeFormatter dateFormatterCache = null;
@@ -220,42 +380,15 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 
 		dbDefinition.checkParameters(DbExport.APPLICATION_NAME, DbExport.CONFIGURATION_FILE);
 
-		switch (dbDefinition.getDbVendor()) {
-			case Oracle:
-				dbValueConverter = new OracleDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case SQLite:
-				dbValueConverter = new SQLiteDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case MySQL:
-				dbValueConverter = new MySQLDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case MariaDB:
-				dbValueConverter = new MariaDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case PostgreSQL:
-				dbValueConverter = new PostgreSQLDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case Firebird:
-				dbValueConverter = new FirebirdDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case Cassandra:
-				dbValueConverter = new CassandraDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case Derby:
-				dbValueConverter = new DefaultDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case HSQL:
-				dbValueConverter = new DefaultDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case MsSQL:
-				dbValueConverter = new DefaultDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			default:
-				throw new Exception("Unsupported db vendor: null");
-		}
+		dbValueConverter = createDbValueConverter();
+		// Pipelined rows are converted before they are written, so their lob values cannot be streamed
+		dbValueConverter.setStreamLobValues(!pipeline);
+
+		try (Connection connection = DbUtilities.createConnection(dbDefinition, true);
+				DbSnapshot snapshot = consistentSnapshot ? new DbSnapshot(connection) : null) {
+			// Parallel readouts take their connections from this pool, which is closed in finally
+			createSnapshotConnectionPool(snapshot);
 
-		try (Connection connection = DbUtilities.createConnection(dbDefinition, true)) {
 			if (isStatementFile) {
 				if (Utilities.isBlank(sqlStatementOrTablelist)) {
 					throw new DbExportException("Statementfile is missing");
@@ -325,72 +458,509 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 					}
 					exportDbStructure(connection, tablesToExport, outputpath);
 				} else {
-					for (int i = 0; i < tablesToExport.size() && !cancel; i++) {
-						signalProgress(true);
-						final String tableName = tablesToExport.get(i).toLowerCase();
-						subItemsToDo = 0;
-						subItemsDone = 0;
-						signalItemStart(tableName, null);
-
-						String nextOutputFilePath = outputpath;
-						if ("console".equalsIgnoreCase(outputpath)) {
-							System.out.println("Table: " + tableName);
-						} else if ("gui".equalsIgnoreCase(outputpath)) {
-							System.out.println("Table: " + tableName);
-						} else {
-							nextOutputFilePath = outputpath + File.separator + tableName.toLowerCase();
-						}
-						final List<String> columnNames = new ArrayList<>(DbUtilities.getColumnNames(connection, tableName));
-						Collections.sort(columnNames);
-						final List<String> keyColumnNames = new ArrayList<>(DbUtilities.getPrimaryKeyColumns(connection, tableName));
-						Collections.sort(keyColumnNames);
-						final List<String> readoutColumns = new ArrayList<>();
-						readoutColumns.addAll(keyColumnNames);
-						for (final String columnName : columnNames) {
-							if (!readoutColumns.contains(columnName)) {
-								readoutColumns.add(columnName);
+					if (zip && zipSingleArchive && !"console".equalsIgnoreCase(outputpath) && !"gui".equalsIgnoreCase(outputpath)) {
+						sharedZipArchive = new SharedZipArchive(new File(outputpath + File.separator + "export_" + DateUtilities.formatDate("yyyy-MM-dd_HH-mm-ss", LocalDateTime.now()) + ".zip"), zipLevel, zipThreads, zipPassword, useZipCrypto);
+						dbValueConverter.setSharedZipArchive(sharedZipArchive);
+					}
+
+					if (threads > 1 && tablesToExport.size() > 1) {
+						exportTablesParallel(tablesToExport);
+					} else {
+						for (int i = 0; i < tablesToExport.size() && !cancel; i++) {
+							signalProgress(true);
+							final String tableName = tablesToExport.get(i).toLowerCase();
+							subItemsToDo = 0;
+							subItemsDone = 0;
+							signalItemStart(tableName, null);
+
+							String nextOutputFilePath = outputpath;
+							if ("console".equalsIgnoreCase(outputpath)) {
+								System.out.println("Table: " + tableName);
+							} else if ("gui".equalsIgnoreCase(outputpath)) {
+								System.out.println("Table: " + tableName);
+							} else {
+								nextOutputFilePath = outputpath + File.separator + tableName.toLowerCase();
 							}
-						}
+							exportTable(connection, tableName, nextOutputFilePath);
 
-						final List<String> escapedKeyColumns = new ArrayList<>();
-						for (final String unescapedKeyColumnName : keyColumnNames) {
-							escapedKeyColumns.add(DbUtilities.escapeVendorReservedNames(dbDefinition.getDbVendor(), unescapedKeyColumnName));
-						}
+							signalItemDone();
 
-						final List<String> escapedReadoutColumns = new ArrayList<>();
-						for (final String unescapedColumnName : readoutColumns) {
-							escapedReadoutColumns.add(DbUtilities.escapeVendorReservedNames(dbDefinition.getDbVendor(), unescapedColumnName));
+							itemsDone++;
 						}
+					}
+
+					if (sharedZipArchive != null) {
+						closeSharedZipArchive(true);
+					}
+				}
+				return !cancel;
+			}
+		} catch (final Exception e) {
+			throw e;
+		} finally {
+			if (sharedZipArchive != null) {
+				closeSharedZipArchive(false);
+			}
+			if (snapshotConnectionPool != null) {
+				snapshotConnectionPool.close();
+				snapshotConnectionPool = null;
+			}
+			if (dbDefinition.getDbVendor() == DbVendor.Derby) {
+				DbUtilities.shutDownDerbyDb(dbDefinition.getDbName());
+			}
+		}
+	}
+
+	/**
+	 * Write the central directory of the shared zip archive. The archive of a failed or cancelled export is incomplete and is removed.
+	 */
+	private void closeSharedZipArchive(final boolean complete) throws Exception {
+		final SharedZipArchive archive = sharedZipArchive;
+		sharedZipArchive = null;
+		if (complete && !cancel) {
+			try {
+				archive.close();
+			} catch (final Exception e) {
+				archive.getArchiveFile().delete();
+				throw e;
+			}
+		} else {
+			Utilities.closeQuietly(archive);
+			archive.getArchiveFile().delete();
+		}
+	}
+
+	private void exportTable(final Connection connection, final String tableName, final String outputFilePath) throws Exception {
+		final List<String> columnNames = new ArrayList<>(DbUtilities.getColumnNames(connection, tableName));
+		Collections.sort(columnNames);
+		final List<String> keyColumnNames = new ArrayList<>(DbUtilities.getPrimaryKeyColumns(connection, tableName));
+		Collections.sort(keyColumnNames);
+		final List<String> readoutColumns = new ArrayList<>();
+		readoutColumns.addAll(keyColumnNames);
+		for (final String columnName : columnNames) {
+			if (!readoutColumns.contains(columnName)) {
+				readoutColumns.add(columnName);
+			}
+		}
+
+		final List<String> escapedKeyColumns = new ArrayList<>();
+		for (final String unescapedKeyColumnName : keyColumnNames) {
+			escapedKeyColumns.add(DbUtilities.escapeVendorReservedNames(dbDefinition.getDbVendor(), unescapedKeyColumnName));
+		}
+
+		final List<String> escapedReadoutColumns = new ArrayList<>();
+		for (final String unescapedColumnName : readoutColumns) {
+			escapedReadoutColumns.add(DbUtilities.escapeVendorReservedNames(dbDefinition.getDbVendor(), unescapedColumnName));
+		}
+
+		String orderPart = "";
+		if (!keyColumnNames.isEmpty()) {
+			orderPart = " ORDER BY " + Utilities.join(escapedKeyColumns, ", ");
+		}
+
+		final String selectPart = "SELECT " + Utilities.join(escapedReadoutColumns, ", ") + " FROM " + tableName;
+		final String sqlStatement = selectPart + orderPart;
+
+		List<String> partitionSqlStatements = null;
+		if (partitions > 1 && escapedKeyColumns.size() == 1) {
+			partitionSqlStatements = getPartitionSqlStatements(connection, tableName, escapedKeyColumns.get(0), selectPart, orderPart);
+		}
+
+		try {
+			if (partitionSqlStatements == null) {
+				export(connection, sqlStatement, sqlStatement, tableName, outputFilePath, null);
+			} else if (partitionFiles) {
+				exportPartitionFiles(connection, partitionSqlStatements, outputFilePath);
+			} else {
+				exportPartitionsStitched(connection, tableName, sqlStatement, partitionSqlStatements, outputFilePath);
+			}
+		} catch (final Exception e) {
+			throw new Exception("Error occurred while exporting\n" + sqlStatement + "\n" + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Split a table into ranges of its numeric primary key, which can be read independently of each other.
+	 * Returns null, if the key is not numeric or the table has too few different key values.
+	 */
+	private List<String> getPartitionSqlStatements(final Connection connection, final String tableName, final String escapedKeyColumn, final String selectPart, final String orderPart) throws Exception {
+		if (dbDefinition.getDbVendor() == DbVendor.Cassandra) {
+			return null;
+		}
+
+		BigInteger minimumKey;
+		BigInteger maximumKey;
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT MIN(" + escapedKeyColumn + "), MAX(" + escapedKeyColumn + ") FROM " + tableName)) {
+			if (!resultSet.next()) {
+				return null;
+			}
+			minimumKey = getIntegralKeyValue(resultSet.getObject(1));
+			maximumKey = getIntegralKeyValue(resultSet.getObject(2));
+		}
+		if (minimumKey == null || maximumKey == null) {
+			return null;
+		}
+
+		final BigInteger keyRangeSize = maximumKey.subtract(minimumKey).add(BigInteger.ONE);
+		final int partitionCount = keyRangeSize.min(BigInteger.valueOf(partitions)).intValue();
+		if (partitionCount < 2) {
+			return null;
+		}
+
+		final List<String> partitionSqlStatements = new ArrayList<>();
+		for (int i = 0; i < partitionCount; i++) {
+			final BigInteger lowerKey = minimumKey.add(keyRangeSize.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(partitionCount)));
+			final BigInteger upperKey = minimumKey.add(keyRangeSize.multiply(BigInteger.valueOf(i + 1)).divide(BigInteger.valueOf(partitionCount)));
+			final String wherePart;
+			if (i == 0) {
+				wherePart = escapedKeyColumn + " < " + upperKey;
+			} else if (i == partitionCount - 1) {
+				wherePart = escapedKeyColumn + " >= " + lowerKey;
+			} else {
+				wherePart = escapedKeyColumn + " >= " + lowerKey + " AND " + escapedKeyColumn + " < " + upperKey;
+			}
+			partitionSqlStatements.add(selectPart + " WHERE " + wherePart + orderPart);
+		}
+		return partitionSqlStatements;
+	}
 
-						String orderPart = "";
-						if (!keyColumnNames.isEmpty()) {
-							orderPart = " ORDER BY " + Utilities.join(escapedKeyColumns, ", ");
+	private static BigInteger getIntegralKeyValue(final Object keyValue) {
+		if (keyValue instanceof BigInteger) {
+			return (BigInteger) keyValue;
+		} else if (keyValue instanceof BigDecimal) {
+			try {
+				return ((BigDecimal) keyValue).toBigIntegerExact();
+			} catch (@SuppressWarnings("unused") final ArithmeticException e) {
+				return null;
+			}
+		} else if (keyValue instanceof Long || keyValue instanceof Integer || keyValue instanceof Short || keyValue instanceof Byte) {
+			return BigInteger.valueOf(((Number) keyValue).longValue());
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Export each partition of a table into a separate file. All partitions are read concurrently.
+	 */
+	private void exportPartitionFiles(final Connection connection, final List<String> partitionSqlStatements, final String outputFilePath) throws Exception {
+		final List<AbstractDbExportWorker> partitionWorkers = new ArrayList<>();
+		final ExecutorService executorService = Executors.newFixedThreadPool(partitionSqlStatements.size());
+		final DbConnectionPool connectionPool = getConnectionPool(partitionSqlStatements.size() - 1);
+		try {
+			try {
+				final List<Future<Void>> partitionExports = new ArrayList<>();
+				for (int i = 0; i < partitionSqlStatements.size(); i++) {
+					final String partitionSqlStatement = partitionSqlStatements.get(i);
+					final String partitionOutputFilePath = outputFilePath + "_part" + (i + 1);
+					final boolean isFirstPartition = i == 0;
+					final AbstractDbExportWorker partitionWorker = createSubWorker();
+					partitionWorkers.add(partitionWorker);
+					partitionExports.add(executorService.submit(() -> {
+						if (!cancel) {
+							final Connection partitionConnection = isFirstPartition ? connection : connectionPool.acquire();
+							try {
+								partitionWorker.subItemsToDo = 0;
+								partitionWorker.subItemsDone = 0;
+								partitionWorker.signalItemStart(new File(partitionOutputFilePath).getName(), null);
+								partitionWorker.export(partitionConnection, partitionSqlStatement, partitionOutputFilePath);
+								partitionWorker.signalItemDone();
+							} finally {
+								if (!isFirstPartition) {
+									connectionPool.release(partitionConnection);
+								}
+							}
 						}
+						return null;
+					}));
+				}
 
-						final String sqlStatement = "SELECT " + Utilities.join(escapedReadoutColumns, ", ") + " FROM " + tableName + orderPart;
+				for (final Future<Void> partitionExport : partitionExports) {
+					awaitSubTask(partitionExport, partitionWorkers);
+				}
+			} finally {
+				executorService.shutdownNow();
+				executorService.awaitTermination(1, TimeUnit.MINUTES);
+			}
+		} finally {
+			if (connectionPool != snapshotConnectionPool) {
+				connectionPool.close();
+			}
+		}
+
+		for (final AbstractDbExportWorker partitionWorker : partitionWorkers) {
+			subItemsDone += partitionWorker.getOverallExportedLines();
+			overallExportedLines += partitionWorker.getOverallExportedLines();
+			overallExportedDataAmountRaw += partitionWorker.getOverallExportedDataAmountRaw();
+			overallExportedDataAmountCompressed += partitionWorker.getOverallExportedDataAmountCompressed();
+		}
+		endTimeSub = LocalDateTime.now();
+	}
+
+	/**
+	 * Export all partitions of a table into one file in key order.
+	 * The first partition is read and written directly, while all following partitions are read concurrently
+	 * on their own connections into temporary spool files, which are appended to the output afterwards.
+	 */
+	private void exportPartitionsStitched(final Connection connection, final String tableName, final String sqlStatement, final List<String> partitionSqlStatements, final String outputFilePath) throws Exception {
+		final List<Future<File>> partitionSpools = new ArrayList<>();
+		final ExecutorService executorService = Executors.newFixedThreadPool(partitionSqlStatements.size() - 1);
+		final DbConnectionPool connectionPool = getConnectionPool(partitionSqlStatements.size() - 1);
+		try {
+			try {
+				for (final String partitionSqlStatement : partitionSqlStatements.subList(1, partitionSqlStatements.size())) {
+					partitionSpools.add(executorService.submit(() -> spoolPartition(connectionPool, partitionSqlStatement, outputFilePath)));
+				}
 
+				export(connection, sqlStatement, partitionSqlStatements.get(0), tableName, outputFilePath, partitionSpools);
+			} finally {
+				executorService.shutdownNow();
+				executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+				// Remove spool files, which were not appended because of cancel or error
+				for (final Future<File> partitionSpool : partitionSpools) {
+					if (partitionSpool.isDone() && !partitionSpool.isCancelled()) {
 						try {
-							export(connection, sqlStatement, nextOutputFilePath);
-						} catch (final Exception e) {
-							throw new Exception("Error occurred while exporting\n" + sqlStatement + "\n" + e.getMessage(), e);
+							partitionSpool.get().delete();
+						} catch (@SuppressWarnings("unused") final ExecutionException e) {
+							// Error was already handled
 						}
+					}
+				}
+			}
+		} finally {
+			if (connectionPool != snapshotConnectionPool) {
+				connectionPool.close();
+			}
+		}
+	}
 
-						signalItemDone();
-
-						itemsDone++;
+	/**
+	 * Read a partition of a table into a temporary spool file. The values are already converted by a separate value converter.
+	 */
+	private File spoolPartition(final DbConnectionPool connectionPool, final String partitionSqlStatement, final String outputFilePath) throws Exception {
+		final DefaultDBValueConverter partitionValueConverter = createDbValueConverter();
+		final File spoolFile = File.createTempFile(new File(outputFilePath).getName() + "_", ".partition", new File(outputFilePath).getAbsoluteFile().getParentFile());
+		final Connection connection = connectionPool.acquire();
+		try (StreamingReadTransaction readTransaction = new StreamingReadTransaction(connection);
+				Statement statement = readTransaction.createStatementForLargeQuery();
+				ResultSet resultSet = statement.executeQuery(partitionSqlStatement);
+				ObjectOutputStream spoolStream = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(spoolFile)))) {
+			final ResultSetMetaData metaData = new CachedResultSetMetaData(resultSet.getMetaData());
+			final int columnCount = metaData.getColumnCount();
+			final FetchSizeGovernor fetchSizeGovernor = createFetchSizeGovernor(connection, resultSet);
+			int spooledLines = 0;
+			while (resultSet.next() && !cancel) {
+				final Object[] values = new Object[columnCount];
+				for (int columnIndex = 1; columnIndex <= columnCount; columnIndex++) {
+					final Object value = partitionValueConverter.convert(metaData, resultSet, columnIndex, outputFilePath);
+					if (fetchSizeGovernor != null) {
+						fetchSizeGovernor.observeValue(value);
+					}
+					if (value != null && !(value instanceof Serializable)) {
+						values[columnIndex - 1] = value.toString();
+					} else {
+						values[columnIndex - 1] = value;
 					}
 				}
-				return !cancel;
+				spoolStream.writeObject(values);
+				if (fetchSizeGovernor != null) {
+					fetchSizeGovernor.rowDone();
+				}
+
+				spooledLines++;
+				if (spooledLines % 1000 == 0) {
+					// Prevent the stream from keeping references to all written values
+					spoolStream.reset();
+				}
 			}
+
+			if (cancel) {
+				// Statement must be cancelled, or the "ResultSet.close()" will wait for all remaining data to be read
+				statement.cancel();
+			}
+
+			spoolStream.writeObject(null);
+			addExportedDataAmount(partitionValueConverter.getLobDataAmountRaw(), partitionValueConverter.getLobDataAmountCompressed());
+			return spoolFile;
 		} catch (final Exception e) {
+			spoolFile.delete();
 			throw e;
 		} finally {
-			if (dbDefinition.getDbVendor() == DbVendor.Derby) {
-				DbUtilities.shutDownDerbyDb(dbDefinition.getDbName());
+			connectionPool.release(connection);
+		}
+	}
+
+	private void replayPartitionSpool(final File spoolFile, final ColumnPlan columnPlan) throws Exception {
+		try (ObjectInputStream spoolStream = new ObjectInputStream(new BufferedInputStream(new FileInputStream(spoolFile)))) {
+			Object[] values;
+			while (!cancel && (values = (Object[]) spoolStream.readObject()) != null) {
+				countOutputPartLine();
+				startTableLine();
+				for (int i = 0; i < values.length; i++) {
+					columnPlan.writeValue(i, values[i]);
+				}
+				endTableLine();
+
+				subItemsDone++;
+				signalItemProgress();
+			}
+		} finally {
+			spoolFile.delete();
+		}
+	}
+
+	/**
+	 * Export the tables in parallel with a fixed number of threads.
+	 * Each table gets its own worker instance (and so its own writer and value converter) and a connection of a shared pool.
+	 * Progress is signaled on table level only, because the per row progress of multiple tables cannot be shown at once.
+	 */
+	private void exportTablesParallel(final List<String> tablesToExport) throws Exception {
+		final List<AbstractDbExportWorker> tableWorkers = new ArrayList<>();
+		final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(threads, tablesToExport.size()));
+		final DbConnectionPool connectionPool = getConnectionPool(Math.min(threads, tablesToExport.size()));
+		try {
+			try {
+				final List<Future<Void>> tableExports = new ArrayList<>();
+				for (final String tableToExport : tablesToExport) {
+					final String tableName = tableToExport.toLowerCase();
+					final AbstractDbExportWorker tableWorker = createSubWorker();
+					tableWorkers.add(tableWorker);
+					tableExports.add(executorService.submit(() -> {
+						if (!cancel) {
+							final Connection connection = connectionPool.acquire();
+							try {
+								tableWorker.subItemsToDo = 0;
+								tableWorker.subItemsDone = 0;
+								tableWorker.signalItemStart(tableName, null);
+								tableExportStarted(tableName);
+
+								tableWorker.exportTable(connection, tableName, outputpath + File.separator + tableName);
+
+								tableWorker.signalItemDone();
+							} finally {
+								connectionPool.release(connection);
+							}
+							tableExportDone(tableWorker);
+						}
+						return null;
+					}));
+				}
+
+				for (final Future<Void> tableExport : tableExports) {
+					awaitSubTask(tableExport, tableWorkers);
+				}
+			} finally {
+				executorService.shutdownNow();
+				executorService.awaitTermination(1, TimeUnit.MINUTES);
+			}
+		} finally {
+			if (connectionPool != snapshotConnectionPool) {
+				connectionPool.close();
 			}
 		}
 	}
 
+	/**
+	 * Wait for a concurrently running sub task while watching for cancel of this worker.
+	 * Any error of the sub task cancels all other sub workers and is thrown by this worker.
+	 */
+	private <T> T awaitSubTask(final Future<T> subTask, final List<AbstractDbExportWorker> subWorkers) throws Exception {
+		while (true) {
+			try {
+				return subTask.get(1, TimeUnit.SECONDS);
+			} catch (@SuppressWarnings("unused") final TimeoutException e) {
+				if (cancel && subWorkers != null) {
+					for (final AbstractDbExportWorker subWorker : subWorkers) {
+						subWorker.cancel();
+					}
+				}
+			} catch (final ExecutionException e) {
+				if (subWorkers != null) {
+					for (final AbstractDbExportWorker subWorker : subWorkers) {
+						subWorker.cancel();
+					}
+				}
+				if (e.getCause() instanceof Exception) {
+					throw (Exception) e.getCause();
+				} else {
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Create a new worker with the same configuration as this one for the export of a single table or table partition.
+	 * The new worker has no parent, its progress is signaled by this worker.
+	 */
+	private AbstractDbExportWorker createSubWorker() throws Exception {
+		if (!(dbDefinition instanceof DbExportDefinition)) {
+			throw new DbExportException("Parallel export needs a full export definition");
+		}
+		final AbstractDbExportWorker subWorker = ((DbExportDefinition) dbDefinition).getConfiguredWorker(null);
+		subWorker.setThreads(1);
+		subWorker.setPartitions(1);
+		subWorker.sharedZipArchive = sharedZipArchive;
+		subWorker.dbValueConverter = subWorker.createDbValueConverter();
+		subWorker.dbValueConverter.setStreamLobValues(!subWorker.pipeline);
+		subWorker.snapshotDescription = snapshotDescription;
+		return subWorker;
+	}
+
+	/**
+	 * Create the pool of connections for parallel readout, which join the consistent snapshot.
+	 * MySQL cannot share a snapshot, so all connections start their snapshot right now instead of on first use.
+	 */
+	private void createSnapshotConnectionPool(final DbSnapshot snapshot) throws Exception {
+		if (snapshot == null) {
+			snapshotDescription = null;
+			snapshotConnectionPool = null;
+		} else {
+			snapshotDescription = snapshot.getDescription();
+			if (threads > 1 || partitions > 1) {
+				// Tables are either exported in parallel or partitioned, which is checked by the export definition
+				snapshotConnectionPool = new DbConnectionPool(dbDefinition, threads > 1 ? threads : partitions - 1);
+				snapshotConnectionPool.setConnectionInitializer(snapshot::join);
+				if (dbDefinition.getDbVendor() == DbVendor.MySQL || dbDefinition.getDbVendor() == DbVendor.MariaDB) {
+					snapshotConnectionPool.createAllConnections();
+				}
+			} else {
+				snapshotConnectionPool = null;
+			}
+		}
+	}
+
+	/**
+	 * Get the pool of connections for parallel readout.
+	 * Within a consistent snapshot this is the shared pool of snapshot connections, which must not be closed by the caller.
+	 */
+	private DbConnectionPool getConnectionPool(final int maximumSize) {
+		if (snapshotConnectionPool != null) {
+			return snapshotConnectionPool;
+		} else {
+			return new DbConnectionPool(dbDefinition, maximumSize);
+		}
+	}
+
+	private synchronized void tableExportStarted(final String tableName) {
+		if (parent != null && !cancel) {
+			((WorkerParentDual) parent).receiveItemStartSignal(tableName, null);
+		}
+	}
+
+	private synchronized void tableExportDone(final AbstractDbExportWorker tableWorker) {
+		overallExportedLines += tableWorker.getOverallExportedLines();
+		overallExportedDataAmountRaw += tableWorker.getOverallExportedDataAmountRaw();
+		overallExportedDataAmountCompressed += tableWorker.getOverallExportedDataAmountCompressed();
+		itemsDone++;
+		if (parent != null) {
+			((WorkerParentDual) parent).receiveItemDoneSignal(tableWorker.startTimeSub, tableWorker.endTimeSub, tableWorker.subItemsDone, subItemsUnitSign, null);
+		}
+		signalProgress(true);
+	}
+
 	private void exportDbStructure(final Connection connection, final List<String> tablesToExport, String outputFilePath) throws Exception {
 		OutputStream outputStream = null;
 
@@ -409,6 +979,14 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 
 						outputFilePath = outputFilePath + ".zip";
 					}
+				} else if (compressionCodec != null) {
+					if (!outputFilePath.toLowerCase().endsWith("." + compressionCodec.getFileExtension())) {
+						if (!outputFilePath.toLowerCase().endsWith(".json")) {
+							outputFilePath = outputFilePath + ".json";
+						}
+
+						outputFilePath = outputFilePath + "." + compressionCodec.getFileExtension();
+					}
 				} else if (!outputFilePath.toLowerCase().endsWith(".json")) {
 					outputFilePath = outputFilePath + ".json";
 				}
@@ -418,7 +996,7 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 				}
 
 				if (zip) {
-					outputStream = ZipUtilities.openNewZipOutputStream(new FileOutputStream(new File(outputFilePath)));
+					outputStream = ZipUtilities.openNewZipOutputStream(new FileOutputStream(new File(outputFilePath)), zipLevel, zipThreads, zipPassword, useZipCrypto);
 					String entryFileName = outputFilePath.substring(0, outputFilePath.length() - 4);
 					entryFileName = entryFileName.substring(entryFileName.lastIndexOf(File.separatorChar) + 1);
 					if (!entryFileName.toLowerCase().endsWith(".json")) {
@@ -427,6 +1005,8 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 					final ZipEntry entry = new ZipEntry(entryFileName);
 					entry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
 					((ZipOutputStream) outputStream).putNextEntry(entry);
+				} else if (compressionCodec != null) {
+					outputStream = compressionCodec.createOutputStream(new FileOutputStream(new File(outputFilePath)), zipLevel, zipThreads);
 				} else {
 					outputStream = new FileOutputStream(new File(outputFilePath));
 				}
@@ -434,10 +1014,12 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 
 			signalProgress();
 
+			final DbCatalog catalog = DbCatalog.load(connection, tablesToExport);
+
 			try (JsonWriter jsonWriter = new JsonWriter(outputStream)) {
 				jsonWriter.openJsonObject();
 				for (int i = 0; i < tablesToExport.size() && !cancel; i++) {
-					final JsonObject tableJsonObject = createTableStructureJsonObject(connection, tablesToExport.get(i).toLowerCase());
+					final JsonObject tableJsonObject = createTableStructureJsonObject(catalog, tablesToExport.get(i).toLowerCase());
 
 					jsonWriter.openJsonObjectProperty(tablesToExport.get(i).toLowerCase());
 					jsonWriter.add(tableJsonObject);
@@ -449,20 +1031,16 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 			}
 		} finally {
 			Utilities.closeQuietly(outputStream);
-
-			if (zip && zipPassword != null) {
-				Zip4jUtilities.createPasswordSecuredZipFile(outputFilePath, zipPassword, useZipCrypto);
-			}
 		}
 	}
 
-	private static JsonObject createTableStructureJsonObject(final Connection connection, final String tablename) throws Exception {
-		final CaseInsensitiveSet keyColumns = DbUtilities.getPrimaryKeyColumns(connection, tablename);
-		final CaseInsensitiveMap<DbColumnType> dbColumns = DbUtilities.getColumnDataTypes(connection, tablename);
-		final List<DatabaseForeignKey> foreignKeys = DbUtilities.getForeignKeys(connection, tablename);
-		final List<DatabaseIndex> indices = DbUtilities.getIndices(connection, tablename);
-		final List<DatabaseConstraint> constraints = DbUtilities.getConstraints(connection, tablename);
-		final CaseInsensitiveMap<String> defaultValues = DbUtilities.getColumnDefaultValues(connection, tablename);
+	private static JsonObject createTableStructureJsonObject(final DbCatalog catalog, final String tablename) throws Exception {
+		final CaseInsensitiveSet keyColumns = catalog.getPrimaryKeyColumns(tablename);
+		final CaseInsensitiveMap<DbColumnType> dbColumns = catalog.getColumnDataTypes(tablename);
+		final List<DatabaseForeignKey> foreignKeys = catalog.getForeignKeys(tablename);
+		final List<DatabaseIndex> indices = catalog.getIndices(tablename);
+		final List<DatabaseConstraint> constraints = catalog.getConstraints(tablename);
+		final CaseInsensitiveMap<String> defaultValues = catalog.getColumnDefaultValues(tablename);
 
 		final JsonObject tableJsonObject = new JsonObject();
 
@@ -584,6 +1162,14 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 
 						outputFilePath = outputFilePath + ".zip";
 					}
+				} else if (compressionCodec != null) {
+					if (!outputFilePath.toLowerCase().endsWith("." + compressionCodec.getFileExtension())) {
+						if (!outputFilePath.toLowerCase().endsWith(".json")) {
+							outputFilePath = outputFilePath + ".json";
+						}
+
+						outputFilePath = outputFilePath + "." + compressionCodec.getFileExtension();
+					}
 				} else if (!outputFilePath.toLowerCase().endsWith(".json")) {
 					outputFilePath = outputFilePath + ".json";
 				}
@@ -593,7 +1179,7 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 				}
 
 				if (zip) {
-					outputStream = ZipUtilities.openNewZipOutputStream(new FileOutputStream(new File(outputFilePath)));
+					outputStream = ZipUtilities.openNewZipOutputStream(new FileOutputStream(new File(outputFilePath)), zipLevel, zipThreads, zipPassword, useZipCrypto);
 					String entryFileName = outputFilePath.substring(0, outputFilePath.length() - 4);
 					entryFileName = entryFileName.substring(entryFileName.lastIndexOf(File.separatorChar) + 1);
 					if (!entryFileName.toLowerCase().endsWith(".json")) {
@@ -602,6 +1188,8 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 					final ZipEntry entry = new ZipEntry(entryFileName);
 					entry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
 					((ZipOutputStream) outputStream).putNextEntry(entry);
+				} else if (compressionCodec != null) {
+					outputStream = compressionCodec.createOutputStream(new FileOutputStream(new File(outputFilePath)), zipLevel, zipThreads);
 				} else {
 					outputStream = new FileOutputStream(new File(outputFilePath));
 				}
@@ -636,18 +1224,25 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 			}
 		} finally {
 			Utilities.closeQuietly(outputStream);
-
-			if (zip && zipPassword != null) {
-				Zip4jUtilities.createPasswordSecuredZipFile(outputFilePath, zipPassword, useZipCrypto);
-			}
 		}
 	}
 
-	private void export(final Connection connection, final String sqlStatement, String outputFilePath) throws Exception {
+	private void export(final Connection connection, final String sqlStatement, final String outputFilePath) throws Exception {
+		export(connection, sqlStatement, sqlStatement, null, outputFilePath, null);
+	}
+
+	/**
+	 * Export the data of an sql statement into one output file.
+	 * The data is read by the readout statement, which may be restricted to the first partition of a table,
+	 * while the data of the following partitions is appended from their spool files in the given order.
+	 * The table name is optional and only used for estimation of the lines to export.
+	 */
+	private void export(final Connection connection, final String sqlStatement, final String readoutSqlStatement, final String tableName, String outputFilePath, final List<Future<File>> partitionSpools) throws Exception {
 		OutputStream outputStream = null;
 		OutputStream logOutputStream = null;
 		boolean errorOccurred = false;
 		boolean fileWasCreated = false;
+		outputParts = null;
 		try {
 			if ("console".equalsIgnoreCase(outputFilePath)) {
 				outputStream = System.out;
@@ -663,11 +1258,28 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 
 						outputFilePath = outputFilePath + ".zip";
 					}
+				} else if (compressionCodec != null) {
+					if (!outputFilePath.toLowerCase().endsWith("." + compressionCodec.getFileExtension())) {
+						if (!outputFilePath.toLowerCase().endsWith("." + getFileExtension())) {
+							outputFilePath = outputFilePath + "." + getFileExtension();
+						}
+
+						outputFilePath = outputFilePath + "." + compressionCodec.getFileExtension();
+					}
 				} else if (!outputFilePath.toLowerCase().endsWith("." + getFileExtension())) {
 					outputFilePath = outputFilePath + "." + getFileExtension();
 				}
 
-				if (new File(outputFilePath).exists()) {
+				if (splitRows > 0 || splitBytes > 0) {
+					outputParts = new ArrayList<>();
+					if (splitBytes > 0) {
+						// The size of a part is checked after each line, but buffered data is not counted before it is flushed
+						outputBufferSize = (int) Math.min(outputBufferSize, Math.max(MINIMUM_SPLIT_OUTPUT_BUFFER_SIZE, splitBytes / 64));
+					}
+					if (new File(getOutputManifestFilePath(outputFilePath)).exists()) {
+						throw new DbExportException("Outputfile already exists: " + getOutputManifestFilePath(outputFilePath));
+					}
+				} else if (sharedZipArchive == null && new File(outputFilePath).exists()) {
 					throw new DbExportException("Outputfile already exists: " + outputFilePath);
 				}
 
@@ -677,7 +1289,8 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 					logToFile(logOutputStream, getConfigurationLogString(new File(outputFilePath).getName(), sqlStatement)
 							+ (Utilities.isNotBlank(dateFormatPattern) ? "DateFormatPattern: " + dateFormatPattern + "\n" : "")
 							+ (Utilities.isNotBlank(dateTimeFormatPattern) ? "DateTimeFormatPattern: " + dateTimeFormatPattern + "\n" : "")
-							+ (databaseTimeZone != null && !databaseTimeZone.equals(exportDataTimeZone) ? "DatabaseZoneId: " + databaseTimeZone + "\nExportDataZoneId: " + exportDataTimeZone + "\n" : ""));
+							+ (databaseTimeZone != null && !databaseTimeZone.equals(exportDataTimeZone) ? "DatabaseZoneId: " + databaseTimeZone + "\nExportDataZoneId: " + exportDataTimeZone + "\n" : "")
+							+ (snapshotDescription != null ? "Snapshot: " + snapshotDescription + "\n" : ""));
 				}
 
 				if (currentItemName == null) {
@@ -686,18 +1299,12 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 					logToFile(logOutputStream, "Start: " + DateUtilities.formatDate(DateUtilities.getDateTimeFormatWithSecondsPattern(Locale.getDefault()), startTimeSub));
 				}
 
-				if (zip) {
-					outputStream = ZipUtilities.openNewZipOutputStream(new FileOutputStream(new File(outputFilePath)));
-					String entryFileName = outputFilePath.substring(0, outputFilePath.length() - 4);
-					entryFileName = entryFileName.substring(entryFileName.lastIndexOf(File.separatorChar) + 1);
-					if (!entryFileName.toLowerCase().endsWith("." + getFileExtension())) {
-						entryFileName += "." + getFileExtension();
-					}
-					final ZipEntry entry = new ZipEntry(entryFileName);
-					entry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
-					((ZipOutputStream) outputStream).putNextEntry(entry);
+				if (sharedZipArchive != null) {
+					outputStream = sharedZipArchive.openEntry(getZipEntryFileName(outputFilePath));
+				} else if (outputParts != null) {
+					outputStream = openNextOutputPart(outputFilePath);
 				} else {
-					outputStream = new FileOutputStream(new File(outputFilePath));
+					outputStream = openOutputFile(outputFilePath, new FileOutputStream(new File(outputFilePath)));
 				}
 				fileWasCreated = true;
 			}
@@ -708,118 +1315,190 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 				signalUnlimitedSubProgress();
 			}
 
-			try (Statement statement = DbUtilities.getStatementForLargeQuery(connection)) {
-				String countSqlStatementString = "SELECT COUNT(*) FROM (" + sqlStatement + ") data";
-				if (dbDefinition.getDbVendor() == DbVendor.Cassandra || dbDefinition.getDbVendor() == DbVendor.MsSQL) {
-					if (sqlStatement.toLowerCase().contains(" order by ")) {
-						countSqlStatementString = "SELECT COUNT(*)" + sqlStatement.substring(sqlStatement.toLowerCase().indexOf(" from "), sqlStatement.toLowerCase().indexOf(" order by "));
-					} else {
-						countSqlStatementString = "SELECT COUNT(*)" + sqlStatement.substring(sqlStatement.toLowerCase().indexOf(" from "));
+			try (StreamingReadTransaction readTransaction = new StreamingReadTransaction(connection);
+					Statement statement = readTransaction.createStatementForLargeQuery()) {
+				long linesToExport;
+				if (countMode == CountMode.NONE) {
+					linesToExport = -1;
+				} else if (countMode == CountMode.ESTIMATE) {
+					// Statistics are only available for whole tables, not for free sql statements
+					linesToExport = tableName == null ? -1 : DbUtilities.getEstimatedTableEntriesCount(connection, tableName);
+				} else {
+					String countSqlStatementString = "SELECT COUNT(*) FROM (" + sqlStatement + ") data";
+					if (dbDefinition.getDbVendor() == DbVendor.Cassandra || dbDefinition.getDbVendor() == DbVendor.MsSQL) {
+						if (sqlStatement.toLowerCase().contains(" order by ")) {
+							countSqlStatementString = "SELECT COUNT(*)" + sqlStatement.substring(sqlStatement.toLowerCase().indexOf(" from "), sqlStatement.toLowerCase().indexOf(" order by "));
+						} else {
+							countSqlStatementString = "SELECT COUNT(*)" + sqlStatement.substring(sqlStatement.toLowerCase().indexOf(" from "));
+						}
 					}
-				}
-				System.out.println("countSqlStatementString-->"+countSqlStatementString);
-				try (ResultSet resultSet = statement.executeQuery(countSqlStatementString)) {
-					resultSet.next();
-					final int linesToExport = resultSet.getInt(1);
-					logToFile(logOutputStream, "Lines to export: " + linesToExport);
-
-					if (currentItemName == null) {
-						itemsToDo = linesToExport;
-						signalProgress();
-					} else {
-						subItemsToDo = linesToExport;
-						signalItemProgress();
+					System.out.println("countSqlStatementString-->"+countSqlStatementString);
+					try (ResultSet resultSet = statement.executeQuery(countSqlStatementString)) {
+						resultSet.next();
+						linesToExport = resultSet.getLong(1);
 					}
 				}
 
-				openWriter(outputStream);
+				if (linesToExport < 0) {
+					logToFile(logOutputStream, "Lines to export: unknown");
+				} else if (countMode == CountMode.ESTIMATE) {
+					logToFile(logOutputStream, "Lines to export: " + linesToExport + " (estimated)");
+				} else {
+					logToFile(logOutputStream, "Lines to export: " + linesToExport);
+				}
 
-				try (ResultSet resultSet = statement.executeQuery(sqlStatement)) {
-					final ResultSetMetaData metaData = resultSet.getMetaData();
+				if (currentItemName == null) {
+					itemsToDo = linesToExport;
+					signalProgress();
+				} else {
+					subItemsToDo = linesToExport;
+					signalItemProgress();
+				}
 
-					// Scan headers
-					final List<String> columnNames = new ArrayList<>();
-					final List<String> columnTypes = new ArrayList<>();
-					for (int i = 1; i <= metaData.getColumnCount(); i++) {
-						columnNames.add(metaData.getColumnName(i));
-						columnTypes.add(metaData.getColumnTypeName(i));
+				String dbCopyOptions = null;
+				if (useDbCopy && dbDefinition.getDbVendor() == DbVendor.PostgreSQL && partitionSpools == null && outputParts == null && databaseTimeZone.equals(exportDataTimeZone)) {
+					dbCopyOptions = getPostgreSQLCopyOptions();
+					if (dbCopyOptions != null) {
+						try (ResultSet resultSet = statement.executeQuery("SELECT * FROM (" + readoutSqlStatement + ") data WHERE 1 = 0")) {
+							if (!isFormattedLikePostgreSQLCopy(resultSet.getMetaData())) {
+								logToFile(logOutputStream, "Export engine: generic (columns are written differently by PostgreSQL COPY)");
+								dbCopyOptions = null;
+							}
+						}
 					}
+				}
 
+				if (dbCopyOptions != null) {
+					// The db server formats the data itself and its output is streamed directly
+					logToFile(logOutputStream, "Export engine: PostgreSQL COPY");
+					final long copiedLines = DbUtilities.copyOutPostgreSQL(connection, "COPY (" + readoutSqlStatement + ") TO STDOUT WITH (" + dbCopyOptions + ")", outputStream);
 					if (currentItemName == null) {
-						itemsDone = 0;
-						signalProgress();
+						itemsDone = copiedLines;
+						signalProgress(true);
 					} else {
-						subItemsDone = 0;
-						signalItemProgress();
+						subItemsDone = copiedLines;
+						signalItemProgress(true);
 					}
+				} else {
+					openWriter(outputStream, fileWasCreated ? (outputParts != null ? getCurrentOutputPart().getFile().getPath() : outputFilePath) : null);
 
-					if (currentItemName == null) {
-						signalProgress();
-					} else {
-						signalItemProgress();
-					}
-					System.out.println("sqlStatement-->"+sqlStatement);
-					startOutput(connection, sqlStatement, columnNames);
-
-					// Write values
-					while (resultSet.next() && !cancel) {
-						startTableLine();
-						for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
-							final String columnName = metaData.getColumnName(columnIndex);
-							Object value = dbValueConverter.convert(metaData, resultSet, columnIndex, outputFilePath);
-							if (value != null && value instanceof Date && metaData.getColumnType(columnIndex) == Types.DATE) {
-								value = DateUtilities.changeDateTimeZone((Date) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
-								writeDateColumn(columnName, DateUtilities.getLocalDateForDate((Date) value));
-							} else if (value != null && value instanceof LocalDateTime && metaData.getColumnType(columnIndex) == Types.DATE) {
-								value = DateUtilities.changeDateTimeZone((LocalDateTime) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
-								writeDateColumn(columnName, ((LocalDateTime) value).toLocalDate());
-							} else if (value != null && value instanceof LocalDate) {
-								writeDateColumn(columnName, (LocalDate) value);
-							} else if (value != null && value instanceof ZonedDateTime) {
-								value = DateUtilities.changeDateTimeZone((ZonedDateTime) value, ZoneId.of(exportDataTimeZone));
-								writeDateColumn(columnName, ((ZonedDateTime) value).toLocalDate());
-							} else if (value != null && value instanceof Date) {
-								value = DateUtilities.changeDateTimeZone((Date) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
-								writeDateTimeColumn(columnName, DateUtilities.getLocalDateTimeForDate((Date) value));
-							} else if (value != null && value instanceof LocalDateTime) {
-								value = DateUtilities.changeDateTimeZone((LocalDateTime) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
-								writeDateTimeColumn(columnName, (LocalDateTime) value);
-							} else if (value != null && value instanceof ZonedDateTime) {
-								value = DateUtilities.changeDateTimeZone((ZonedDateTime) value, ZoneId.of(exportDataTimeZone));
-								writeDateTimeColumn(columnName, (ZonedDateTime) value);
-							} else if (value != null && value instanceof File) {
-								if (zip) {
-									overallExportedDataAmountRaw += ZipUtilities.getDataSizeUncompressed((File) value);
-									overallExportedDataAmountCompressed += ((File) value).length();
-								} else {
-									overallExportedDataAmountRaw += ((File) value).length();
-								}
-								value = ((File) value).getName();
-								writeColumn(columnName, value);
-							} else {
-								writeColumn(columnName, value);
-							}
+					try (ResultSet resultSet = statement.executeQuery(readoutSqlStatement)) {
+						final ResultSetMetaData metaData = resultSet.getMetaData();
+
+						final FetchSizeGovernor fetchSizeGovernor = createFetchSizeGovernor(connection, resultSet);
+						if (fetchSizeGovernor != null) {
+							logToFile(logOutputStream, "Fetch size: " + fetchSizeGovernor.getFetchSize() + " (estimated line size " + fetchSizeGovernor.getEstimatedRowBytes() + " bytes, fetch memory " + fetchMemory + " bytes)");
+						}
+
+						// Scan headers
+						final List<String> columnNames = new ArrayList<>();
+						final List<String> columnTypes = new ArrayList<>();
+						for (int i = 1; i <= metaData.getColumnCount(); i++) {
+							columnNames.add(metaData.getColumnName(i));
+							columnTypes.add(metaData.getColumnTypeName(i));
 						}
-						endTableLine();
 
 						if (currentItemName == null) {
-							itemsDone++;
+							itemsDone = 0;
 							signalProgress();
 						} else {
-							subItemsDone++;
+							subItemsDone = 0;
 							signalItemProgress();
 						}
-					}
 
-					if (cancel) {
-						// Statement must be cancelled, or the "ResultSet.close()" will wait for all remaining data to be read
-						statement.cancel();
+						if (currentItemName == null) {
+							signalProgress();
+						} else {
+							signalItemProgress();
+						}
+						System.out.println("sqlStatement-->"+sqlStatement);
+						startOutput(connection, sqlStatement, columnNames, metaData);
+
+						if (outputParts != null) {
+							final String partedOutputFilePath = outputFilePath;
+							final OutputStream partedLogOutputStream = logOutputStream;
+							outputPartStarter = () -> {
+								endOutput();
+								closeWriter();
+								closeCurrentOutputPart(partedLogOutputStream);
+								final OutputStream partOutputStream = openNextOutputPart(partedOutputFilePath);
+								openWriter(partOutputStream, getCurrentOutputPart().getFile().getPath());
+								startOutput(connection, sqlStatement, columnNames, metaData);
+							};
+						}
+
+						final ColumnPlan columnPlan = createColumnPlan(metaData);
+
+						// Write values
+						if (pipeline) {
+							exportPipelined(statement, resultSet, fetchSizeGovernor, columnPlan, outputFilePath, logOutputStream);
+						} else {
+							final ResultSetMetaData columnMetaData = columnPlan.getMetaData();
+							final int columnCount = columnPlan.getColumnCount();
+							while (resultSet.next() && !cancel) {
+								countOutputPartLine();
+								startTableLine();
+								for (int columnIndex = 1; columnIndex <= columnCount; columnIndex++) {
+									final PrimitiveValueType primitiveValueType = columnPlan.getPrimitiveValueType(columnIndex - 1);
+									if (primitiveValueType != null) {
+										writePrimitiveValue(resultSet, columnPlan, columnIndex, primitiveValueType);
+										if (fetchSizeGovernor != null) {
+											fetchSizeGovernor.observePrimitiveValue();
+										}
+									} else {
+										final Object value = dbValueConverter.convert(columnMetaData, resultSet, columnIndex, outputFilePath);
+										if (fetchSizeGovernor != null) {
+											fetchSizeGovernor.observeValue(value);
+										}
+										columnPlan.writeValue(columnIndex - 1, value);
+									}
+								}
+								endTableLine();
+
+								if (fetchSizeGovernor != null && fetchSizeGovernor.rowDone()) {
+									logToFile(logOutputStream, "Fetch size adjusted: " + fetchSizeGovernor.getFetchSize() + " (observed line size " + fetchSizeGovernor.getObservedRowBytes() + " bytes)");
+								}
+
+								if (currentItemName == null) {
+									itemsDone++;
+									signalProgress();
+								} else {
+									subItemsDone++;
+									signalItemProgress();
+								}
+							}
+						}
+
+						if (fetchSizeGovernor != null && fetchSizeGovernor.getAdjustments() > 0) {
+							logToFile(logOutputStream, "Fetch size adjustments: " + fetchSizeGovernor.getAdjustments() + " (final fetch size " + fetchSizeGovernor.getFetchSize() + ")");
+						}
+
+						if (partitionSpools != null) {
+							for (final Future<File> partitionSpool : partitionSpools) {
+								if (cancel) {
+									break;
+								}
+								replayPartitionSpool(awaitSubTask(partitionSpool, null), columnPlan);
+							}
+						}
+
+						if (cancel) {
+							// Statement must be cancelled, or the "ResultSet.close()" will wait for all remaining data to be read
+							statement.cancel();
+						}
+
+						endOutput();
 					}
 
-					endOutput();
-				}
+					closeWriter();
 
-				closeWriter();
+					if (outputParts != null) {
+						closeCurrentOutputPart(logOutputStream);
+						if (!cancel) {
+							writeOutputManifest(outputFilePath, sqlStatement);
+						}
+					}
+				}
 
 				long exportedLines;
 				if (currentItemName == null) {
@@ -887,23 +1566,367 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 			} else if (cancel && fileWasCreated && new File(outputFilePath).exists()) {
 				new File(outputFilePath).delete();
 			}
-		}
 
-		if (new File(outputFilePath).exists()) {
-			if (zip && zipPassword != null) {
-				Zip4jUtilities.createPasswordSecuredZipFile(outputFilePath, zipPassword, useZipCrypto);
+			if (outputParts != null) {
+				outputPartStarter = null;
+				for (final OutputPart outputPart : outputParts) {
+					Utilities.closeQuietly(outputPart);
+				}
+				if (fileWasCreated && ((errorOccurred && overallExportedLines == 0) || cancel)) {
+					for (final OutputPart outputPart : outputParts) {
+						outputPart.getFile().delete();
+					}
+					new File(getOutputManifestFilePath(outputFilePath)).delete();
+				}
 			}
+		}
 
+		if (outputParts != null) {
+			for (final OutputPart outputPart : outputParts) {
+				addExportedDataAmount(outputPart.getDataSize(), zip || compressionCodec != null ? outputPart.getFile().length() : 0);
+			}
+		} else if (outputStream instanceof SharedZipArchive.EntryOutputStream) {
+			// Sizes of the entry are known without reading the archive again
+			addExportedDataAmount(((SharedZipArchive.EntryOutputStream) outputStream).getSize(), ((SharedZipArchive.EntryOutputStream) outputStream).getCompressedSize());
+		} else if (new File(outputFilePath).exists()) {
 			final File exportedFile = new File(outputFilePath);
 			if (zip) {
-				overallExportedDataAmountRaw += Zip4jUtilities.getUncompressedSize(exportedFile, zipPassword);
-				overallExportedDataAmountCompressed += (exportedFile).length();
+				addExportedDataAmount(Zip4jUtilities.getUncompressedSize(exportedFile, zipPassword), exportedFile.length());
+			} else if (outputStream instanceof CountingOutputStream) {
+				addExportedDataAmount(((CountingOutputStream) outputStream).getByteCount(), exportedFile.length());
+			} else {
+				addExportedDataAmount(exportedFile.length(), 0);
+			}
+		}
+	}
+
+	/**
+	 * Open an output file, which is zipped or compressed as configured
+	 */
+	private OutputStream openOutputFile(final String outputFilePath, final OutputStream fileOutputStream) throws Exception {
+		if (zip) {
+			final ZipOutputStream zipOutputStream = ZipUtilities.openNewZipOutputStream(fileOutputStream, zipLevel, zipThreads, zipPassword, useZipCrypto);
+			final ZipEntry entry = new ZipEntry(getZipEntryFileName(outputFilePath));
+			entry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
+			zipOutputStream.putNextEntry(entry);
+			return zipOutputStream;
+		} else if (compressionCodec != null) {
+			// The uncompressed data amount is counted while it is written
+			return new CountingOutputStream(compressionCodec.createOutputStream(fileOutputStream, zipLevel, zipThreads));
+		} else {
+			return fileOutputStream;
+		}
+	}
+
+	/**
+	 * Open the next part file of a split output, its data is counted for the maximum size of a part
+	 */
+	private OutputStream openNextOutputPart(final String outputFilePath) throws Exception {
+		final OutputPart outputPart = new OutputPart(new File(getOutputPartFilePath(outputFilePath, outputParts.size() + 1)));
+		if (outputPart.getFile().exists()) {
+			throw new DbExportException("Outputfile already exists: " + outputPart.getFile().getAbsolutePath());
+		}
+		outputParts.add(outputPart);
+		return outputPart.open(openOutputFile(outputPart.getFile().getPath(), outputPart.openFileOutputStream()));
+	}
+
+	private OutputPart getCurrentOutputPart() {
+		return outputParts.get(outputParts.size() - 1);
+	}
+
+	private void closeCurrentOutputPart(final OutputStream logOutputStream) throws Exception {
+		final OutputPart outputPart = getCurrentOutputPart();
+		outputPart.close();
+		logToFile(logOutputStream, "Output part: " + outputPart.getFile().getName() + " (" + outputPart.getLines() + " lines)");
+	}
+
+	/**
+	 * Count a line of a split output. The line is written into the next part file, if the current part is full.
+	 * Parts are full after the line, which reaches the maximum size, so a part may be larger by one line and the limited output buffer.
+	 */
+	private void countOutputPartLine() throws Exception {
+		if (outputParts != null) {
+			if (getCurrentOutputPart().isFull(splitRows, splitBytes)) {
+				outputPartStarter.startNextOutputPart();
+			}
+			getCurrentOutputPart().lineStarted();
+		}
+	}
+
+	/**
+	 * Path of a split output without file extensions, followed by the part number or "manifest"
+	 */
+	private String getOutputBaseFilePath(final String outputFilePath) {
+		String baseFilePath = outputFilePath;
+		final String compressionFileExtension = getCompressionFileExtension();
+		if (compressionFileExtension != null && baseFilePath.toLowerCase().endsWith("." + compressionFileExtension)) {
+			baseFilePath = baseFilePath.substring(0, baseFilePath.length() - compressionFileExtension.length() - 1);
+		}
+		if (baseFilePath.toLowerCase().endsWith("." + getFileExtension())) {
+			baseFilePath = baseFilePath.substring(0, baseFilePath.length() - getFileExtension().length() - 1);
+		}
+		return baseFilePath;
+	}
+
+	/**
+	 * Path of a part file of a split output like "name.00001.csv.zip"
+	 */
+	private String getOutputPartFilePath(final String outputFilePath, final int partNumber) {
+		final String compressionFileExtension = getCompressionFileExtension();
+		return getOutputBaseFilePath(outputFilePath) + String.format(Locale.ROOT, ".%05d", partNumber) + "." + getFileExtension() + (compressionFileExtension != null ? "." + compressionFileExtension : "");
+	}
+
+	private String getOutputManifestFilePath(final String outputFilePath) {
+		return getOutputBaseFilePath(outputFilePath) + ".manifest.json";
+	}
+
+	private String getCompressionFileExtension() {
+		if (zip) {
+			return "zip";
+		} else if (compressionCodec != null) {
+			return compressionCodec.getFileExtension();
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Write the manifest of a split output, which lists all part files with their number of lines, size and SHA-256 checksum.
+	 * So loaders may start to load the parts in parallel without reading them before.
+	 */
+	private void writeOutputManifest(final String outputFilePath, final String sqlStatement) throws Exception {
+		long rows = 0;
+		final JsonArray partsJsonArray = new JsonArray();
+		for (final OutputPart outputPart : outputParts) {
+			final JsonObject partJsonObject = new JsonObject();
+			partJsonObject.add("file", outputPart.getFile().getName());
+			partJsonObject.add("rows", outputPart.getLines());
+			partJsonObject.add("bytes", outputPart.getFile().length());
+			partJsonObject.add("sha256", outputPart.getChecksum());
+			partsJsonArray.add(partJsonObject);
+			rows += outputPart.getLines();
+		}
+
+		final JsonObject manifestJsonObject = new JsonObject();
+		manifestJsonObject.add("statement", sqlStatement);
+		manifestJsonObject.add("format", getFileExtension());
+		if (getCompressionFileExtension() != null) {
+			manifestJsonObject.add("compression", zip ? "zip" : compressionCodec.getName());
+		}
+		manifestJsonObject.add("rows", rows);
+		manifestJsonObject.add("parts", partsJsonArray);
+
+		try (JsonWriter jsonWriter = new JsonWriter(new FileOutputStream(new File(getOutputManifestFilePath(outputFilePath))), StandardCharsets.UTF_8)) {
+			jsonWriter.add(manifestJsonObject);
+		}
+	}
+
+	/**
+	 * Name of the single entry of a zipped output file, which is the file name without ".zip"
+	 */
+	private String getZipEntryFileName(final String outputFilePath) {
+		String entryFileName = outputFilePath.toLowerCase().endsWith(".zip") ? outputFilePath.substring(0, outputFilePath.length() - 4) : outputFilePath;
+		entryFileName = entryFileName.substring(entryFileName.lastIndexOf(File.separatorChar) + 1);
+		if (!entryFileName.toLowerCase().endsWith("." + getFileExtension())) {
+			entryFileName += "." + getFileExtension();
+		}
+		return entryFileName;
+	}
+
+	/**
+	 * Partitions are spooled concurrently, so their data amounts are added synchronized
+	 */
+	private synchronized void addExportedDataAmount(final long dataAmountRaw, final long dataAmountCompressed) {
+		overallExportedDataAmountRaw += dataAmountRaw;
+		overallExportedDataAmountCompressed += dataAmountCompressed;
+	}
+
+	private DefaultDBValueConverter createDbValueConverter() throws Exception {
+		final DefaultDBValueConverter valueConverter;
+		switch (dbDefinition.getDbVendor()) {
+			case Oracle:
+				valueConverter = new OracleDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+				break;
+			case SQLite:
+				valueConverter = new SQLiteDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+				break;
+			case MySQL:
+				valueConverter = new MySQLDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+				break;
+			case MariaDB:
+				valueConverter = new MariaDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+				break;
+			case PostgreSQL:
+				valueConverter = new PostgreSQLDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+				break;
+			case Firebird:
+				valueConverter = new FirebirdDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+				break;
+			case Cassandra:
+				valueConverter = new CassandraDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+				break;
+			case Derby:
+			case HSQL:
+			case MsSQL:
+				valueConverter = new DefaultDBValueConverter(zip, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+				break;
+			default:
+				throw new Exception("Unsupported db vendor: null");
+		}
+		valueConverter.setSharedZipArchive(sharedZipArchive);
+		valueConverter.setCompressionCodec(compressionCodec);
+		return valueConverter;
+	}
+
+	/**
+	 * Export the rows of a resultset with a separate thread for fetching and converting the values,
+	 * while this thread writes the output. Both threads are decoupled by a bounded buffer of reusable rows.
+	 */
+	private void exportPipelined(final Statement statement, final ResultSet resultSet, final FetchSizeGovernor fetchSizeGovernor, final ColumnPlan columnPlan, final String outputFilePath, final OutputStream logOutputStream) throws Exception {
+		final ResultSetMetaData metaData = columnPlan.getMetaData();
+		final int columnCount = columnPlan.getColumnCount();
+		final RowRingBuffer rowBuffer = new RowRingBuffer(PIPELINE_BUFFER_ROWS, columnCount);
+		final List<Exception> fetchErrors = new ArrayList<>();
+		final Thread fetchThread = new Thread(() -> {
+			try {
+				while (!cancel && resultSet.next()) {
+					final Object[] row = rowBuffer.takeFreeRow();
+					if (row == null) {
+						break;
+					}
+					for (int columnIndex = 1; columnIndex <= columnCount; columnIndex++) {
+						row[columnIndex - 1] = dbValueConverter.convert(metaData, resultSet, columnIndex, outputFilePath);
+						if (fetchSizeGovernor != null) {
+							fetchSizeGovernor.observeValue(row[columnIndex - 1]);
+						}
+					}
+					if (fetchSizeGovernor != null) {
+						// Adjustments are logged in summary only, because the log is written by the other thread
+						fetchSizeGovernor.rowDone();
+					}
+					rowBuffer.putFilledRow(row);
+				}
+			} catch (final Exception e) {
+				fetchErrors.add(e);
+			} finally {
+				rowBuffer.closeInput();
+			}
+		}, "DbExport fetch");
+		fetchThread.start();
+
+		try {
+			Object[] row;
+			while (!cancel && (row = rowBuffer.takeFilledRow()) != null) {
+				countOutputPartLine();
+				startTableLine();
+				for (int i = 0; i < columnCount; i++) {
+					columnPlan.writeValue(i, row[i]);
+				}
+				endTableLine();
+				rowBuffer.recycleRow(row);
+
+				if (currentItemName == null) {
+					itemsDone++;
+					signalProgress();
+				} else {
+					subItemsDone++;
+					signalItemProgress();
+				}
+			}
+		} finally {
+			rowBuffer.abort();
+			if (cancel) {
+				statement.cancel();
+			}
+			fetchThread.join();
+		}
+
+		if (!fetchErrors.isEmpty()) {
+			throw fetchErrors.get(0);
+		}
+
+		logToFile(logOutputStream, "Pipeline fetch: " + rowBuffer.getFetchedRows() + " lines, busy " + rowBuffer.getFetchBusyMillis() + " ms, waited for writer " + rowBuffer.getFetchWaitMillis() + " ms");
+		logToFile(logOutputStream, "Pipeline write: " + rowBuffer.getWrittenRows() + " lines, busy " + rowBuffer.getWriteBusyMillis() + " ms, waited for fetch " + rowBuffer.getWriteWaitMillis() + " ms");
+	}
+
+	/**
+	 * Create a governor for the fetch size of the resultset, or null if the fetch size should not be changed.
+	 * MySQL streams its resultsets row by row (fetch size Integer.MIN_VALUE), so there is nothing to govern.
+	 */
+	private FetchSizeGovernor createFetchSizeGovernor(final Connection connection, final ResultSet resultSet) throws Exception {
+		if (fetchMemory <= 0 || DbUtilities.getDbVendor(connection) == DbVendor.MySQL) {
+			return null;
+		} else {
+			return new FetchSizeGovernor(resultSet, fetchMemory);
+		}
+	}
+
+	private ColumnPlan createColumnPlan(final ResultSetMetaData metaData) throws Exception {
+		final ColumnPlan columnPlan = new ColumnPlan(metaData, this::getColumnValueWriter, this::writeColumn);
+		for (int i = 0; i < columnPlan.getColumnCount(); i++) {
+			columnPlan.setPrimitiveValueType(i, dbValueConverter.getPrimitiveValueType(columnPlan.getMetaData(), i + 1));
+		}
+		return columnPlan;
+	}
+
+	/**
+	 * Read a numeric value by its primitive getter and write it without boxing
+	 */
+	private void writePrimitiveValue(final ResultSet resultSet, final ColumnPlan columnPlan, final int columnIndex, final PrimitiveValueType primitiveValueType) throws Exception {
+		if (primitiveValueType == PrimitiveValueType.LONG) {
+			final long value = resultSet.getLong(columnIndex);
+			if (resultSet.wasNull()) {
+				columnPlan.writeValue(columnIndex - 1, null);
+			} else {
+				writeLongColumn(columnPlan.getColumnName(columnIndex - 1), value);
+			}
+		} else {
+			final double value = resultSet.getDouble(columnIndex);
+			if (resultSet.wasNull()) {
+				columnPlan.writeValue(columnIndex - 1, null);
 			} else {
-				overallExportedDataAmountRaw += (exportedFile).length();
+				writeDoubleColumn(columnPlan.getColumnName(columnIndex - 1), value);
 			}
 		}
 	}
 
+	/**
+	 * Resolve the output method for the values of a column.
+	 * Called only for the first value of a column and whenever the class of the values changes.
+	 */
+	private ColumnPlan.ColumnValueWriter getColumnValueWriter(final int columnType, final Class<?> valueClass) {
+		if (Date.class.isAssignableFrom(valueClass) && columnType == Types.DATE) {
+			return (columnName, value) -> writeDateColumn(columnName, zoneConverter.convertToLocalDateTime((Date) value).toLocalDate());
+		} else if (LocalDateTime.class.isAssignableFrom(valueClass) && columnType == Types.DATE) {
+			return (columnName, value) -> writeDateColumn(columnName, zoneConverter.convert((LocalDateTime) value).toLocalDate());
+		} else if (LocalDate.class.isAssignableFrom(valueClass)) {
+			return (columnName, value) -> writeDateColumn(columnName, (LocalDate) value);
+		} else if (ZonedDateTime.class.isAssignableFrom(valueClass)) {
+			return (columnName, value) -> writeDateColumn(columnName, zoneConverter.convert((ZonedDateTime) value).toLocalDate());
+		} else if (Date.class.isAssignableFrom(valueClass)) {
+			return (columnName, value) -> writeDateTimeColumn(columnName, zoneConverter.convertToLocalDateTime((Date) value));
+		} else if (LocalDateTime.class.isAssignableFrom(valueClass)) {
+			return (columnName, value) -> writeDateTimeColumn(columnName, zoneConverter.convert((LocalDateTime) value));
+		} else if (Base64EncodingReader.class.isAssignableFrom(valueClass)) {
+			return (columnName, value) -> {
+				try (Base64EncodingReader base64Reader = (Base64EncodingReader) value) {
+					writeBase64Column(columnName, base64Reader);
+				}
+			};
+		} else if (Reader.class.isAssignableFrom(valueClass)) {
+			return (columnName, value) -> {
+				try (Reader textReader = (Reader) value) {
+					writeTextColumn(columnName, textReader);
+				}
+			};
+		} else if (File.class.isAssignableFrom(valueClass)) {
+			// The data amount of lob files is counted by the value converter, which wrote them
+			return (columnName, value) -> writeColumn(columnName, ((File) value).getName());
+		} else {
+			return this::writeColumn;
+		}
+	}
+
 	private static void logToFile(final OutputStream logOutputStream, final String message) throws Exception {
 		if (logOutputStream != null) {
 			logOutputStream.write((message + "\n").getBytes(StandardCharsets.UTF_8));
@@ -915,11 +1938,11 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 	}
 
 	public long getOverallExportedDataAmountRaw() {
-		return overallExportedDataAmountRaw;
+		return overallExportedDataAmountRaw + (dbValueConverter == null ? 0 : dbValueConverter.getLobDataAmountRaw());
 	}
 
 	public long getOverallExportedDataAmountCompressed() {
-		return overallExportedDataAmountCompressed;
+		return overallExportedDataAmountCompressed + (dbValueConverter == null ? 0 : dbValueConverter.getLobDataAmountCompressed());
 	}
 
 	public ByteArrayOutputStream getGuiOutputStream() {
@@ -928,16 +1951,102 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 
 	public abstract String getConfigurationLogString(String fileName, String sqlStatement);
 
+	/**
+	 * Options for PostgreSQL "COPY ... TO STDOUT WITH (...)", which create the same file structure as this worker.
+	 * Returns null, if the current configuration cannot be mapped onto COPY options, so the generic export is used.
+	 * COPY is only used if additionally all result columns are checked by isFormattedLikePostgreSQLCopy.
+	 */
+	protected String getPostgreSQLCopyOptions() {
+		return null;
+	}
+
+	/**
+	 * Checks if PostgreSQL COPY writes the values of all columns like the generic export.
+	 * This is only true for text and integer values. COPY writes timestamps as "YYYY-MM-DD HH:MI:SS" (depending on the servers DateStyle),
+	 * decimal numbers with the servers text instead of the locale decimal separator and rounding, booleans as "t" and "f" and bytea as "\x" hex instead of Base64.
+	 * Workers override this, if COPY quotes or escapes some values differently.
+	 */
+	protected boolean isFormattedLikePostgreSQLCopy(final ResultSetMetaData metaData) throws SQLException {
+		// The number format of some locales uses other digits
+		final boolean plainIntegerDigits = "-1234567890".equals(getNumberFormatter().format(-1234567890L));
+		for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
+			switch (metaData.getColumnType(columnIndex)) {
+				case Types.CHAR:
+				case Types.VARCHAR:
+				case Types.LONGVARCHAR:
+				case Types.NCHAR:
+				case Types.NVARCHAR:
+				case Types.LONGNVARCHAR:
+					break;
+				case Types.TINYINT:
+				case Types.SMALLINT:
+				case Types.INTEGER:
+				case Types.BIGINT:
+					if (!plainIntegerDigits) {
+						return false;
+					}
+					break;
+				default:
+					return false;
+			}
+		}
+		return true;
+	}
+
 	protected abstract String getFileExtension();
 
 	protected abstract void openWriter(OutputStream outputStream) throws Exception;
 
+	/**
+	 * Open the writer with the path of the output file, which is null for console and gui output.
+	 * Workers creating additional files beside the output file override this one.
+	 */
+	protected void openWriter(final OutputStream outputStream, final String outputFilePath) throws Exception {
+		openWriter(outputStream);
+	}
+
 	protected abstract void startOutput(Connection connection, String sqlStatement, List<String> columnNames) throws Exception;
 
+	/**
+	 * Start the output with the metadata of the exported columns.
+	 * Workers, which need the column types for their output header, override this one.
+	 */
+	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames, final ResultSetMetaData metaData) throws Exception {
+		startOutput(connection, sqlStatement, columnNames);
+	}
+
 	protected abstract void startTableLine() throws Exception;
 
 	protected abstract void writeColumn(String columnName, Object value) throws Exception;
 
+	/**
+	 * Write the value of an integer column, which was read without boxing. Workers with their own number output should override this.
+	 */
+	protected void writeLongColumn(final String columnName, final long value) throws Exception {
+		writeColumn(columnName, value);
+	}
+
+	/**
+	 * Write the value of a floating point column, which was read without boxing. Workers with their own number output should override this.
+	 */
+	protected void writeDoubleColumn(final String columnName, final double value) throws Exception {
+		writeColumn(columnName, value);
+	}
+
+	/**
+	 * Write the Base64 encoded value of a blob, which is read from its reader in chunks. Written like any other text value by default.
+	 */
+	protected void writeBase64Column(final String columnName, final Base64EncodingReader value) throws Exception {
+		writeTextColumn(columnName, value);
+	}
+
+	/**
+	 * Write the value of a clob, which is read from its reader in chunks. Workers, which can escape and write such a value incrementally, should override this.
+	 */
+	protected void writeTextColumn(final String columnName, final Reader value) throws Exception {
+		writeColumn(columnName, Utilities.toString(value));
+	}
+
 	protected abstract void writeDateColumn(String columnName, LocalDate value) throws Exception;
 
 	protected abstract void writeDateTimeColumn(String columnName, LocalDateTime value) throws Exception;
@@ -0,0 +1,94 @@
+package de.soderer.dbexport.worker;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import de.soderer.dbexport.converter.DefaultDBValueConverter.PrimitiveValueType;
+import de.soderer.utilities.db.CachedResultSetMetaData;
+
+/**
+ * Per column properties of a resultset, which are resolved once before the first row is read.
+ * The writer for a column is resolved by the class of its first value and kept as long as the values have the same class.
+ */
+class ColumnPlan {
+	@FunctionalInterface
+	interface ColumnValueWriter {
+		void write(String columnName, Object value) throws Exception;
+	}
+
+	@FunctionalInterface
+	interface ColumnValueWriterResolver {
+		ColumnValueWriter resolve(int columnType, Class<?> valueClass);
+	}
+
+	private final CachedResultSetMetaData metaData;
+	private final int columnCount;
+	private final String[] columnNames;
+	private final int[] columnTypes;
+	private final PrimitiveValueType[] primitiveValueTypes;
+	private final Class<?>[] valueClasses;
+	private final ColumnValueWriter[] valueWriters;
+	private final ColumnValueWriterResolver valueWriterResolver;
+	private final ColumnValueWriter nullValueWriter;
+
+	ColumnPlan(final ResultSetMetaData resultSetMetaData, final ColumnValueWriterResolver valueWriterResolver, final ColumnValueWriter nullValueWriter) throws SQLException {
+		metaData = new CachedResultSetMetaData(resultSetMetaData);
+		this.valueWriterResolver = valueWriterResolver;
+		this.nullValueWriter = nullValueWriter;
+		columnCount = metaData.getColumnCount();
+		columnNames = new String[columnCount];
+		columnTypes = new int[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			columnNames[i] = metaData.getColumnName(i + 1);
+			columnTypes[i] = metaData.getColumnType(i + 1);
+		}
+		primitiveValueTypes = new PrimitiveValueType[columnCount];
+		valueClasses = new Class<?>[columnCount];
+		valueWriters = new ColumnValueWriter[columnCount];
+	}
+
+	/**
+	 * Metadata to be used for the value converters instead of the drivers metadata
+	 */
+	ResultSetMetaData getMetaData() {
+		return metaData;
+	}
+
+	int getColumnCount() {
+		return columnCount;
+	}
+
+	String getColumnName(final int columnIndex) {
+		return columnNames[columnIndex];
+	}
+
+	int getColumnType(final int columnIndex) {
+		return columnTypes[columnIndex];
+	}
+
+	/**
+	 * Primitive getter to read the values of the column with the given zero based index, or null if the values must be converted
+	 */
+	PrimitiveValueType getPrimitiveValueType(final int columnIndex) {
+		return primitiveValueTypes[columnIndex];
+	}
+
+	void setPrimitiveValueType(final int columnIndex, final PrimitiveValueType primitiveValueType) {
+		primitiveValueTypes[columnIndex] = primitiveValueType;
+	}
+
+	/**
+	 * Write a value of the column with the given zero based index
+	 */
+	void writeValue(final int columnIndex, final Object value) throws Exception {
+		if (value == null) {
+			nullValueWriter.write(columnNames[columnIndex], null);
+		} else {
+			if (valueClasses[columnIndex] != value.getClass()) {
+				valueClasses[columnIndex] = value.getClass();
+				valueWriters[columnIndex] = valueWriterResolver.resolve(columnTypes[columnIndex], value.getClass());
+			}
+			valueWriters[columnIndex].write(columnNames[columnIndex], value);
+		}
+	}
+}
@@ -0,0 +1,333 @@
+package de.soderer.dbexport.worker;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import de.soderer.utilities.DateUtilities;
+
+/**
+ * Compare the dispatch of the exported values with per value metadata lookups, like it was done before the column plan, and with a ColumnPlan.
+ *
+ * Usage: java -cp DbExport.jar de.soderer.dbexport.worker.ColumnPlanBenchmark [-rows n] [-runs n] [-zone id]
+ *
+ * The rows are generated in memory with text, number, date and timestamp values and the writers only append the values to a buffer,
+ * so only the metadata lookups, time zone resolution and the choice of the writer are measured.
+ * The metadata looks up the sql type of a column by its type name in a synchronized map on each call, like the PostgreSQL driver does.
+ * The best time of all runs after one warm up run is shown.
+ */
+public class ColumnPlanBenchmark {
+	private static final String[] COLUMN_NAMES = { "id", "name", "amount", "created", "changed", "birthday", "status", "description" };
+	private static final String[] COLUMN_TYPE_NAMES = { "int8", "varchar", "float8", "timestamp", "timestamp", "date", "int4", "text" };
+
+	private final ZoneId databaseZoneId;
+	private final ZoneId exportDataZoneId;
+	private final String databaseTimeZone;
+	private final String exportDataTimeZone;
+	private final StringBuilder output = new StringBuilder();
+
+	public static void main(final String[] arguments) throws Exception {
+		int rows = 1000000;
+		int runs = 3;
+		String zone = "Europe/Berlin";
+		for (int i = 0; i < arguments.length; i++) {
+			if ("-rows".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				rows = Integer.parseInt(arguments[++i]);
+			} else if ("-runs".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				runs = Integer.parseInt(arguments[++i]);
+			} else if ("-zone".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				zone = arguments[++i];
+			} else {
+				System.err.println("Usage: ColumnPlanBenchmark [-rows n] [-runs n] [-zone id]");
+				System.exit(1);
+			}
+		}
+
+		final Object[][] data = createRows(rows);
+		final ColumnPlanBenchmark benchmark = new ColumnPlanBenchmark(zone, "UTC");
+		final ResultSetMetaData metaData = new DriverResultSetMetaData();
+
+		System.out.println(String.format(Locale.ENGLISH, "%-20s %10s %12s %14s", "Dispatch", "Rows", "ms", "Values/s"));
+		for (final boolean useColumnPlan : new boolean[] { false, true }) {
+			long bestNanos = Long.MAX_VALUE;
+			for (int run = 0; run <= runs; run++) {
+				final long start = System.nanoTime();
+				if (useColumnPlan) {
+					benchmark.writeWithColumnPlan(metaData, data);
+				} else {
+					benchmark.writeWithMetaDataLookups(metaData, data);
+				}
+				final long nanos = System.nanoTime() - start;
+				// Run 0 warms up the JIT compiler
+				if (run > 0) {
+					bestNanos = Math.min(bestNanos, nanos);
+				}
+			}
+			System.out.println(String.format(Locale.ENGLISH, "%-20s %10d %12.1f %14.0f",
+					useColumnPlan ? "column plan" : "metadata per value",
+					rows,
+					bestNanos / 1000000.0,
+					(double) rows * COLUMN_NAMES.length / (Math.max(1, bestNanos) / 1000000000.0)));
+		}
+	}
+
+	private ColumnPlanBenchmark(final String databaseTimeZone, final String exportDataTimeZone) {
+		this.databaseTimeZone = databaseTimeZone;
+		this.exportDataTimeZone = exportDataTimeZone;
+		databaseZoneId = ZoneId.of(databaseTimeZone);
+		exportDataZoneId = ZoneId.of(exportDataTimeZone);
+	}
+
+	private static Object[][] createRows(final int rows) {
+		final LocalDateTime baseDateTime = LocalDateTime.of(2020, 1, 1, 0, 0);
+		final Object[][] data = new Object[rows][];
+		for (int i = 0; i < rows; i++) {
+			data[i] = new Object[] {
+					Long.valueOf(i),
+					"Name " + (i % 1000),
+					Double.valueOf(i * 0.25),
+					Timestamp.valueOf(baseDateTime.plusMinutes(i)),
+					i % 10 == 0 ? null : baseDateTime.plusSeconds(i),
+					LocalDate.of(1970, 1, 1).plusDays(i % 20000),
+					Integer.valueOf(i % 7),
+					i % 3 == 0 ? null : "Description " + i
+			};
+		}
+		return data;
+	}
+
+	private void writeWithMetaDataLookups(final ResultSetMetaData metaData, final Object[][] data) throws Exception {
+		output.setLength(0);
+		for (final Object[] row : data) {
+			for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
+				final String columnName = metaData.getColumnName(columnIndex);
+				writeColumnValue(columnName, metaData.getColumnType(columnIndex), row[columnIndex - 1]);
+			}
+			output.setLength(0);
+		}
+	}
+
+	private void writeWithColumnPlan(final ResultSetMetaData metaData, final Object[][] data) throws Exception {
+		output.setLength(0);
+		final ColumnPlan columnPlan = new ColumnPlan(metaData, this::getColumnValueWriter, this::writeColumn);
+		final int columnCount = columnPlan.getColumnCount();
+		for (final Object[] row : data) {
+			for (int i = 0; i < columnCount; i++) {
+				columnPlan.writeValue(i, row[i]);
+			}
+			output.setLength(0);
+		}
+	}
+
+	/**
+	 * Dispatch of the values as done by the export before the column plan
+	 */
+	private void writeColumnValue(final String columnName, final int columnType, Object value) {
+		if (value != null && value instanceof Date && columnType == Types.DATE) {
+			value = DateUtilities.changeDateTimeZone((Date) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
+			writeDateColumn(columnName, DateUtilities.getLocalDateForDate((Date) value));
+		} else if (value != null && value instanceof LocalDateTime && columnType == Types.DATE) {
+			value = DateUtilities.changeDateTimeZone((LocalDateTime) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
+			writeDateColumn(columnName, ((LocalDateTime) value).toLocalDate());
+		} else if (value != null && value instanceof LocalDate) {
+			writeDateColumn(columnName, (LocalDate) value);
+		} else if (value != null && value instanceof ZonedDateTime) {
+			value = DateUtilities.changeDateTimeZone((ZonedDateTime) value, ZoneId.of(exportDataTimeZone));
+			writeDateColumn(columnName, ((ZonedDateTime) value).toLocalDate());
+		} else if (value != null && value instanceof Date) {
+			value = DateUtilities.changeDateTimeZone((Date) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
+			writeDateTimeColumn(columnName, DateUtilities.getLocalDateTimeForDate((Date) value));
+		} else if (value != null && value instanceof LocalDateTime) {
+			value = DateUtilities.changeDateTimeZone((LocalDateTime) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
+			writeDateTimeColumn(columnName, (LocalDateTime) value);
+		} else {
+			writeColumn(columnName, value);
+		}
+	}
+
+	/**
+	 * Dispatch of the values as done by AbstractDbExportWorker.getColumnValueWriter
+	 */
+	private ColumnPlan.ColumnValueWriter getColumnValueWriter(final int columnType, final Class<?> valueClass) {
+		if (Date.class.isAssignableFrom(valueClass) && columnType == Types.DATE) {
+			return (columnName, value) -> writeDateColumn(columnName, DateUtilities.getLocalDateForDate(DateUtilities.changeDateTimeZone((Date) value, databaseZoneId, exportDataZoneId)));
+		} else if (LocalDateTime.class.isAssignableFrom(valueClass) && columnType == Types.DATE) {
+			return (columnName, value) -> writeDateColumn(columnName, DateUtilities.changeDateTimeZone((LocalDateTime) value, databaseZoneId, exportDataZoneId).toLocalDate());
+		} else if (LocalDate.class.isAssignableFrom(valueClass)) {
+			return (columnName, value) -> writeDateColumn(columnName, (LocalDate) value);
+		} else if (ZonedDateTime.class.isAssignableFrom(valueClass)) {
+			return (columnName, value) -> writeDateColumn(columnName, DateUtilities.changeDateTimeZone((ZonedDateTime) value, exportDataZoneId).toLocalDate());
+		} else if (Date.class.isAssignableFrom(valueClass)) {
+			return (columnName, value) -> writeDateTimeColumn(columnName, DateUtilities.getLocalDateTimeForDate(DateUtilities.changeDateTimeZone((Date) value, databaseZoneId, exportDataZoneId)));
+		} else if (LocalDateTime.class.isAssignableFrom(valueClass)) {
+			return (columnName, value) -> writeDateTimeColumn(columnName, DateUtilities.changeDateTimeZone((LocalDateTime) value, databaseZoneId, exportDataZoneId));
+		} else {
+			return this::writeColumn;
+		}
+	}
+
+	private void writeColumn(final String columnName, final Object value) {
+		output.append(value).append(';');
+	}
+
+	private void writeDateColumn(final String columnName, final LocalDate value) {
+		output.append(value).append(';');
+	}
+
+	private void writeDateTimeColumn(final String columnName, final LocalDateTime value) {
+		output.append(value).append(';');
+	}
+
+	/**
+	 * Metadata, which resolves the column properties on each call like a jdbc driver
+	 */
+	private static class DriverResultSetMetaData implements ResultSetMetaData {
+		private final Map<String, Integer> sqlTypesByTypeName = new HashMap<>();
+
+		private DriverResultSetMetaData() {
+			sqlTypesByTypeName.put("int4", Types.INTEGER);
+			sqlTypesByTypeName.put("int8", Types.BIGINT);
+			sqlTypesByTypeName.put("float8", Types.DOUBLE);
+			sqlTypesByTypeName.put("varchar", Types.VARCHAR);
+			sqlTypesByTypeName.put("text", Types.VARCHAR);
+			sqlTypesByTypeName.put("date", Types.DATE);
+			sqlTypesByTypeName.put("timestamp", Types.TIMESTAMP);
+		}
+
+		private void checkColumnIndex(final int column) throws SQLException {
+			if (column < 1 || column > COLUMN_NAMES.length) {
+				throw new SQLException("Column index out of range: " + column);
+			}
+		}
+
+		@Override
+		public int getColumnCount() {
+			return COLUMN_NAMES.length;
+		}
+
+		@Override
+		public String getColumnName(final int column) throws SQLException {
+			checkColumnIndex(column);
+			return COLUMN_NAMES[column - 1];
+		}
+
+		@Override
+		public String getColumnLabel(final int column) throws SQLException {
+			return getColumnName(column);
+		}
+
+		@Override
+		public int getColumnType(final int column) throws SQLException {
+			checkColumnIndex(column);
+			synchronized (sqlTypesByTypeName) {
+				return sqlTypesByTypeName.get(COLUMN_TYPE_NAMES[column - 1]);
+			}
+		}
+
+		@Override
+		public String getColumnTypeName(final int column) throws SQLException {
+			checkColumnIndex(column);
+			return COLUMN_TYPE_NAMES[column - 1];
+		}
+
+		@Override
+		public boolean isAutoIncrement(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public boolean isCaseSensitive(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public boolean isSearchable(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public boolean isCurrency(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public int isNullable(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public boolean isSigned(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public int getColumnDisplaySize(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public String getSchemaName(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public int getPrecision(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public int getScale(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public String getTableName(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public String getCatalogName(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public boolean isReadOnly(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public boolean isWritable(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public boolean isDefinitelyWritable(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public String getColumnClassName(final int column) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public <T> T unwrap(final Class<T> iface) throws SQLException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public boolean isWrapperFor(final Class<?> iface) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package de.soderer.dbexport.worker;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import de.soderer.utilities.DateUtilities;
+
+/**
+ * Compare the formatting of exported date values with a DateTimeFormatter compiled per value, with a cached DateTimeFormatter
+ * and with the hand written formatting of DateUtilities.formatDate for the fixed ISO 8601 and ANSI SQL patterns.
+ *
+ * Usage: java -cp DbExport.jar de.soderer.dbexport.worker.DateFormatBenchmark [-values n] [-runs n] [-zone id]
+ *
+ * The values are generated in memory as ZonedDateTime with nanos in the given zone. Before measuring, the outputs of all three ways are compared.
+ * The best time of all runs after one warm up run is shown.
+ */
+public class DateFormatBenchmark {
+	private static final String[] PATTERNS = {
+			DateUtilities.ANSI_SQL_DATE_FORMAT,
+			DateUtilities.ANSI_SQL_DATETIME_FORMAT,
+			DateUtilities.ISO_8601_DATETIME_FORMAT_NO_TIMEZONE,
+			DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT_NO_TIMEZONE,
+			DateUtilities.ISO_8601_DATETIME_FORMAT,
+			DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT
+	};
+
+	/** Length of all formatted values, so the formatting cannot be skipped by the JIT compiler */
+	private static long formattedLength = 0;
+
+	private enum Method {
+		OF_PATTERN("ofPattern"),
+		CACHED("cached"),
+		FIXED_PATTERN("fixed pattern");
+
+		private final String name;
+
+		Method(final String name) {
+			this.name = name;
+		}
+	}
+
+	public static void main(final String[] arguments) throws Exception {
+		int values = 1000000;
+		int runs = 3;
+		String zone = "Europe/Berlin";
+		for (int i = 0; i < arguments.length; i++) {
+			if ("-values".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				values = Integer.parseInt(arguments[++i]);
+			} else if ("-runs".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				runs = Integer.parseInt(arguments[++i]);
+			} else if ("-zone".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				zone = arguments[++i];
+			} else {
+				System.err.println("Usage: DateFormatBenchmark [-values n] [-runs n] [-zone id]");
+				System.exit(1);
+			}
+		}
+
+		final ZonedDateTime[] data = createValues(values, ZoneId.of(zone));
+
+		System.out.println(String.format(Locale.ENGLISH, "%-36s %-14s %10s %12s %14s", "Pattern", "Method", "Values", "ms", "Values/s"));
+		for (final String pattern : PATTERNS) {
+			checkOutputs(pattern, data);
+			for (final Method method : Method.values()) {
+				long bestNanos = Long.MAX_VALUE;
+				for (int run = 0; run <= runs; run++) {
+					final long start = System.nanoTime();
+					formattedLength += format(method, pattern, data);
+					final long nanos = System.nanoTime() - start;
+					// Run 0 warms up the JIT compiler
+					if (run > 0) {
+						bestNanos = Math.min(bestNanos, nanos);
+					}
+				}
+				System.out.println(String.format(Locale.ENGLISH, "%-36s %-14s %10d %12.1f %14.0f",
+						pattern,
+						method.name,
+						values,
+						bestNanos / 1000000.0,
+						values / (Math.max(1, bestNanos) / 1000000000.0)));
+			}
+		}
+	}
+
+	private static ZonedDateTime[] createValues(final int values, final ZoneId zoneId) {
+		final LocalDateTime baseDateTime = LocalDateTime.of(2000, 1, 1, 0, 0);
+		final ZonedDateTime[] data = new ZonedDateTime[values];
+		for (int i = 0; i < values; i++) {
+			// Steps of a few hours cover both offsets of zones with daylight saving time
+			data[i] = baseDateTime.plusMinutes(i * 997L).plusNanos(i * 123457L % 1000000000L).atZone(zoneId);
+		}
+		return data;
+	}
+
+	private static String format(final Method method, final String pattern, final ZonedDateTime value) {
+		switch (method) {
+			case OF_PATTERN:
+				return DateTimeFormatter.ofPattern(pattern).format(value);
+			case CACHED:
+				return DateUtilities.getCachedDateTimeFormatter(pattern, null, null).format(value);
+			default:
+				return DateUtilities.formatDate(pattern, value);
+		}
+	}
+
+	private static long format(final Method method, final String pattern, final ZonedDateTime[] data) {
+		long length = 0;
+		for (final ZonedDateTime value : data) {
+			length += format(method, pattern, value).length();
+		}
+		return length;
+	}
+
+	private static void checkOutputs(final String pattern, final ZonedDateTime[] data) {
+		for (final ZonedDateTime value : data) {
+			final String expected = format(Method.OF_PATTERN, pattern, value);
+			for (final Method method : Method.values()) {
+				final String formatted = format(method, pattern, value);
+				if (!expected.equals(formatted)) {
+					throw new IllegalStateException("Different output of " + method.name + " for pattern '" + pattern + "' and value " + value + ": '" + formatted + "' instead of '" + expected + "'");
+				}
+			}
+		}
+	}
+}
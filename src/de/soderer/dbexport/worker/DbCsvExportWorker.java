@@ -4,7 +4,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
@@ -12,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import de.soderer.utilities.Base64EncodingReader;
 import de.soderer.utilities.DateUtilities;
 import de.soderer.utilities.NumberUtilities;
 import de.soderer.utilities.Utilities;
@@ -40,6 +46,12 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 
 	private List<String> values = null;
 
+	/** Streamed Base64 values must be quoted, because the separator or the string quote is a Base64 character */
+	private boolean base64NeedsQuotation = false;
+
+	/** Reusable buffer for formatting values without intermediate Strings, if not beautified */
+	private final StringBuilder valueBuffer = new StringBuilder();
+
 	public DbCsvExportWorker(final WorkerParentDual parent, final DbDefinition dbDefinition, final boolean isStatementFile, final String sqlStatementOrTablelist, final String outputpath) {
 		super(parent, dbDefinition, isStatementFile, sqlStatementOrTablelist, outputpath);
 	}
@@ -91,15 +103,96 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 		return "csv";
 	}
 
+	@Override
+	protected String getPostgreSQLCopyOptions() {
+		// Formatting of values and lob files are only done by the generic export
+		if (beautify || createBlobFiles || createClobFiles || decimalSeparator != null
+				|| Utilities.isNotBlank(dateFormatPattern) || Utilities.isNotBlank(dateTimeFormatPattern)) {
+			return null;
+		}
+
+		// COPY only allows single byte characters for the csv control characters
+		if (separator > 127 || stringQuote > 127 || stringQuoteEscapeCharacter > 127) {
+			return null;
+		}
+
+		// FORCE_QUOTE does not quote null values like the generic export does.
+		// COPY also escapes the escape character itself, if it differs from the string quote, and quotes all values equal to the null value text.
+		if (alwaysQuote || stringQuoteEscapeCharacter != stringQuote || NumberUtilities.isLong(nullValueText.trim())) {
+			return null;
+		}
+
+		String copyEncoding;
+		if (StandardCharsets.UTF_8.equals(encoding)) {
+			copyEncoding = "UTF8";
+		} else if (StandardCharsets.ISO_8859_1.equals(encoding)) {
+			copyEncoding = "LATIN1";
+		} else if ("ISO-8859-15".equals(encoding.name())) {
+			copyEncoding = "LATIN9";
+		} else if ("windows-1252".equals(encoding.name())) {
+			copyEncoding = "WIN1252";
+		} else {
+			return null;
+		}
+
+		return "FORMAT csv"
+				+ ", DELIMITER " + getPostgreSQLStringLiteral(Character.toString(separator))
+				+ ", QUOTE " + getPostgreSQLStringLiteral(Character.toString(stringQuote))
+				+ ", ESCAPE " + getPostgreSQLStringLiteral(Character.toString(stringQuoteEscapeCharacter))
+				+ ", NULL " + getPostgreSQLStringLiteral(nullValueText)
+				+ ", HEADER " + !noHeaders
+				+ ", ENCODING '" + copyEncoding + "'";
+	}
+
+	/**
+	 * COPY quotes text values, which are empty or equal to the null value text, but the csv writer does not.
+	 * The values are not known before the export, so only results without text columns are exported by COPY.
+	 */
+	@Override
+	protected boolean isFormattedLikePostgreSQLCopy(final ResultSetMetaData metaData) throws SQLException {
+		if (!super.isFormattedLikePostgreSQLCopy(metaData)) {
+			return false;
+		}
+		for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
+			switch (metaData.getColumnType(columnIndex)) {
+				case Types.CHAR:
+				case Types.VARCHAR:
+				case Types.LONGVARCHAR:
+				case Types.NCHAR:
+				case Types.NVARCHAR:
+				case Types.LONGNVARCHAR:
+					return false;
+				default:
+					break;
+			}
+			// The header line is quoted by the same rules as the values, which also quote "\." as only value of a line
+			if (!noHeaders && (metaData.getColumnName(columnIndex).equals(nullValueText) || metaData.getColumnName(columnIndex).equals("\\."))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String getPostgreSQLStringLiteral(final String value) {
+		if (value.contains("\\")) {
+			return "E'" + value.replace("\\", "\\\\").replace("'", "''") + "'";
+		} else {
+			return "'" + value.replace("'", "''") + "'";
+		}
+	}
+
 	@Override
 	protected void openWriter(final OutputStream outputStream) throws Exception {
 		if (beautify) {
 			temporaryUglifiedFile = File.createTempFile("DbExport_Uglified", ".csv", new File(System.getProperty("java.io.tmpdir")));
 			csvWriter = new CsvWriter(new FileOutputStream(temporaryUglifiedFile), encoding, new CsvFormat().setSeparator(separator).setStringQuote(stringQuote).setStringQuoteEscapeCharacter(stringQuoteEscapeCharacter).setQuoteMode(alwaysQuote ? QuoteMode.QUOTE_ALL_DATA : QuoteMode.QUOTE_IF_NEEDED));
 			beautifiedCsvWriter = new CsvWriter(outputStream, encoding, new CsvFormat().setSeparator(separator).setStringQuote(stringQuote));
+			beautifiedCsvWriter.setOutputBufferSize(outputBufferSize);
 		} else {
 			csvWriter = new CsvWriter(outputStream, encoding, new CsvFormat().setSeparator(separator).setStringQuote(stringQuote).setStringQuoteEscapeCharacter(stringQuoteEscapeCharacter).setQuoteMode(alwaysQuote ? QuoteMode.QUOTE_ALL_DATA : QuoteMode.QUOTE_IF_NEEDED));
 		}
+		csvWriter.setOutputBufferSize(outputBufferSize);
+		base64NeedsQuotation = Base64EncodingReader.isBase64Character(separator) || Base64EncodingReader.isBase64Character(stringQuote);
 	}
 
 	@Override
@@ -121,11 +214,33 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void startTableLine() throws Exception {
-		values = new ArrayList<>();
+		if (beautify) {
+			values = new ArrayList<>();
+		}
 	}
 
 	@Override
 	protected void writeColumn(final String columnName, final Object value) throws Exception {
+		if (!beautify) {
+			// Fast path: Values are written directly without collecting the line and measuring the output sizes
+			if (value == null) {
+				csvWriter.writeLineValue(nullValueText);
+			} else if (value instanceof String) {
+				csvWriter.writeLineValue((String) value);
+			} else if (value instanceof Date) {
+				valueBuffer.setLength(0);
+				getDateFormatter().formatTo(DateUtilities.getLocalDateTimeForDate((Date) value), valueBuffer);
+				csvWriter.writeLineValue(valueBuffer);
+			} else if (value instanceof Number) {
+				valueBuffer.setLength(0);
+				getNumberFormatter().format((Number) value, valueBuffer);
+				csvWriter.writeLineValue(valueBuffer);
+			} else {
+				csvWriter.writeLineValue(value.toString());
+			}
+			return;
+		}
+
 		if (value == null) {
 			values.add(nullValueText);
 		} else if (value instanceof String) {
@@ -134,11 +249,7 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 			values.add(getDateFormatter().format(DateUtilities.getLocalDateTimeForDate((Date) value)));
 		} else if (value instanceof Number) {
 			columnPaddings[values.size()] = false;
-			if (decimalSeparator != null) {
-				values.add(NumberUtilities.formatNumber((Number) value, decimalSeparator, null));
-			} else {
-				values.add(decimalFormat.format(value));
-			}
+			values.add(getNumberFormatter().format((Number) value));
 		} else {
 			values.add(value.toString());
 		}
@@ -146,8 +257,59 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 		minimumColumnSizes[values.size() - 1] = Math.max(minimumColumnSizes[values.size() - 1], csvWriter.calculateOutputSizesOfValue(values.get(values.size() - 1)));
 	}
 
+	@Override
+	protected void writeLongColumn(final String columnName, final long value) throws Exception {
+		if (beautify) {
+			super.writeLongColumn(columnName, value);
+		} else {
+			valueBuffer.setLength(0);
+			getNumberFormatter().format(value, valueBuffer);
+			csvWriter.writeLineValue(valueBuffer);
+		}
+	}
+
+	@Override
+	protected void writeDoubleColumn(final String columnName, final double value) throws Exception {
+		if (beautify) {
+			super.writeDoubleColumn(columnName, value);
+		} else {
+			valueBuffer.setLength(0);
+			getNumberFormatter().format(value, valueBuffer);
+			csvWriter.writeLineValue(valueBuffer);
+		}
+	}
+
+	@Override
+	protected void writeBase64Column(final String columnName, final Base64EncodingReader value) throws Exception {
+		if (beautify) {
+			super.writeBase64Column(columnName, value);
+		} else {
+			csvWriter.writeLineValue(value, base64NeedsQuotation);
+		}
+	}
+
+	@Override
+	protected void writeTextColumn(final String columnName, final Reader value) throws Exception {
+		if (beautify) {
+			super.writeTextColumn(columnName, value);
+		} else {
+			csvWriter.writeStreamedLineValue(value);
+		}
+	}
+
 	@Override
 	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
+		if (!beautify) {
+			if (localDateValue == null) {
+				csvWriter.writeLineValue(nullValueText);
+			} else {
+				valueBuffer.setLength(0);
+				getDateFormatter().formatTo(localDateValue, valueBuffer);
+				csvWriter.writeLineValue(valueBuffer);
+			}
+			return;
+		}
+
 		if (localDateValue == null) {
 			values.add(nullValueText);
 		} else {
@@ -159,6 +321,17 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final LocalDateTime localDateTimeValue) throws Exception {
+		if (!beautify) {
+			if (localDateTimeValue == null) {
+				csvWriter.writeLineValue(nullValueText);
+			} else {
+				valueBuffer.setLength(0);
+				getDateTimeFormatter().formatTo(localDateTimeValue, valueBuffer);
+				csvWriter.writeLineValue(valueBuffer);
+			}
+			return;
+		}
+
 		if (localDateTimeValue == null) {
 			values.add(nullValueText);
 		} else {
@@ -170,6 +343,17 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime zonedDateTimeValue) throws Exception {
+		if (!beautify) {
+			if (zonedDateTimeValue == null) {
+				csvWriter.writeLineValue(nullValueText);
+			} else {
+				valueBuffer.setLength(0);
+				getDateTimeFormatter().formatTo(zonedDateTimeValue, valueBuffer);
+				csvWriter.writeLineValue(valueBuffer);
+			}
+			return;
+		}
+
 		if (zonedDateTimeValue == null) {
 			values.add(nullValueText);
 		} else {
@@ -181,8 +365,12 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void endTableLine() throws Exception {
-		csvWriter.writeValues(values);
-		values = null;
+		if (beautify) {
+			csvWriter.writeValues(values);
+			values = null;
+		} else {
+			csvWriter.endLine();
+		}
 	}
 
 	@Override
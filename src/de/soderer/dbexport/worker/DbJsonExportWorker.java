@@ -1,6 +1,7 @@
 package de.soderer.dbexport.worker;
 
 import java.io.OutputStream;
+import java.io.Reader;
 import java.sql.Connection;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -51,6 +52,7 @@ public class DbJsonExportWorker extends AbstractDbExportWorker {
 	@Override
 	protected void openWriter(final OutputStream outputStream) throws Exception {
 		jsonWriter = new JsonWriter(outputStream, encoding);
+		jsonWriter.setOutputBufferSize(outputBufferSize);
 		jsonWriter.setIndentation(indentation);
 		jsonWriter.setUglify(!beautify);
 	}
@@ -71,6 +73,12 @@ public class DbJsonExportWorker extends AbstractDbExportWorker {
 		jsonWriter.addSimpleJsonObjectPropertyValue(value);
 	}
 
+	@Override
+	protected void writeTextColumn(final String columnName, final Reader value) throws Exception {
+		jsonWriter.openJsonObjectProperty(columnName);
+		jsonWriter.addStreamedJsonObjectPropertyValue(value);
+	}
+
 	@Override
 	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
 		jsonWriter.openJsonObjectProperty(columnName);
@@ -1,38 +1,125 @@
 package de.soderer.dbexport.worker;
 
-import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import de.soderer.dbexport.DbExportException;
 import de.soderer.utilities.DateUtilities;
+import de.soderer.utilities.OutputSink;
 import de.soderer.utilities.Utilities;
 import de.soderer.utilities.db.DbDefinition;
+import de.soderer.utilities.db.DbUtilities;
+import de.soderer.utilities.db.DbUtilities.DbVendor;
 import de.soderer.utilities.plugin.SqlUtil;
 import de.soderer.utilities.worker.WorkerParentDual;
+import de.soderer.utilities.zip.SharedZipArchive;
 
 public class DbSqlExportWorker extends AbstractDbExportWorker {
 	private Writer fileWriter = null;
 
+	/** MsSQL allows at most 1000 lines in one insert statement */
+	private static final int MSSQL_MAXIMUM_BATCH_LINES = 1000;
+
+	/** Space kept free in MySQL packets for the protocol overhead */
+	private static final int MYSQL_PACKET_RESERVE = 1024;
+
+	/** Record terminator of SQL*Loader data files, which allows line breaks within the values */
+	private static final String SQL_LOADER_RECORD_TERMINATOR = "\u001E\n";
+
+	/** Maximum length in bytes of SQL*Loader fields for lob and long values */
+	private static final int SQL_LOADER_LOB_FIELD_LENGTH = 16 * 1024 * 1024;
+
+	/** Minimum length in bytes of SQL*Loader fields, which is also SQL*Loaders default length */
+	private static final int SQL_LOADER_MINIMUM_FIELD_LENGTH = 255;
+
+	// Default optional parameters
+	private int sqlBatchLines = 1;
+	private int sqlCommitLines = 0;
+	private DbVendor bulkLoadVendor = null;
+
 	private String tableName = null;
 
-	private List<String> columnNamesOfCurrentTableLine = null;
+	/** Output and the path of its file, which is null for console and gui output */
+	private OutputStream outputStream = null;
+	private String outputFilePath = null;
+	private ResultSetMetaData columnMetaData = null;
+
+	/** Writer of the separate data file of a bulk load script, if it is not an entry of the zipped output */
+	private Writer dataWriter = null;
+
+	/** Parts of the insert statements, created once per table */
+	private String statementStart = null;
+	private String lineStart = null;
+	private String lineEnd = null;
+	private String lineSeparator = null;
+	private String statementEnd = null;
+	private String transactionStart = null;
 
-	private List<String> values = null;
+	/** Maximum number of lines per insert statement of the current table */
+	private int batchLines = 1;
+
+	/** Maximum size of an insert statement in bytes, 0 for no limit */
+	private long maximumStatementBytes = 0;
+	private float maximumBytesPerCharacter = 1;
+
+	/** Values are written to the output directly or to the line buffer, if the statement size is limited */
+	private Writer valueWriter = null;
+	private LineBuffer lineBuffer = null;
+
+	private int valuesOfCurrentTableLine = 0;
+	private int linesOfCurrentStatement = 0;
+	private long bytesOfCurrentStatement = 0;
+	private int linesOfCurrentTransaction = 0;
+
+	/** Reusable buffers for streamed values and numbers */
+	private char[] streamBuffer = null;
+	private final StringBuilder numberBuffer = new StringBuilder();
+	private char[] numberCharacters = new char[64];
 
 	public DbSqlExportWorker(final WorkerParentDual parent, final DbDefinition dbDefinition, final boolean isStatementFile, final String sqlStatementOrTablelist, final String outputpath) {
 		super(parent, dbDefinition, isStatementFile, sqlStatementOrTablelist, outputpath);
 	}
 
+	/**
+	 * Number of lines combined in one multi-line insert statement, 1 for single line inserts
+	 */
+	public void setSqlBatchLines(final int sqlBatchLines) {
+		this.sqlBatchLines = sqlBatchLines;
+	}
+
+	/**
+	 * Number of lines enclosed in one transaction, 0 for no transaction statements
+	 */
+	public void setSqlCommitLines(final int sqlCommitLines) {
+		this.sqlCommitLines = sqlCommitLines;
+	}
+
+	/**
+	 * Target db vendor of a bulk load script (PostgreSQL COPY, MySQL LOAD DATA or Oracle SQL*Loader), null for insert statements
+	 */
+	public void setBulkLoadVendor(final DbVendor bulkLoadVendor) {
+		this.bulkLoadVendor = bulkLoadVendor;
+	}
+
 	@Override
 	public String getConfigurationLogString(final String fileName, final String sqlStatement) {
 		return
@@ -43,17 +130,48 @@ public class DbSqlExportWorker extends AbstractDbExportWorker {
 				+ "SqlStatement: " + sqlStatement + "\n"
 				+ "OutputFormatLocale: " + dateFormatLocale.getLanguage() + "\n"
 				+ "CreateBlobFiles: " + createBlobFiles + "\n"
-				+ "CreateClobFiles: " + createClobFiles;
+				+ "CreateClobFiles: " + createClobFiles + "\n"
+				+ "SqlBatchLines: " + sqlBatchLines + "\n"
+				+ "SqlCommitLines: " + sqlCommitLines + "\n"
+				+ "SqlBulkLoad: " + (bulkLoadVendor == null ? "none" : bulkLoadVendor.toString());
 	}
 
 	@Override
 	protected String getFileExtension() {
-		return "sql";
+		if (bulkLoadVendor == DbVendor.Oracle) {
+			return "ctl";
+		} else {
+			return "sql";
+		}
+	}
+
+	/**
+	 * File extension of the separate data file of a bulk load script
+	 */
+	private String getDataFileExtension() {
+		if (bulkLoadVendor == DbVendor.Oracle) {
+			return "dat";
+		} else {
+			return "txt";
+		}
 	}
 
 	@Override
 	protected void openWriter(final OutputStream outputStream) throws Exception {
-		fileWriter = new BufferedWriter(new OutputStreamWriter(outputStream, encoding));
+		fileWriter = OutputSink.createWriter(outputStream, encoding, outputBufferSize);
+	}
+
+	@Override
+	protected void openWriter(final OutputStream outputStream, final String outputFilePath) throws Exception {
+		this.outputStream = outputStream;
+		this.outputFilePath = outputFilePath;
+		openWriter(outputStream);
+	}
+
+	@Override
+	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames, final ResultSetMetaData metaData) throws Exception {
+		columnMetaData = metaData;
+		startOutput(connection, sqlStatement, columnNames);
 	}
 
 	@Override
@@ -78,30 +196,430 @@ public class DbSqlExportWorker extends AbstractDbExportWorker {
 				tableName = "export_tbl";
 			}
 		}
+		if (bulkLoadVendor != null) {
+			startBulkLoad(columnNames);
+		} else {
+			createStatementParts(connection, Utilities.join(columnNames, ", "));
+			linesOfCurrentStatement = 0;
+			linesOfCurrentTransaction = 0;
+		}
 	}
 
+	/**
+	 * Write the load statement or control file of a bulk load script and open its data.
+	 * PostgreSQL's COPY reads its tab separated data from the script itself.
+	 * MySQL's LOAD DATA and Oracle's SQL*Loader read a separate data file, which is written beside the script file or as the next entry of the zipped output or shared zip archive.
+	 */
+	private void startBulkLoad(final List<String> columnNames) throws Exception {
+		lineBuffer = null;
+		if (bulkLoadVendor == DbVendor.PostgreSQL) {
+			fileWriter.write("COPY " + tableName + " (" + Utilities.join(columnNames, ", ") + ") FROM stdin;\n");
+			valueWriter = fileWriter;
+		} else {
+			if (outputFilePath == null) {
+				throw new DbExportException("Bulk load for " + bulkLoadVendor + " needs a separate data file and is not supported for console or gui output");
+			}
+
+			String dataFileName = new File(outputFilePath).getName();
+			if (dataFileName.toLowerCase().endsWith(".zip")) {
+				dataFileName = dataFileName.substring(0, dataFileName.length() - 4);
+			}
+			if (dataFileName.toLowerCase().endsWith("." + getFileExtension())) {
+				dataFileName = dataFileName.substring(0, dataFileName.length() - getFileExtension().length() - 1);
+			}
+			dataFileName = dataFileName + "." + getDataFileExtension();
+
+			if (bulkLoadVendor == DbVendor.Oracle) {
+				writeSqlLoaderControlFile(columnNames, dataFileName);
+			} else {
+				final String characterSet = getMySqlCharacterSet();
+				fileWriter.write("LOAD DATA LOCAL INFILE '" + dataFileName.replace("'", "''") + "' INTO TABLE " + tableName
+						+ (characterSet != null ? " CHARACTER SET " + characterSet : "")
+						+ " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n'"
+						+ " (" + Utilities.join(columnNames, ", ") + ");\n");
+			}
+
+			if (outputStream instanceof SharedZipArchive.EntryOutputStream) {
+				dataWriter = OutputSink.createWriter(((SharedZipArchive.EntryOutputStream) outputStream).getArchive().openEntry(dataFileName), encoding, outputBufferSize);
+				valueWriter = dataWriter;
+			} else if (outputStream instanceof ZipOutputStream) {
+				fileWriter.flush();
+				((ZipOutputStream) outputStream).closeEntry();
+				final ZipEntry entry = new ZipEntry(dataFileName);
+				entry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
+				((ZipOutputStream) outputStream).putNextEntry(entry);
+				valueWriter = fileWriter;
+			} else {
+				final File dataFile = new File(new File(outputFilePath).getAbsoluteFile().getParentFile(), dataFileName);
+				if (dataFile.exists()) {
+					throw new DbExportException("Outputfile already exists: " + dataFile.getAbsolutePath());
+				}
+				dataWriter = OutputSink.createWriter(new FileOutputStream(dataFile), encoding, outputBufferSize);
+				valueWriter = dataWriter;
+			}
+		}
+	}
+
+	/**
+	 * Write a SQL*Loader control file for tab separated fields, which are optionally enclosed in double quotes.
+	 * Dates are read with the ANSI datetime format of the data file, the lengths of the fields are derived from the column types.
+	 */
+	private void writeSqlLoaderControlFile(final List<String> columnNames, final String dataFileName) throws Exception {
+		final String characterSet = getOracleCharacterSet();
+		fileWriter.write("LOAD DATA\n");
+		if (characterSet != null) {
+			fileWriter.write("CHARACTERSET " + characterSet + "\n");
+		}
+		fileWriter.write("INFILE '" + dataFileName.replace("'", "''") + "' \"STR X'1E0A'\"\n");
+		fileWriter.write("APPEND\n");
+		fileWriter.write("INTO TABLE " + tableName + "\n");
+		fileWriter.write("FIELDS TERMINATED BY X'09' OPTIONALLY ENCLOSED BY '\"'\n");
+		fileWriter.write("TRAILING NULLCOLS\n");
+		fileWriter.write("(\n");
+		for (int i = 0; i < columnNames.size(); i++) {
+			fileWriter.write(columnNames.get(i) + " " + getSqlLoaderFieldSpecification(i + 1) + (i < columnNames.size() - 1 ? ",\n" : "\n"));
+		}
+		fileWriter.write(")\n");
+	}
+
+	private String getSqlLoaderFieldSpecification(final int columnIndex) throws SQLException {
+		switch (columnMetaData.getColumnType(columnIndex)) {
+			case Types.DATE:
+			case Types.TIME:
+			case Types.TIMESTAMP:
+			case Types.TIMESTAMP_WITH_TIMEZONE:
+				return "DATE \"YYYY-MM-DD HH24:MI:SS\"";
+			case Types.BLOB:
+			case Types.CLOB:
+			case Types.NCLOB:
+			case Types.BINARY:
+			case Types.VARBINARY:
+			case Types.LONGVARBINARY:
+			case Types.LONGVARCHAR:
+			case Types.LONGNVARCHAR:
+				return "CHAR(" + SQL_LOADER_LOB_FIELD_LENGTH + ")";
+			default:
+				// Up to 4 bytes per character in the data file
+				final int precision = columnMetaData.getPrecision(columnIndex);
+				if (precision <= 0 || precision > SQL_LOADER_LOB_FIELD_LENGTH / 4) {
+					return "CHAR(" + SQL_LOADER_LOB_FIELD_LENGTH + ")";
+				} else {
+					return "CHAR(" + Math.max(SQL_LOADER_MINIMUM_FIELD_LENGTH, precision * 4) + ")";
+				}
+		}
+	}
+
+	/**
+	 * Oracle name of the output encoding, or null to use the clients NLS_LANG
+	 */
+	private String getOracleCharacterSet() {
+		if (StandardCharsets.UTF_8.equals(encoding)) {
+			return "AL32UTF8";
+		} else if (StandardCharsets.ISO_8859_1.equals(encoding)) {
+			return "WE8ISO8859P1";
+		} else if (StandardCharsets.US_ASCII.equals(encoding)) {
+			return "US7ASCII";
+		} else if ("windows-1252".equals(encoding.name())) {
+			return "WE8MSWIN1252";
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * MySQL name of the output encoding, or null to use the character set of the database
+	 */
+	private String getMySqlCharacterSet() {
+		if (StandardCharsets.UTF_8.equals(encoding)) {
+			return "utf8mb4";
+		} else if (StandardCharsets.ISO_8859_1.equals(encoding) || "windows-1252".equals(encoding.name())) {
+			// MySQL's latin1 is windows-1252
+			return "latin1";
+		} else if (StandardCharsets.US_ASCII.equals(encoding)) {
+			return "ascii";
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Create the constant parts of the insert statements in the syntax of the db vendor.
+	 * Oracle has no multi-line VALUES clause, but inserts multiple lines by INSERT ALL. Firebird and Cassandra get single line inserts only.
+	 */
+	private void createStatementParts(final Connection connection, final String columnList) throws Exception {
+		final DbVendor dbVendor = dbDefinition.getDbVendor();
+		batchLines = sqlBatchLines;
+		if (dbVendor == DbVendor.Firebird || dbVendor == DbVendor.Cassandra) {
+			batchLines = 1;
+		} else if (dbVendor == DbVendor.MsSQL) {
+			batchLines = Math.min(batchLines, MSSQL_MAXIMUM_BATCH_LINES);
+		}
+
+		if (batchLines <= 1) {
+			statementStart = "";
+			lineStart = "INSERT INTO " + tableName + " (" + columnList + ") VALUES (";
+			lineEnd = ")";
+			lineSeparator = "";
+			statementEnd = ";\n";
+		} else if (dbVendor == DbVendor.Oracle) {
+			statementStart = "INSERT ALL\n";
+			lineStart = "INTO " + tableName + " (" + columnList + ") VALUES (";
+			lineEnd = ")\n";
+			lineSeparator = "";
+			statementEnd = "SELECT 1 FROM DUAL;\n";
+		} else {
+			statementStart = "INSERT INTO " + tableName + " (" + columnList + ") VALUES\n";
+			lineStart = "(";
+			lineEnd = ")";
+			lineSeparator = ",\n";
+			statementEnd = ";\n";
+		}
+
+		if (sqlCommitLines <= 0) {
+			transactionStart = null;
+		} else if (dbVendor == DbVendor.MsSQL) {
+			transactionStart = "BEGIN TRANSACTION;\n";
+		} else if (dbVendor == DbVendor.MySQL || dbVendor == DbVendor.MariaDB || dbVendor == DbVendor.HSQL) {
+			transactionStart = "START TRANSACTION;\n";
+		} else if (dbVendor == DbVendor.PostgreSQL || dbVendor == DbVendor.SQLite) {
+			transactionStart = "BEGIN;\n";
+		} else {
+			// Oracle, Derby and Firebird start transactions implicitly
+			transactionStart = "";
+		}
+
+		maximumStatementBytes = 0;
+		if (batchLines > 1 && (dbVendor == DbVendor.MySQL || dbVendor == DbVendor.MariaDB)) {
+			final int maxAllowedPacketSize = DbUtilities.getMysqlMaxAllowedPacketSize(connection);
+			if (maxAllowedPacketSize > 0) {
+				maximumStatementBytes = Math.max(MYSQL_PACKET_RESERVE, maxAllowedPacketSize - MYSQL_PACKET_RESERVE);
+			}
+		}
+
+		if (maximumStatementBytes > 0) {
+			maximumBytesPerCharacter = encoding.newEncoder().maxBytesPerChar();
+			lineBuffer = new LineBuffer(fileWriter, (int) Math.min(Integer.MAX_VALUE - 8, maximumStatementBytes), this::startOversizedStatement);
+			valueWriter = lineBuffer;
+		} else {
+			lineBuffer = null;
+			valueWriter = fileWriter;
+		}
+	}
 
 	@Override
 	protected void startTableLine() throws Exception {
-		columnNamesOfCurrentTableLine = new ArrayList<>();
-		values = new ArrayList<>();
+		if (bulkLoadVendor != null) {
+			valuesOfCurrentTableLine = 0;
+			return;
+		}
+
+		if (transactionStart != null && linesOfCurrentTransaction == 0) {
+			fileWriter.write(transactionStart);
+		}
+
+		if (lineBuffer != null) {
+			// The line is added to the statement, when its size is known
+			lineBuffer.reset();
+		} else if (linesOfCurrentStatement == 0) {
+			fileWriter.write(statementStart);
+		} else {
+			fileWriter.write(lineSeparator);
+		}
+		valueWriter.write(lineStart);
+		valuesOfCurrentTableLine = 0;
 	}
 
 	@Override
 	protected void writeColumn(final String columnName, final Object value) throws Exception {
-		columnNamesOfCurrentTableLine.add(columnName);
+		startValue();
 		if (value == null) {
-			values.add("NULL");
+			writeNull();
 		} else if (value instanceof String) {
-			values.add("'" + ((String) value).replace("'", "''") + "'");
+			writeStringLiteral((String) value);
 		} else if (value instanceof Date) {
-			values.add("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, (Date) value) + "'");
+			writeQuotedValue(DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, (Date) value));
 		} else if (value instanceof Number) {
-			values.add(value.toString());
+			valueWriter.write(value.toString());
 		} else if (value instanceof BigDecimal) {
-			values.add(getBigDecimal(value).stripTrailingZeros().toPlainString());
+			valueWriter.write(getBigDecimal(value).stripTrailingZeros().toPlainString());
+		} else if (value instanceof Boolean && (bulkLoadVendor == DbVendor.MySQL || bulkLoadVendor == DbVendor.MariaDB)) {
+			// LOAD DATA does not convert "true" and "false" into MySQL's boolean type TINYINT(1)
+			valueWriter.write((Boolean) value ? "1" : "0");
+		} else {
+			writeStringLiteral(value.toString());
+		}
+	}
+
+	@Override
+	protected void writeTextColumn(final String columnName, final Reader value) throws Exception {
+		startValue();
+		if (streamBuffer == null) {
+			streamBuffer = new char[4096];
+		}
+		if (bulkLoadVendor != null) {
+			writeDataValueStart();
+			int lengthRead;
+			while ((lengthRead = value.read(streamBuffer)) > -1) {
+				int unwrittenStart = 0;
+				for (int i = 0; i < lengthRead; i++) {
+					final String escapedCharacter = getEscapedDataCharacter(streamBuffer[i]);
+					if (escapedCharacter != null) {
+						valueWriter.write(streamBuffer, unwrittenStart, i - unwrittenStart);
+						valueWriter.write(escapedCharacter);
+						unwrittenStart = i + 1;
+					}
+				}
+				valueWriter.write(streamBuffer, unwrittenStart, lengthRead - unwrittenStart);
+			}
+			writeDataValueEnd();
+		} else {
+			valueWriter.write('\'');
+			int lengthRead;
+			while ((lengthRead = value.read(streamBuffer)) > -1) {
+				int unwrittenStart = 0;
+				for (int i = 0; i < lengthRead; i++) {
+					if (streamBuffer[i] == '\'') {
+						valueWriter.write(streamBuffer, unwrittenStart, i + 1 - unwrittenStart);
+						valueWriter.write('\'');
+						unwrittenStart = i + 1;
+					}
+				}
+				valueWriter.write(streamBuffer, unwrittenStart, lengthRead - unwrittenStart);
+			}
+			valueWriter.write('\'');
+		}
+	}
+
+	@Override
+	protected void writeLongColumn(final String columnName, final long value) throws Exception {
+		startValue();
+		numberBuffer.setLength(0);
+		numberBuffer.append(value);
+		writeNumberBuffer();
+	}
+
+	@Override
+	protected void writeDoubleColumn(final String columnName, final double value) throws Exception {
+		startValue();
+		// Same output as Double.toString(value) like for boxed values
+		numberBuffer.setLength(0);
+		numberBuffer.append(value);
+		writeNumberBuffer();
+	}
+
+	private void writeNumberBuffer() throws Exception {
+		if (numberCharacters.length < numberBuffer.length()) {
+			numberCharacters = new char[numberBuffer.length()];
+		}
+		numberBuffer.getChars(0, numberBuffer.length(), numberCharacters, 0);
+		valueWriter.write(numberCharacters, 0, numberBuffer.length());
+	}
+
+	/**
+	 * Write a quoted value, which contains no quotes and no characters escaped in bulk load data
+	 */
+	private void writeQuotedValue(final String value) throws Exception {
+		if (bulkLoadVendor != null) {
+			valueWriter.write(value);
 		} else {
-			values.add("'" + value.toString().replace("'", "''") + "'");
+			valueWriter.write('\'');
+			valueWriter.write(value);
+			valueWriter.write('\'');
+		}
+	}
+
+	private void startValue() throws Exception {
+		if (valuesOfCurrentTableLine > 0) {
+			valueWriter.write(bulkLoadVendor != null ? "\t" : ", ");
+		}
+		valuesOfCurrentTableLine++;
+	}
+
+	private void writeNull() throws Exception {
+		if (bulkLoadVendor == null) {
+			valueWriter.write("NULL");
+		} else if (bulkLoadVendor != DbVendor.Oracle) {
+			valueWriter.write("\\N");
+		}
+		// SQL*Loader reads empty fields as NULL
+	}
+
+	/**
+	 * Write a quoted string literal with its quotes doubled, without creating an escaped copy of the string
+	 */
+	private void writeStringLiteral(final String value) throws Exception {
+		if (bulkLoadVendor != null) {
+			writeDataValue(value);
+			return;
+		}
+
+		valueWriter.write('\'');
+		int unwrittenStart = 0;
+		int quoteIndex;
+		while ((quoteIndex = value.indexOf('\'', unwrittenStart)) >= 0) {
+			valueWriter.write(value, unwrittenStart, quoteIndex + 1 - unwrittenStart);
+			valueWriter.write('\'');
+			unwrittenStart = quoteIndex + 1;
+		}
+		valueWriter.write(value, unwrittenStart, value.length() - unwrittenStart);
+		valueWriter.write('\'');
+	}
+
+	/**
+	 * Write a text value of bulk load data.
+	 * PostgreSQL and MySQL data escape special characters by backslash, SQL*Loader fields are enclosed in double quotes, which are doubled within the value.
+	 */
+	private void writeDataValue(final String value) throws Exception {
+		writeDataValueStart();
+		int unwrittenStart = 0;
+		for (int i = 0; i < value.length(); i++) {
+			final String escapedCharacter = getEscapedDataCharacter(value.charAt(i));
+			if (escapedCharacter != null) {
+				valueWriter.write(value, unwrittenStart, i - unwrittenStart);
+				valueWriter.write(escapedCharacter);
+				unwrittenStart = i + 1;
+			}
+		}
+		valueWriter.write(value, unwrittenStart, value.length() - unwrittenStart);
+		writeDataValueEnd();
+	}
+
+	private void writeDataValueStart() throws Exception {
+		if (bulkLoadVendor == DbVendor.Oracle) {
+			valueWriter.write('"');
+		}
+	}
+
+	private void writeDataValueEnd() throws Exception {
+		if (bulkLoadVendor == DbVendor.Oracle) {
+			valueWriter.write('"');
+		}
+	}
+
+	/**
+	 * Escaped representation of a character in bulk load data, or null if the character is written unchanged
+	 */
+	private String getEscapedDataCharacter(final char character) {
+		if (character > '\\') {
+			return null;
+		} else if (bulkLoadVendor == DbVendor.Oracle) {
+			return character == '"' ? "\"\"" : null;
+		} else {
+			switch (character) {
+				case '\\':
+					return "\\\\";
+				case '\t':
+					return "\\t";
+				case '\n':
+					return "\\n";
+				case '\r':
+					return "\\r";
+				case '\0':
+					// PostgreSQL does not allow NUL characters in text at all
+					return bulkLoadVendor == DbVendor.PostgreSQL ? null : "\\0";
+				default:
+					return null;
+			}
 		}
 	}
 
@@ -131,44 +649,126 @@ public class DbSqlExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
-		columnNamesOfCurrentTableLine.add(columnName);
+		startValue();
 		if (localDateValue == null) {
-			values.add("NULL");
+			writeNull();
+		} else if (bulkLoadVendor == DbVendor.Oracle) {
+			// The SQL*Loader control file uses the datetime format for all date columns
+			writeQuotedValue(DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, localDateValue.atStartOfDay()));
 		} else {
-			values.add("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATE_FORMAT, localDateValue) + "'");
+			writeQuotedValue(DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATE_FORMAT, localDateValue));
 		}
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final LocalDateTime localDateTimeValue) throws Exception {
-		columnNamesOfCurrentTableLine.add(columnName);
+		startValue();
 		if (localDateTimeValue == null) {
-			values.add("NULL");
+			writeNull();
 		} else {
-			values.add("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, localDateTimeValue) + "'");
+			writeQuotedValue(DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, localDateTimeValue));
 		}
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime zonedDateTimeValue) throws Exception {
-		columnNamesOfCurrentTableLine.add(columnName);
+		startValue();
 		if (zonedDateTimeValue == null) {
-			values.add("NULL");
+			writeNull();
 		} else {
-			values.add("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, zonedDateTimeValue) + "'");
+			writeQuotedValue(DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, zonedDateTimeValue));
 		}
 	}
 
 	@Override
 	protected void endTableLine() throws Exception {
-		fileWriter.write("INSERT INTO " + tableName + " (" + Utilities.join(columnNamesOfCurrentTableLine, ", ") + ") VALUES (" + Utilities.join(values, ", ") + ");\n");
-		columnNamesOfCurrentTableLine = null;
-		values = null;
+		if (bulkLoadVendor != null) {
+			valueWriter.write(bulkLoadVendor == DbVendor.Oracle ? SQL_LOADER_RECORD_TERMINATOR : "\n");
+			return;
+		}
+
+		valueWriter.write(lineEnd);
+
+		if (lineBuffer == null) {
+			linesOfCurrentStatement++;
+		} else if (lineBuffer.isSpilled()) {
+			// The oversized line is already written as a statement of its own
+			linesOfCurrentStatement = 1;
+		} else {
+			final long lineBytes = getEncodedLength(lineBuffer);
+			if (linesOfCurrentStatement > 0 && bytesOfCurrentStatement + lineSeparator.length() + lineBytes + statementEnd.length() > maximumStatementBytes) {
+				endStatement();
+			}
+			if (linesOfCurrentStatement == 0) {
+				fileWriter.write(statementStart);
+				bytesOfCurrentStatement = statementStart.length();
+			} else {
+				fileWriter.write(lineSeparator);
+				bytesOfCurrentStatement += lineSeparator.length();
+			}
+			lineBuffer.writeTo(fileWriter);
+			bytesOfCurrentStatement += lineBytes;
+			linesOfCurrentStatement++;
+		}
+
+		if (linesOfCurrentStatement >= batchLines || (lineBuffer != null && lineBuffer.isSpilled())) {
+			endStatement();
+		}
+
+		if (transactionStart != null) {
+			linesOfCurrentTransaction++;
+			if (linesOfCurrentTransaction >= sqlCommitLines) {
+				endTransaction();
+			}
+		}
+	}
+
+	/**
+	 * Called by the line buffer, before a line, which is too large for a multi-line insert, is written directly to the output
+	 */
+	private void startOversizedStatement() throws IOException {
+		if (linesOfCurrentStatement > 0) {
+			endStatement();
+		}
+		fileWriter.write(statementStart);
+	}
+
+	private void endStatement() throws IOException {
+		fileWriter.write(statementEnd);
+		linesOfCurrentStatement = 0;
+		bytesOfCurrentStatement = 0;
+	}
+
+	private void endTransaction() throws IOException {
+		if (linesOfCurrentStatement > 0) {
+			endStatement();
+		}
+		fileWriter.write("COMMIT;\n");
+		linesOfCurrentTransaction = 0;
+	}
+
+	/**
+	 * Number of bytes of the buffered line in the output encoding. Exact for UTF-8 and single byte encodings, an upper limit otherwise.
+	 */
+	private long getEncodedLength(final LineBuffer buffer) {
+		if (StandardCharsets.UTF_8.equals(encoding)) {
+			return buffer.getUtf8Length();
+		} else {
+			return (long) Math.ceil(buffer.getLength() * maximumBytesPerCharacter);
+		}
 	}
 
 	@Override
 	protected void endOutput() throws Exception {
-		// nothing to do
+		if (bulkLoadVendor == DbVendor.PostgreSQL) {
+			fileWriter.write("\\.\n");
+		}
+		if (linesOfCurrentStatement > 0) {
+			endStatement();
+		}
+		if (transactionStart != null && linesOfCurrentTransaction > 0) {
+			endTransaction();
+		}
 	}
 
 	@Override
@@ -181,5 +781,137 @@ public class DbSqlExportWorker extends AbstractDbExportWorker {
 			}
 			fileWriter = null;
 		}
+		if (dataWriter != null) {
+			try {
+				dataWriter.close();
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+			dataWriter = null;
+		}
+		valueWriter = null;
+		lineBuffer = null;
+	}
+
+	@FunctionalInterface
+	private interface SpillHandler {
+		void beforeSpill() throws IOException;
+	}
+
+	/**
+	 * Buffer for a line of a size limited multi-line insert statement, which is added to a statement, when its size is known.
+	 * A line longer than the spill limit does not fit into any statement together with other lines.
+	 * So it is written to the output as soon as it gets that long and the rest of the line is written directly, which keeps the buffer size limited.
+	 */
+	private static class LineBuffer extends Writer {
+		private final Writer output;
+		private final int spillLimit;
+		private final SpillHandler spillHandler;
+		private char[] buffer = new char[1024];
+		private int length = 0;
+		private boolean spilled = false;
+
+		private LineBuffer(final Writer output, final int spillLimit, final SpillHandler spillHandler) {
+			this.output = output;
+			this.spillLimit = spillLimit;
+			this.spillHandler = spillHandler;
+		}
+
+		private void reset() {
+			length = 0;
+			spilled = false;
+		}
+
+		private boolean isSpilled() {
+			return spilled;
+		}
+
+		private int getLength() {
+			return length;
+		}
+
+		private long getUtf8Length() {
+			long utf8Length = 0;
+			for (int i = 0; i < length; i++) {
+				final char character = buffer[i];
+				if (character < 0x80) {
+					utf8Length++;
+				} else if (character < 0x800 || Character.isSurrogate(character)) {
+					// Each surrogate of a pair counts half of the 4 bytes
+					utf8Length += 2;
+				} else {
+					utf8Length += 3;
+				}
+			}
+			return utf8Length;
+		}
+
+		private void writeTo(final Writer writer) throws IOException {
+			writer.write(buffer, 0, length);
+		}
+
+		@Override
+		public void write(final int character) throws IOException {
+			if (!spilled && length + 1 > spillLimit) {
+				spill();
+			}
+			if (spilled) {
+				output.write(character);
+			} else {
+				ensureCapacity(length + 1);
+				buffer[length++] = (char) character;
+			}
+		}
+
+		@Override
+		public void write(final char[] characters, final int offset, final int characterCount) throws IOException {
+			if (!spilled && length + characterCount > spillLimit) {
+				spill();
+			}
+			if (spilled) {
+				output.write(characters, offset, characterCount);
+			} else {
+				ensureCapacity(length + characterCount);
+				System.arraycopy(characters, offset, buffer, length, characterCount);
+				length += characterCount;
+			}
+		}
+
+		@Override
+		public void write(final String text, final int offset, final int characterCount) throws IOException {
+			if (!spilled && length + characterCount > spillLimit) {
+				spill();
+			}
+			if (spilled) {
+				output.write(text, offset, characterCount);
+			} else {
+				ensureCapacity(length + characterCount);
+				text.getChars(offset, offset + characterCount, buffer, length);
+				length += characterCount;
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			// Buffered data is written by writeTo only
+		}
+
+		@Override
+		public void close() throws IOException {
+			// The output is closed by its owner
+		}
+
+		private void spill() throws IOException {
+			spillHandler.beforeSpill();
+			output.write(buffer, 0, length);
+			length = 0;
+			spilled = true;
+		}
+
+		private void ensureCapacity(final int capacity) {
+			if (capacity > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(capacity, (int) Math.min(spillLimit, 2L * buffer.length)));
+			}
+		}
 	}
 }
@@ -1,6 +1,8 @@
 package de.soderer.dbexport.worker;
 
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.sql.Connection;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -12,13 +14,21 @@ import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamWriter;
 
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.NumberUtilities;
+import de.soderer.utilities.OutputSink;
 import de.soderer.utilities.db.DbDefinition;
 import de.soderer.utilities.worker.WorkerParentDual;
 import de.soderer.utilities.xml.IndentedXMLStreamWriter;
 
 public class DbXmlExportWorker extends AbstractDbExportWorker {
 	private XMLStreamWriter xmlWriter = null;
+	private Writer xmlOutputWriter = null;
+
+	/** Reusable buffers for formatting numbers without intermediate Strings */
+	private final StringBuilder numberBuffer = new StringBuilder();
+	private char[] numberCharacters = new char[64];
+
+	/** Reusable buffer for streamed values, created on first use */
+	private char[] streamBuffer = null;
 
 	private String indentation = "\t";
 	private String nullValueText = "";
@@ -61,10 +71,11 @@ public class DbXmlExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void openWriter(final OutputStream outputStream) throws Exception {
+		xmlOutputWriter = OutputSink.createWriter(outputStream, encoding, outputBufferSize);
 		if (beautify) {
-			xmlWriter = new IndentedXMLStreamWriter(outputStream, encoding, indentation);
+			xmlWriter = new IndentedXMLStreamWriter(xmlOutputWriter, encoding, indentation);
 		} else {
-			xmlWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, encoding.name());
+			xmlWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(xmlOutputWriter);
 		}
 	}
 
@@ -89,11 +100,9 @@ public class DbXmlExportWorker extends AbstractDbExportWorker {
 		} else if (value instanceof Date) {
 			xmlWriter.writeCharacters(getDateFormatter().format(DateUtilities.getLocalDateTimeForDate((Date) value)));
 		} else if (value instanceof Number) {
-			if (decimalSeparator != null) {
-				xmlWriter.writeCharacters(NumberUtilities.formatNumber((Number) value, decimalSeparator, null));
-			} else {
-				xmlWriter.writeCharacters(decimalFormat.format(value));
-			}
+			numberBuffer.setLength(0);
+			getNumberFormatter().format((Number) value, numberBuffer);
+			writeNumberBuffer();
 		} else if (value instanceof String) {
 			xmlWriter.writeCharacters((String) value);
 		} else {
@@ -102,6 +111,45 @@ public class DbXmlExportWorker extends AbstractDbExportWorker {
 		xmlWriter.writeEndElement();
 	}
 
+	@Override
+	protected void writeLongColumn(final String columnName, final long value) throws Exception {
+		xmlWriter.writeStartElement(columnName);
+		numberBuffer.setLength(0);
+		getNumberFormatter().format(value, numberBuffer);
+		writeNumberBuffer();
+		xmlWriter.writeEndElement();
+	}
+
+	@Override
+	protected void writeDoubleColumn(final String columnName, final double value) throws Exception {
+		xmlWriter.writeStartElement(columnName);
+		numberBuffer.setLength(0);
+		getNumberFormatter().format(value, numberBuffer);
+		writeNumberBuffer();
+		xmlWriter.writeEndElement();
+	}
+
+	@Override
+	protected void writeTextColumn(final String columnName, final Reader value) throws Exception {
+		xmlWriter.writeStartElement(columnName);
+		if (streamBuffer == null) {
+			streamBuffer = new char[4096];
+		}
+		int lengthRead;
+		while ((lengthRead = value.read(streamBuffer)) > -1) {
+			xmlWriter.writeCharacters(streamBuffer, 0, lengthRead);
+		}
+		xmlWriter.writeEndElement();
+	}
+
+	private void writeNumberBuffer() throws Exception {
+		if (numberCharacters.length < numberBuffer.length()) {
+			numberCharacters = new char[numberBuffer.length()];
+		}
+		numberBuffer.getChars(0, numberBuffer.length(), numberCharacters, 0);
+		xmlWriter.writeCharacters(numberCharacters, 0, numberBuffer.length());
+	}
+
 	@Override
 	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
 		xmlWriter.writeStartElement(columnName);
@@ -158,5 +206,14 @@ public class DbXmlExportWorker extends AbstractDbExportWorker {
 			}
 			xmlWriter = null;
 		}
+		if (xmlOutputWriter != null) {
+			try {
+				// The StAX writer does not flush its underlying writer on close
+				xmlOutputWriter.flush();
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+			xmlOutputWriter = null;
+		}
 	}
 }
@@ -0,0 +1,123 @@
+package de.soderer.dbexport.worker;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Part file of an output, which is split into multiple files by a maximum number of lines or bytes per file.
+ * The file is hashed by SHA-256 while it is written, so the manifest of all parts does not need to read them again.
+ */
+class OutputPart implements Closeable {
+	private final File file;
+	private final MessageDigest digest;
+	private PartOutputStream outputStream = null;
+	private long lines = 0;
+	private String checksum = null;
+
+	OutputPart(final File file) throws NoSuchAlgorithmException {
+		this.file = file;
+		digest = MessageDigest.getInstance("SHA-256");
+	}
+
+	File getFile() {
+		return file;
+	}
+
+	/**
+	 * Stream for the bytes of the part file, like a zip or compressed stream on top of it, which are hashed
+	 */
+	OutputStream openFileOutputStream() throws IOException {
+		return new DigestOutputStream(new FileOutputStream(file), digest);
+	}
+
+	/**
+	 * Stream for the writer of the worker, which counts the uncompressed data of the part.
+	 * The writers of some formats close their stream and some do not, so it may be closed more than once.
+	 */
+	OutputStream open(final OutputStream fileOutputStream) {
+		outputStream = new PartOutputStream(fileOutputStream);
+		return outputStream;
+	}
+
+	/**
+	 * Close the part file and calculate its checksum
+	 */
+	@Override
+	public void close() throws IOException {
+		if (outputStream != null) {
+			outputStream.close();
+			if (checksum == null) {
+				final StringBuilder checksumBuilder = new StringBuilder();
+				for (final byte checksumByte : digest.digest()) {
+					checksumBuilder.append(String.format("%02x", checksumByte & 0xFF));
+				}
+				checksum = checksumBuilder.toString();
+			}
+		}
+	}
+
+	void lineStarted() {
+		lines++;
+	}
+
+	long getLines() {
+		return lines;
+	}
+
+	/**
+	 * Size of the uncompressed data written into the part
+	 */
+	long getDataSize() {
+		return outputStream == null ? 0 : outputStream.count;
+	}
+
+	/**
+	 * Checks if the part reached the maximum number of lines or bytes, which are not checked, if they are 0
+	 */
+	boolean isFull(final long maximumLines, final long maximumBytes) {
+		return (maximumLines > 0 && lines >= maximumLines) || (maximumBytes > 0 && getDataSize() >= maximumBytes);
+	}
+
+	/**
+	 * SHA-256 of the part file as hex string, available after close
+	 */
+	String getChecksum() {
+		return checksum;
+	}
+
+	private static class PartOutputStream extends FilterOutputStream {
+		private long count = 0;
+		private boolean closed = false;
+
+		private PartOutputStream(final OutputStream outputStream) {
+			super(outputStream);
+		}
+
+		@Override
+		public void write(final int byteValue) throws IOException {
+			out.write(byteValue);
+			count++;
+		}
+
+		@Override
+		public void write(final byte[] data, final int offset, final int length) throws IOException {
+			out.write(data, offset, length);
+			count += length;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!closed) {
+				closed = true;
+				super.close();
+			}
+		}
+	}
+}
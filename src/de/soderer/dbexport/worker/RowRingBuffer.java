@@ -0,0 +1,124 @@
+package de.soderer.dbexport.worker;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded buffer of reusable row value arrays between one fetching and one writing thread.
+ * The fetching thread blocks while all rows are in use (backpressure), the writing thread blocks while no row is filled.
+ * Waiting times of both sides are counted to show which side limits the throughput.
+ */
+class RowRingBuffer {
+	private static final Object[] END_OF_DATA = new Object[0];
+
+	private final BlockingQueue<Object[]> freeRows;
+	private final BlockingQueue<Object[]> filledRows;
+	private volatile boolean aborted = false;
+
+	private final long startNanos = System.nanoTime();
+	private long fetchEndNanos = 0;
+	private long fetchedRows = 0;
+	private long fetchWaitNanos = 0;
+	private long writtenRows = 0;
+	private long writeWaitNanos = 0;
+
+	RowRingBuffer(final int capacity, final int columnCount) {
+		freeRows = new ArrayBlockingQueue<>(capacity);
+		filledRows = new ArrayBlockingQueue<>(capacity + 1);
+		for (int i = 0; i < capacity; i++) {
+			freeRows.add(new Object[columnCount]);
+		}
+	}
+
+	/**
+	 * Get an unused row for the fetching side. Returns null, if the buffer was aborted by the writing side.
+	 */
+	Object[] takeFreeRow() throws InterruptedException {
+		final long waitStartNanos = System.nanoTime();
+		try {
+			while (!aborted) {
+				final Object[] row = freeRows.poll(100, TimeUnit.MILLISECONDS);
+				if (row != null) {
+					return row;
+				}
+			}
+			return null;
+		} finally {
+			fetchWaitNanos += System.nanoTime() - waitStartNanos;
+		}
+	}
+
+	void putFilledRow(final Object[] row) throws InterruptedException {
+		fetchedRows++;
+		filledRows.put(row);
+	}
+
+	/**
+	 * Signal the writing side, that no more rows will be fetched
+	 */
+	void closeInput() {
+		fetchEndNanos = System.nanoTime();
+		try {
+			filledRows.put(END_OF_DATA);
+		} catch (@SuppressWarnings("unused") final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Get the next filled row for the writing side. Returns null after the last row.
+	 */
+	Object[] takeFilledRow() throws InterruptedException {
+		final long waitStartNanos = System.nanoTime();
+		final Object[] row = filledRows.take();
+		writeWaitNanos += System.nanoTime() - waitStartNanos;
+		if (row == END_OF_DATA) {
+			return null;
+		} else {
+			return row;
+		}
+	}
+
+	void recycleRow(final Object[] row) {
+		writtenRows++;
+		freeRows.offer(row);
+	}
+
+	/**
+	 * Stop the fetching side, e.g. after an error or cancel on the writing side
+	 */
+	void abort() {
+		aborted = true;
+	}
+
+	long getFetchedRows() {
+		return fetchedRows;
+	}
+
+	long getWrittenRows() {
+		return writtenRows;
+	}
+
+	/**
+	 * Time the fetching side was busy (not waiting for free rows)
+	 */
+	long getFetchBusyMillis() {
+		return TimeUnit.NANOSECONDS.toMillis((fetchEndNanos > 0 ? fetchEndNanos : System.nanoTime()) - startNanos - fetchWaitNanos);
+	}
+
+	long getFetchWaitMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(fetchWaitNanos);
+	}
+
+	/**
+	 * Time the writing side was busy (not waiting for filled rows)
+	 */
+	long getWriteBusyMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos - writeWaitNanos);
+	}
+
+	long getWriteWaitMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(writeWaitNanos);
+	}
+}
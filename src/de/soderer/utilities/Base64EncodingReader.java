@@ -0,0 +1,135 @@
+package de.soderer.utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Reader delivering the Base64 encoding (RFC 4648, with padding and without line breaks) of the data of an InputStream.
+ * The data is read and encoded in chunks, so the memory needed does not depend on the size of the data.
+ * Same output as Base64.getEncoder().encodeToString(data).
+ *
+ * Closing this reader closes the InputStream.
+ */
+public class Base64EncodingReader extends Reader {
+	private static final char[] BASE64_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+	private static final char PADDING_CHARACTER = '=';
+
+	/** Number of 3 byte groups read from the InputStream at once */
+	private static final int GROUPS_PER_CHUNK = 4096;
+
+	private InputStream inputStream;
+	private final byte[] inputBuffer = new byte[3 * GROUPS_PER_CHUNK];
+	private int inputLength = 0;
+	private boolean endOfInput = false;
+
+	private final char[] outputBuffer = new char[4 * GROUPS_PER_CHUNK];
+	private int outputPosition = 0;
+	private int outputLength = 0;
+
+	private long readBytes = 0;
+
+	public Base64EncodingReader(final InputStream inputStream) {
+		if (inputStream == null) {
+			throw new IllegalArgumentException("InputStream is null");
+		}
+		this.inputStream = inputStream;
+	}
+
+	/**
+	 * Check whether a character may be part of the output
+	 */
+	public static boolean isBase64Character(final char character) {
+		return (character >= 'A' && character <= 'Z')
+				|| (character >= 'a' && character <= 'z')
+				|| (character >= '0' && character <= '9')
+				|| character == '+'
+				|| character == '/'
+				|| character == PADDING_CHARACTER;
+	}
+
+	/**
+	 * Number of bytes read from the InputStream until now
+	 */
+	public long getReadBytes() {
+		return readBytes;
+	}
+
+	@Override
+	public int read(final char[] characters, final int offset, final int length) throws IOException {
+		ensureOpen();
+		if (length == 0) {
+			return 0;
+		} else if (outputPosition == outputLength && !encodeNextChunk()) {
+			return -1;
+		} else {
+			final int copyLength = Math.min(length, outputLength - outputPosition);
+			System.arraycopy(outputBuffer, outputPosition, characters, offset, copyLength);
+			outputPosition += copyLength;
+			return copyLength;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (inputStream != null) {
+			try {
+				inputStream.close();
+			} finally {
+				inputStream = null;
+			}
+		}
+	}
+
+	/**
+	 * Read the next chunk of data and encode all its complete 3 byte groups. At the end of the data the remaining bytes are encoded with padding.
+	 *
+	 * @return false if there is no more output
+	 */
+	private boolean encodeNextChunk() throws IOException {
+		while (!endOfInput && inputLength < inputBuffer.length) {
+			final int lengthRead = inputStream.read(inputBuffer, inputLength, inputBuffer.length - inputLength);
+			if (lengthRead < 0) {
+				endOfInput = true;
+			} else {
+				inputLength += lengthRead;
+				readBytes += lengthRead;
+			}
+		}
+
+		outputPosition = 0;
+		outputLength = 0;
+		final int groupsLength = inputLength - inputLength % 3;
+		int inputPosition = 0;
+		while (inputPosition < groupsLength) {
+			final int bits = (inputBuffer[inputPosition++] & 0xFF) << 16 | (inputBuffer[inputPosition++] & 0xFF) << 8 | (inputBuffer[inputPosition++] & 0xFF);
+			outputBuffer[outputLength++] = BASE64_CHARACTERS[bits >>> 18];
+			outputBuffer[outputLength++] = BASE64_CHARACTERS[(bits >>> 12) & 0x3F];
+			outputBuffer[outputLength++] = BASE64_CHARACTERS[(bits >>> 6) & 0x3F];
+			outputBuffer[outputLength++] = BASE64_CHARACTERS[bits & 0x3F];
+		}
+
+		final int remainingLength = inputLength - groupsLength;
+		if (remainingLength > 0 && endOfInput) {
+			final int bits = (inputBuffer[inputPosition] & 0xFF) << 16 | (remainingLength == 2 ? (inputBuffer[inputPosition + 1] & 0xFF) << 8 : 0);
+			outputBuffer[outputLength++] = BASE64_CHARACTERS[bits >>> 18];
+			outputBuffer[outputLength++] = BASE64_CHARACTERS[(bits >>> 12) & 0x3F];
+			outputBuffer[outputLength++] = remainingLength == 2 ? BASE64_CHARACTERS[(bits >>> 6) & 0x3F] : PADDING_CHARACTER;
+			outputBuffer[outputLength++] = PADDING_CHARACTER;
+			inputLength = 0;
+		} else {
+			// Keep the incomplete group for the next chunk
+			System.arraycopy(inputBuffer, groupsLength, inputBuffer, 0, remainingLength);
+			inputLength = remainingLength;
+		}
+
+		return outputLength > 0;
+	}
+
+	private void ensureOpen() throws IOException {
+		if (inputStream == null) {
+			throw new IOException("Base64EncodingReader is already closed");
+		}
+	}
+}
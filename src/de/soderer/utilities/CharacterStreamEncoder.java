@@ -0,0 +1,78 @@
+package de.soderer.utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Encoder of character streams into byte streams, which reuses its CharsetEncoder and buffers for all copied streams.
+ * Surrogate pairs split between chunks are kept intact. Malformed and unmappable characters are replaced like String.getBytes(encoding) does.
+ *
+ * Instances are not thread-safe.
+ */
+public class CharacterStreamEncoder {
+	private static final int BUFFER_SIZE = 8192;
+
+	private final CharsetEncoder encoder;
+	private final CharBuffer charBuffer = CharBuffer.allocate(BUFFER_SIZE);
+	private final ByteBuffer byteBuffer;
+
+	public CharacterStreamEncoder(final Charset encoding) {
+		encoder = encoding.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		byteBuffer = ByteBuffer.allocate((int) Math.ceil(BUFFER_SIZE * encoder.maxBytesPerChar()));
+	}
+
+	/**
+	 * Copy all characters of the reader encoded into the output stream. Neither the reader nor the output stream is closed.
+	 *
+	 * @return number of characters copied
+	 */
+	public long copy(final Reader reader, final OutputStream outputStream) throws IOException {
+		encoder.reset();
+		charBuffer.clear();
+		byteBuffer.clear();
+		final char[] characters = charBuffer.array();
+		long charactersCopied = 0;
+		boolean endOfInput = false;
+		while (!endOfInput) {
+			final int lengthRead = reader.read(characters, charBuffer.position(), charBuffer.remaining());
+			if (lengthRead < 0) {
+				endOfInput = true;
+			} else {
+				charBuffer.position(charBuffer.position() + lengthRead);
+				charactersCopied += lengthRead;
+			}
+
+			charBuffer.flip();
+			CoderResult result;
+			while ((result = encoder.encode(charBuffer, byteBuffer, endOfInput)).isOverflow()) {
+				writeBytes(outputStream);
+			}
+			if (result.isError()) {
+				result.throwException();
+			}
+			// A high surrogate at the end of the chunk stays in the buffer until its low surrogate was read
+			charBuffer.compact();
+		}
+
+		while (encoder.flush(byteBuffer).isOverflow()) {
+			writeBytes(outputStream);
+		}
+		writeBytes(outputStream);
+		outputStream.flush();
+		return charactersCopied;
+	}
+
+	private void writeBytes(final OutputStream outputStream) throws IOException {
+		if (byteBuffer.position() > 0) {
+			outputStream.write(byteBuffer.array(), 0, byteBuffer.position());
+			byteBuffer.clear();
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package de.soderer.utilities;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class CountingOutputStream extends FilterOutputStream {
+	private long count;
+
+	public CountingOutputStream(final OutputStream out) {
+		super(out);
+		count = 0;
+	}
+
+	public long getByteCount() {
+		return count;
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		out.write(b);
+		count++;
+	}
+
+	@Override
+	public void write(final byte[] bts, final int off, final int len) throws IOException {
+		out.write(bts, off, len);
+		count += len;
+	}
+}
@@ -25,7 +25,9 @@ import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public class DateUtilities {
@@ -67,6 +69,41 @@ public class DateUtilities {
 	/** ANSI SQL standard date format */
 	public static final String ANSI_SQL_DATE_FORMAT = "yyyy-MM-dd";
 
+	/** Maximum number of cached formatters, the cache is cleared when exceeded to protect against generated patterns */
+	private static final int FORMATTER_CACHE_LIMIT = 1000;
+
+	/** DateTimeFormatters by pattern, locale and zone */
+	private static final ConcurrentHashMap<FormatterCacheKey, DateTimeFormatter> FORMATTER_CACHE = new ConcurrentHashMap<>();
+
+	private static final class FormatterCacheKey {
+		private final String pattern;
+		private final Locale locale;
+		private final ZoneId zoneId;
+
+		private FormatterCacheKey(final String pattern, final Locale locale, final ZoneId zoneId) {
+			this.pattern = pattern;
+			this.locale = locale;
+			this.zoneId = zoneId;
+		}
+
+		@Override
+		public boolean equals(final Object other) {
+			if (this == other) {
+				return true;
+			} else if (!(other instanceof FormatterCacheKey)) {
+				return false;
+			} else {
+				final FormatterCacheKey otherKey = (FormatterCacheKey) other;
+				return pattern.equals(otherKey.pattern) && Objects.equals(locale, otherKey.locale) && Objects.equals(zoneId, otherKey.zoneId);
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(pattern, locale, zoneId);
+		}
+	}
+
 	public static String getWeekdayNameShort(final GregorianCalendar date) {
 		final int dayInt = date.get(Calendar.DAY_OF_WEEK);
 		final String dayString = DateFormatSymbols.getInstance().getWeekdays()[dayInt];
@@ -1128,11 +1165,40 @@ public class DateUtilities {
 		return dateTimeFormatter;
 	}
 
+	/**
+	 * Get a DateTimeFormatter for a pattern from a cache, so the pattern is only compiled once
+	 *
+	 * @param pattern
+	 * @param locale
+	 *            Locale of the formatter or null for the default locale
+	 * @param zoneId
+	 *            Override zone of the formatter or null for none
+	 */
+	public static DateTimeFormatter getCachedDateTimeFormatter(final String pattern, final Locale locale, final ZoneId zoneId) {
+		final FormatterCacheKey cacheKey = new FormatterCacheKey(pattern, locale, zoneId);
+		DateTimeFormatter dateTimeFormatter = FORMATTER_CACHE.get(cacheKey);
+		if (dateTimeFormatter == null) {
+			dateTimeFormatter = DateTimeFormatter.ofPattern(pattern);
+			if (locale != null) {
+				dateTimeFormatter = dateTimeFormatter.withLocale(locale);
+			}
+			if (zoneId != null) {
+				dateTimeFormatter = dateTimeFormatter.withZone(zoneId);
+			}
+			if (FORMATTER_CACHE.size() >= FORMATTER_CACHE_LIMIT) {
+				FORMATTER_CACHE.clear();
+			}
+			FORMATTER_CACHE.put(cacheKey, dateTimeFormatter);
+		}
+		return dateTimeFormatter;
+	}
+
 	public static String formatDate(final String format, final ZonedDateTime date) {
 		if (date == null) {
 			return null;
 		} else {
-			return DateTimeFormatter.ofPattern(format).format(date);
+			final String formattedDate = formatFixedPattern(format, date.toLocalDate(), date.toLocalTime(), date.getOffset());
+			return formattedDate != null ? formattedDate : getCachedDateTimeFormatter(format, null, null).format(date);
 		}
 	}
 
@@ -1140,7 +1206,7 @@ public class DateUtilities {
 		if (date == null) {
 			return null;
 		} else {
-			return DateTimeFormatter.ofPattern(format).format(getLocalDateTimeForDate(date));
+			return formatDate(format, getLocalDateTimeForDate(date));
 		}
 	}
 
@@ -1148,7 +1214,8 @@ public class DateUtilities {
 		if (date == null) {
 			return null;
 		} else {
-			return DateTimeFormatter.ofPattern(format).format(date);
+			final String formattedDate = formatFixedPattern(format, date.toLocalDate(), date.toLocalTime(), null);
+			return formattedDate != null ? formattedDate : getCachedDateTimeFormatter(format, null, null).format(date);
 		}
 	}
 
@@ -1156,7 +1223,8 @@ public class DateUtilities {
 		if (date == null) {
 			return null;
 		} else {
-			return DateTimeFormatter.ofPattern(format).format(date);
+			final String formattedDate = formatFixedPattern(format, date, null, null);
+			return formattedDate != null ? formattedDate : getCachedDateTimeFormatter(format, null, null).format(date);
 		}
 	}
 
@@ -1164,7 +1232,7 @@ public class DateUtilities {
 		if (date == null) {
 			return null;
 		} else {
-			return DateTimeFormatter.ofPattern(format).withLocale(locale).withZone(zoneId).format(getLocalDateTimeForDate(date));
+			return formatDate(format, getLocalDateTimeForDate(date), locale, zoneId);
 		}
 	}
 
@@ -1172,7 +1240,9 @@ public class DateUtilities {
 		if (date == null) {
 			return null;
 		} else {
-			return DateTimeFormatter.ofPattern(format).withLocale(locale).withZone(zoneId).format(date);
+			// The fixed patterns are independent of the locale and a LocalDateTime is not converted by the override zone
+			final String formattedDate = formatFixedPattern(format, date.toLocalDate(), date.toLocalTime(), null);
+			return formattedDate != null ? formattedDate : getCachedDateTimeFormatter(format, locale, zoneId).format(date);
 		}
 	}
 
@@ -1180,7 +1250,8 @@ public class DateUtilities {
 		if (date == null) {
 			return null;
 		} else {
-			return DateTimeFormatter.ofPattern(format).withLocale(locale).withZone(zoneId).format(date);
+			final String formattedDate = formatFixedPattern(format, date, null, null);
+			return formattedDate != null ? formattedDate : getCachedDateTimeFormatter(format, locale, zoneId).format(date);
 		}
 	}
 
@@ -1188,24 +1259,129 @@ public class DateUtilities {
 		if (date == null) {
 			return null;
 		} else {
-			return DateTimeFormatter.ofPattern(format).withZone(zoneId).format(getLocalDateTimeForDate(date));
+			return formatDate(format, getLocalDateTimeForDate(date), null, zoneId);
 		}
 	}
 
 	public static String formatDate(final String format, final LocalDateTime date, final ZoneId zoneId) {
+		return formatDate(format, date, null, zoneId);
+	}
+
+	public static String formatDate(final String format, final ZonedDateTime date, final ZoneId zoneId) {
 		if (date == null) {
 			return null;
+		} else if (zoneId == null) {
+			return formatDate(format, date);
 		} else {
-			return DateTimeFormatter.ofPattern(format).withZone(zoneId).format(date);
+			// The override zone of a DateTimeFormatter converts values with an instant into that zone
+			return formatDate(format, date.withZoneSameInstant(zoneId));
 		}
 	}
 
-	public static String formatDate(final String format, final ZonedDateTime date, final ZoneId zoneId) {
-		if (date == null) {
+	/**
+	 * Hand written formatting of the fixed ISO 8601 and ANSI SQL patterns, which are used for every exported date value.
+	 * Returns null for all other patterns, for missing time or offset values and for years, which are not written with exactly 4 digits.
+	 *
+	 * @param time
+	 *            null for date only values
+	 * @param offset
+	 *            null for values without an offset
+	 */
+	private static String formatFixedPattern(final String format, final LocalDate date, final LocalTime time, final ZoneOffset offset) {
+		final boolean withTime;
+		final char dateTimeSeparator;
+		final boolean withNanos;
+		final boolean withOffset;
+		switch (format) {
+			case "yyyy-MM-dd":
+				withTime = false;
+				dateTimeSeparator = 0;
+				withNanos = false;
+				withOffset = false;
+				break;
+			case "yyyy-MM-dd HH:mm:ss":
+				withTime = true;
+				dateTimeSeparator = ' ';
+				withNanos = false;
+				withOffset = false;
+				break;
+			case "yyyy-MM-dd'T'HH:mm:ss":
+				withTime = true;
+				dateTimeSeparator = 'T';
+				withNanos = false;
+				withOffset = false;
+				break;
+			case "yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS":
+				withTime = true;
+				dateTimeSeparator = 'T';
+				withNanos = true;
+				withOffset = false;
+				break;
+			case "yyyy-MM-dd'T'HH:mm:ssX":
+				withTime = true;
+				dateTimeSeparator = 'T';
+				withNanos = false;
+				withOffset = true;
+				break;
+			case "yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSSX":
+				withTime = true;
+				dateTimeSeparator = 'T';
+				withNanos = true;
+				withOffset = true;
+				break;
+			default:
+				return null;
+		}
+
+		final int year = date.getYear();
+		if (year < 1 || year > 9999 || (withTime && time == null) || (withOffset && offset == null)) {
 			return null;
-		} else {
-			return DateTimeFormatter.ofPattern(format).withZone(zoneId).format(date);
 		}
+
+		final char[] buffer = new char[35];
+		int position = writeDigits(buffer, 0, year, 4);
+		buffer[position++] = '-';
+		position = writeDigits(buffer, position, date.getMonthValue(), 2);
+		buffer[position++] = '-';
+		position = writeDigits(buffer, position, date.getDayOfMonth(), 2);
+		if (withTime) {
+			buffer[position++] = dateTimeSeparator;
+			position = writeDigits(buffer, position, time.getHour(), 2);
+			buffer[position++] = ':';
+			position = writeDigits(buffer, position, time.getMinute(), 2);
+			buffer[position++] = ':';
+			position = writeDigits(buffer, position, time.getSecond(), 2);
+			if (withNanos) {
+				buffer[position++] = '.';
+				position = writeDigits(buffer, position, time.getNano(), 9);
+			}
+			if (withOffset) {
+				// Pattern letter "X": "Z" for UTC, otherwise hours and only non zero minutes
+				final int offsetSeconds = offset.getTotalSeconds();
+				if (offsetSeconds == 0) {
+					buffer[position++] = 'Z';
+				} else {
+					final int absoluteOffsetMinutes = Math.abs(offsetSeconds) / 60;
+					buffer[position++] = offsetSeconds < 0 ? '-' : '+';
+					position = writeDigits(buffer, position, absoluteOffsetMinutes / 60, 2);
+					if (absoluteOffsetMinutes % 60 != 0) {
+						position = writeDigits(buffer, position, absoluteOffsetMinutes % 60, 2);
+					}
+				}
+			}
+		}
+		return new String(buffer, 0, position);
+	}
+
+	/**
+	 * Write a non negative number with leading zeros
+	 */
+	private static int writeDigits(final char[] buffer, final int position, int value, final int digits) {
+		for (int i = position + digits - 1; i >= position; i--) {
+			buffer[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		return position + digits;
 	}
 
 	public static LocalDate parseLocalDate(final String dateFormatPattern, final String dateString) {
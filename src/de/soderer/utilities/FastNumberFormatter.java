@@ -0,0 +1,181 @@
+package de.soderer.utilities;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+
+/**
+ * Formatter for numbers, which appends the digits directly to a StringBuilder.
+ *
+ * Without decimal separator it produces the same output as the given NumberFormat, which must not use grouping.
+ * Integer values, doubles and BigDecimals are formatted by hand, as long as the NumberFormat is a plain DecimalFormat with rounding mode HALF_EVEN,
+ * all other values and formats are delegated to the NumberFormat.
+ * With decimal separator it produces the same output as NumberUtilities.formatNumber(value, decimalSeparator, null).
+ *
+ * Instances are not thread-safe.
+ */
+public class FastNumberFormatter {
+	/** Doubles with a smaller absolute value and no fraction are formatted as long values */
+	private static final double MAXIMUM_INTEGRAL_DOUBLE = 1e15;
+
+	private final NumberFormat numberFormat;
+	private final Character decimalSeparator;
+	private final char formatDecimalSeparator;
+	private final int maximumFractionDigits;
+	private final boolean handFormatted;
+
+	/** Reusable buffers for values delegated to the NumberFormat */
+	private final StringBuffer fallbackBuffer = new StringBuffer();
+	private final FieldPosition fallbackFieldPosition = new FieldPosition(0);
+
+	/**
+	 * @param numberFormat
+	 *            Format without grouping, used if no decimal separator is set
+	 * @param decimalSeparator
+	 *            Decimal separator replacing the '.' of the values toString() output, or null to use the numberFormat
+	 */
+	public FastNumberFormatter(final NumberFormat numberFormat, final Character decimalSeparator) {
+		this.numberFormat = numberFormat;
+		this.decimalSeparator = decimalSeparator;
+		if (decimalSeparator == null && numberFormat instanceof DecimalFormat && isPlainDecimalFormat((DecimalFormat) numberFormat)) {
+			handFormatted = true;
+			formatDecimalSeparator = ((DecimalFormat) numberFormat).getDecimalFormatSymbols().getDecimalSeparator();
+			maximumFractionDigits = numberFormat.getMaximumFractionDigits();
+		} else {
+			handFormatted = false;
+			formatDecimalSeparator = '.';
+			maximumFractionDigits = 0;
+		}
+	}
+
+	/**
+	 * Check that the output of a DecimalFormat only consists of an optional '-', the latin integer digits and the fraction digits with trailing zeros removed
+	 */
+	private static boolean isPlainDecimalFormat(final DecimalFormat decimalFormat) {
+		final DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+		return !decimalFormat.isGroupingUsed()
+				&& !decimalFormat.isDecimalSeparatorAlwaysShown()
+				&& !decimalFormat.isParseBigDecimal()
+				&& decimalFormat.getRoundingMode() == RoundingMode.HALF_EVEN
+				&& decimalFormat.getMultiplier() == 1
+				&& decimalFormat.getMinimumIntegerDigits() == 1
+				&& decimalFormat.getMaximumIntegerDigits() >= 309
+				&& decimalFormat.getMinimumFractionDigits() == 0
+				&& decimalFormat.getMaximumFractionDigits() <= 18
+				&& "".equals(decimalFormat.getPositivePrefix())
+				&& "".equals(decimalFormat.getPositiveSuffix())
+				&& "-".equals(decimalFormat.getNegativePrefix())
+				&& "".equals(decimalFormat.getNegativeSuffix())
+				&& symbols.getZeroDigit() == '0'
+				&& !decimalFormat.toPattern().contains("E");
+	}
+
+	public String format(final Number value) {
+		final StringBuilder output = new StringBuilder(24);
+		format(value, output);
+		return output.toString();
+	}
+
+	public void format(final Number value, final StringBuilder output) {
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			format(value.longValue(), output);
+		} else if (value instanceof Double || (handFormatted && value instanceof Float)) {
+			// DecimalFormat formats floats by their double value
+			format(value.doubleValue(), output);
+		} else if (value instanceof BigDecimal && handFormatted) {
+			formatBigDecimal((BigDecimal) value, output);
+		} else if (value instanceof BigInteger && handFormatted) {
+			output.append(value.toString());
+		} else if (decimalSeparator != null) {
+			appendReplacingDecimalSeparator(value.toString(), output);
+		} else {
+			appendFormatted(value, output);
+		}
+	}
+
+	public void format(final long value, final StringBuilder output) {
+		if (decimalSeparator != null || handFormatted) {
+			output.append(value);
+		} else {
+			appendFormatted(value, output);
+		}
+	}
+
+	public void format(final double value, final StringBuilder output) {
+		if (decimalSeparator != null) {
+			final int start = output.length();
+			output.append(value);
+			if (decimalSeparator != '.') {
+				final int separatorIndex = output.indexOf(".", start);
+				if (separatorIndex >= 0) {
+					output.setCharAt(separatorIndex, decimalSeparator);
+				}
+			}
+		} else if (!handFormatted || Double.isNaN(value) || Double.isInfinite(value) || (value == 0.0 && 1 / value < 0)) {
+			appendFormatted(value, output);
+		} else if (value == Math.rint(value) && Math.abs(value) < MAXIMUM_INTEGRAL_DOUBLE) {
+			output.append((long) value);
+		} else {
+			// DecimalFormat rounds the shortest decimal digits of a double (see Double.toString) and only uses the exact binary value to decide ties
+			BigDecimal shortestValue = BigDecimal.valueOf(value);
+			if (shortestValue.scale() > maximumFractionDigits) {
+				shortestValue = shortestValue.stripTrailingZeros();
+				// A single digit 5 after the last fraction digit (like 0.0005) is rounded down by DecimalFormat
+				if (shortestValue.scale() == maximumFractionDigits + 1 && shortestValue.precision() > 1 && shortestValue.unscaledValue().abs().remainder(BigInteger.TEN).intValue() == 5) {
+					shortestValue = new BigDecimal(value);
+				}
+			}
+			formatBigDecimal(shortestValue, output);
+		}
+	}
+
+	private void formatBigDecimal(final BigDecimal value, final StringBuilder output) {
+		final BigDecimal roundedValue = value.scale() > maximumFractionDigits ? value.setScale(maximumFractionDigits, RoundingMode.HALF_EVEN) : value;
+		if (roundedValue.signum() == 0) {
+			// DecimalFormat keeps the sign of negative values rounded to zero
+			output.append(value.signum() < 0 ? "-0" : "0");
+			return;
+		}
+
+		final String plainString = roundedValue.toPlainString();
+		final int separatorIndex = plainString.indexOf('.');
+		if (separatorIndex < 0) {
+			output.append(plainString);
+		} else {
+			int end = plainString.length();
+			while (plainString.charAt(end - 1) == '0') {
+				end--;
+			}
+			if (end - 1 == separatorIndex) {
+				output.append(plainString, 0, separatorIndex);
+			} else {
+				output.append(plainString, 0, separatorIndex).append(formatDecimalSeparator).append(plainString, separatorIndex + 1, end);
+			}
+		}
+	}
+
+	private void appendReplacingDecimalSeparator(final String numberString, final StringBuilder output) {
+		if (decimalSeparator == '.') {
+			output.append(numberString);
+		} else {
+			for (int i = 0; i < numberString.length(); i++) {
+				final char character = numberString.charAt(i);
+				if (character == '.') {
+					output.append(decimalSeparator.charValue());
+				} else if (character != ',') {
+					output.append(character);
+				}
+			}
+		}
+	}
+
+	private void appendFormatted(final Object value, final StringBuilder output) {
+		fallbackBuffer.setLength(0);
+		numberFormat.format(value, fallbackBuffer, fallbackFieldPosition);
+		output.append(fallbackBuffer);
+	}
+}
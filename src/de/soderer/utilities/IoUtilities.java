@@ -36,15 +36,6 @@ public class IoUtilities {
 	}
 
 	public static long copy(final Reader inputReader, final OutputStream outputStream, final Charset encoding) throws IOException {
-		final char[] buffer = new char[4096];
-		int lengthRead = -1;
-		long bytesCopied = 0;
-		while ((lengthRead = inputReader.read(buffer)) > -1) {
-			final String data = new String(buffer, 0, lengthRead);
-			outputStream.write(data.getBytes(encoding));
-			bytesCopied += lengthRead;
-		}
-		outputStream.flush();
-		return bytesCopied;
+		return new CharacterStreamEncoder(encoding).copy(inputReader, outputStream);
 	}
 }
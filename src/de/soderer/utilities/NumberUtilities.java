@@ -42,6 +42,21 @@ public class NumberUtilities {
 		}
 	}
 
+	/**
+	 * Check for a long value without decimals
+	 *
+	 * @param value
+	 * @return
+	 */
+	public static boolean isLong(final String value) {
+		try {
+			Long.parseLong(value);
+			return true;
+		} catch (@SuppressWarnings("unused") final NumberFormatException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Check for a double value with optional decimals after a dot(.) and exponent
 	 *
@@ -142,6 +157,36 @@ public class NumberUtilities {
 		return Pattern.matches("0(x|X)[0-9A-Fa-f]+", numberString);
 	}
 
+	/**
+	 * Check for a data size like "512", "64K", "16M" or "2G" (binary units, optional trailing "B")
+	 */
+	public static boolean isDataSize(final String dataSizeString) {
+		return dataSizeString != null && Pattern.matches("[0-9]+ *([KkMmGg]?[Bb]?)", dataSizeString.trim());
+	}
+
+	public static long parseDataSize(final String dataSizeString) throws NumberFormatException {
+		if (!isDataSize(dataSizeString)) {
+			throw new NumberFormatException("Not a data size: '" + dataSizeString + "'");
+		} else {
+			String value = dataSizeString.trim().toUpperCase();
+			if (value.endsWith("B")) {
+				value = value.substring(0, value.length() - 1);
+			}
+			long factor = 1;
+			if (value.endsWith("K")) {
+				factor = 1024L;
+			} else if (value.endsWith("M")) {
+				factor = 1024L * 1024;
+			} else if (value.endsWith("G")) {
+				factor = 1024L * 1024 * 1024;
+			}
+			if (factor > 1) {
+				value = value.substring(0, value.length() - 1);
+			}
+			return Long.parseLong(value.trim()) * factor;
+		}
+	}
+
 	public static Number parseHexNumber(final String hexNumberString) throws NumberFormatException {
 		if (!isHexNumber(hexNumberString)) {
 			throw new NumberFormatException("Not a hex number: '" + hexNumberString + "'");
@@ -0,0 +1,216 @@
+package de.soderer.utilities;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writer encoding its characters directly into a large reusable byte buffer.
+ * Supports UTF-8 and the ASCII compatible single byte charsets US-ASCII and ISO-8859-1 (unmappable characters are written as '?').
+ * The buffer is written to a FileChannel for file output, otherwise to the OutputStream, only when it is full or flushed.
+ *
+ * Use createWriter(...) to get a writer for any charset, which falls back to the standard jdk writers for other charsets.
+ */
+public class OutputSink extends Writer {
+	public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+	/** Minimum buffer size, so at least one encoded character always fits */
+	private static final int MINIMUM_BUFFER_SIZE = 1024;
+
+	private final OutputStream outputStream;
+	private final FileChannel fileChannel;
+	private final boolean utf8;
+	private final char maximumSingleByteCharacter;
+	private final byte[] buffer;
+	private final ByteBuffer byteBuffer;
+	private int position = 0;
+	private char pendingHighSurrogate = 0;
+	private boolean closed = false;
+
+	/**
+	 * Create a writer for the given charset. For UTF-8, US-ASCII and ISO-8859-1 this is an OutputSink, otherwise a buffered jdk writer.
+	 */
+	public static Writer createWriter(final OutputStream outputStream, final Charset encoding, final int bufferSize) {
+		if (isSupportedEncoding(encoding)) {
+			return new OutputSink(outputStream, encoding, bufferSize);
+		} else {
+			return new BufferedWriter(new OutputStreamWriter(outputStream, encoding), Math.max(MINIMUM_BUFFER_SIZE, bufferSize));
+		}
+	}
+
+	public static boolean isSupportedEncoding(final Charset encoding) {
+		return StandardCharsets.UTF_8.equals(encoding) || StandardCharsets.US_ASCII.equals(encoding) || StandardCharsets.ISO_8859_1.equals(encoding);
+	}
+
+	public OutputSink(final OutputStream outputStream, final Charset encoding, final int bufferSize) {
+		if (outputStream == null) {
+			throw new IllegalArgumentException("OutputStream is null");
+		} else if (!isSupportedEncoding(encoding)) {
+			throw new IllegalArgumentException("Unsupported encoding for OutputSink: " + encoding);
+		}
+
+		this.outputStream = outputStream;
+		if (outputStream instanceof FileOutputStream) {
+			fileChannel = ((FileOutputStream) outputStream).getChannel();
+		} else {
+			fileChannel = null;
+		}
+		utf8 = StandardCharsets.UTF_8.equals(encoding);
+		maximumSingleByteCharacter = StandardCharsets.US_ASCII.equals(encoding) ? (char) 0x7F : (char) 0xFF;
+		buffer = new byte[Math.max(MINIMUM_BUFFER_SIZE, bufferSize)];
+		byteBuffer = ByteBuffer.wrap(buffer);
+	}
+
+	@Override
+	public void write(final int character) throws IOException {
+		ensureOpen();
+		if (buffer.length - position < 4) {
+			writeBuffer();
+		}
+		encode((char) character);
+	}
+
+	@Override
+	public void write(final char[] characters, final int offset, final int length) throws IOException {
+		ensureOpen();
+		final int end = offset + length;
+		int index = offset;
+		while (index < end) {
+			// Encode as many characters as surely fit into the buffer without further checks
+			final int chunkEnd = Math.min(end, index + (buffer.length - position) / 4);
+			if (chunkEnd == index) {
+				writeBuffer();
+			} else {
+				while (index < chunkEnd) {
+					final char character = characters[index++];
+					if (character < 0x80 && pendingHighSurrogate == 0) {
+						buffer[position++] = (byte) character;
+					} else {
+						encode(character);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public void write(final String text, final int offset, final int length) throws IOException {
+		ensureOpen();
+		final int end = offset + length;
+		int index = offset;
+		while (index < end) {
+			// Encode as many characters as surely fit into the buffer without further checks
+			final int chunkEnd = Math.min(end, index + (buffer.length - position) / 4);
+			if (chunkEnd == index) {
+				writeBuffer();
+			} else {
+				while (index < chunkEnd) {
+					final char character = text.charAt(index++);
+					if (character < 0x80 && pendingHighSurrogate == 0) {
+						buffer[position++] = (byte) character;
+					} else {
+						encode(character);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		writeBuffer();
+		outputStream.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			try {
+				if (pendingHighSurrogate != 0) {
+					pendingHighSurrogate = 0;
+					if (position == buffer.length) {
+						writeBuffer();
+					}
+					buffer[position++] = '?';
+				}
+				writeBuffer();
+				outputStream.flush();
+			} finally {
+				closed = true;
+				outputStream.close();
+			}
+		}
+	}
+
+	/**
+	 * Encode a single character. There must be at least 4 bytes free in the buffer.
+	 */
+	private void encode(final char character) {
+		if (pendingHighSurrogate != 0) {
+			final char highSurrogate = pendingHighSurrogate;
+			pendingHighSurrogate = 0;
+			if (Character.isLowSurrogate(character)) {
+				if (utf8) {
+					final int codePoint = Character.toCodePoint(highSurrogate, character);
+					buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+					buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+					buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+					buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+				} else {
+					buffer[position++] = '?';
+				}
+				return;
+			} else {
+				// Unpaired high surrogate. It used no bytes yet, so the remaining 3 bytes are enough for the following character
+				buffer[position++] = '?';
+			}
+		}
+
+		if (Character.isHighSurrogate(character)) {
+			pendingHighSurrogate = character;
+		} else if (Character.isLowSurrogate(character)) {
+			// Unpaired low surrogate
+			buffer[position++] = '?';
+		} else if (character < 0x80) {
+			buffer[position++] = (byte) character;
+		} else if (!utf8) {
+			buffer[position++] = character <= maximumSingleByteCharacter ? (byte) character : (byte) '?';
+		} else if (character < 0x800) {
+			buffer[position++] = (byte) (0xC0 | (character >> 6));
+			buffer[position++] = (byte) (0x80 | (character & 0x3F));
+		} else {
+			buffer[position++] = (byte) (0xE0 | (character >> 12));
+			buffer[position++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+			buffer[position++] = (byte) (0x80 | (character & 0x3F));
+		}
+	}
+
+	private void writeBuffer() throws IOException {
+		if (position > 0) {
+			if (fileChannel != null) {
+				byteBuffer.clear();
+				byteBuffer.limit(position);
+				while (byteBuffer.hasRemaining()) {
+					fileChannel.write(byteBuffer);
+				}
+			} else {
+				outputStream.write(buffer, 0, position);
+			}
+			position = 0;
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("OutputSink is already closed");
+		}
+	}
+}
@@ -1288,9 +1288,10 @@ public class Utilities {
 
 	public static Object toString(final Reader characterStream) throws IOException {
 		final StringBuilder returnValue = new StringBuilder();
-		int characterInt;
-		while ((characterInt = characterStream.read()) > -1) {
-			returnValue.append((char) characterInt);
+		final char[] buffer = new char[4096];
+		int lengthRead;
+		while ((lengthRead = characterStream.read(buffer)) > -1) {
+			returnValue.append(buffer, 0, lengthRead);
 		}
 		return returnValue.toString();
 	}
@@ -0,0 +1,166 @@
+package de.soderer.utilities;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Converter of date time values from a source zone into a destination zone with the same results as DateUtilities.changeDateTimeZone.
+ * Both zones are resolved once. Values are not converted at all, if both zones have the same rules.
+ * Otherwise the offsets of the time span between the surrounding zone transitions are kept,
+ * so consecutive values within that span are converted by adding the offset difference only.
+ *
+ * Instances may be used by multiple threads.
+ */
+public class ZoneConverter {
+	private final ZoneId sourceZoneId;
+	private final ZoneId destinationZoneId;
+	private final ZoneRules sourceRules;
+	private final ZoneRules destinationRules;
+	private final boolean identicalRules;
+
+	/** Time span of source local date times, which have one unique offset. Epoch seconds of the local date time as if it were UTC. */
+	private OffsetWindow sourceWindow = OffsetWindow.EMPTY;
+
+	/** Time span of instants with the same destination offset. Epoch seconds. */
+	private OffsetWindow destinationWindow = OffsetWindow.EMPTY;
+
+	private static final class OffsetWindow {
+		private static final OffsetWindow EMPTY = new OffsetWindow(Long.MAX_VALUE, Long.MIN_VALUE, 0);
+
+		private final long start;
+		private final long end;
+		private final int offsetSeconds;
+
+		private OffsetWindow(final long start, final long end, final int offsetSeconds) {
+			this.start = start;
+			this.end = end;
+			this.offsetSeconds = offsetSeconds;
+		}
+
+		private boolean contains(final long seconds) {
+			return start <= seconds && seconds < end;
+		}
+	}
+
+	public ZoneConverter(final ZoneId sourceZoneId, final ZoneId destinationZoneId) {
+		this.sourceZoneId = sourceZoneId == null ? ZoneId.systemDefault() : sourceZoneId;
+		this.destinationZoneId = destinationZoneId == null ? ZoneId.systemDefault() : destinationZoneId;
+		sourceRules = this.sourceZoneId.getRules();
+		destinationRules = this.destinationZoneId.getRules();
+		identicalRules = sourceRules.equals(destinationRules);
+	}
+
+	public ZoneId getSourceZoneId() {
+		return sourceZoneId;
+	}
+
+	public ZoneId getDestinationZoneId() {
+		return destinationZoneId;
+	}
+
+	/**
+	 * Values are not changed, because both zones have the same rules
+	 */
+	public boolean isIdentity() {
+		return identicalRules;
+	}
+
+	public LocalDateTime convert(final LocalDateTime localDateTime) {
+		if (localDateTime == null) {
+			return null;
+		} else if (identicalRules) {
+			return localDateTime;
+		} else {
+			final long localSeconds = localDateTime.toEpochSecond(ZoneOffset.UTC);
+			OffsetWindow currentSourceWindow = sourceWindow;
+			if (!currentSourceWindow.contains(localSeconds)) {
+				currentSourceWindow = createSourceWindow(localDateTime, localSeconds);
+				if (currentSourceWindow == null) {
+					// Local time within a gap or overlap of the source zone
+					return localDateTime.atZone(sourceZoneId).withZoneSameInstant(destinationZoneId).toLocalDateTime();
+				}
+				sourceWindow = currentSourceWindow;
+			}
+
+			final long epochSeconds = localSeconds - currentSourceWindow.offsetSeconds;
+			OffsetWindow currentDestinationWindow = destinationWindow;
+			if (!currentDestinationWindow.contains(epochSeconds)) {
+				currentDestinationWindow = createDestinationWindow(epochSeconds);
+				destinationWindow = currentDestinationWindow;
+			}
+
+			final int offsetDifference = currentDestinationWindow.offsetSeconds - currentSourceWindow.offsetSeconds;
+			return offsetDifference == 0 ? localDateTime : localDateTime.plusSeconds(offsetDifference);
+		}
+	}
+
+	/**
+	 * Convert a Date, whose fields are interpreted in the source zone, into the local date time of the destination zone
+	 */
+	public LocalDateTime convertToLocalDateTime(final Date date) {
+		if (date == null) {
+			return null;
+		} else {
+			return convert(DateUtilities.getLocalDateTimeForDate(date));
+		}
+	}
+
+	public ZonedDateTime convert(final ZonedDateTime zonedDateTime) {
+		if (zonedDateTime == null) {
+			return null;
+		} else if (zonedDateTime.getZone().equals(destinationZoneId)) {
+			return zonedDateTime;
+		} else {
+			return zonedDateTime.withZoneSameInstant(destinationZoneId);
+		}
+	}
+
+	private OffsetWindow createSourceWindow(final LocalDateTime localDateTime, final long localSeconds) {
+		final List<ZoneOffset> validOffsets = sourceRules.getValidOffsets(localDateTime);
+		if (validOffsets.size() != 1) {
+			return null;
+		}
+
+		final ZoneOffset offset = validOffsets.get(0);
+		final Instant instant = localDateTime.toInstant(offset);
+		// Transitions are on whole seconds, so this is the latest transition not after the instant
+		final ZoneOffsetTransition previousTransition = sourceRules.previousTransition(instant.plusSeconds(1));
+		final ZoneOffsetTransition nextTransition = sourceRules.nextTransition(instant);
+
+		// Local times are unique after the later and before the earlier local time of a transition
+		final long start;
+		if (previousTransition == null) {
+			start = Long.MIN_VALUE;
+		} else {
+			start = previousTransition.toEpochSecond() + Math.max(previousTransition.getOffsetBefore().getTotalSeconds(), previousTransition.getOffsetAfter().getTotalSeconds());
+		}
+		final long end;
+		if (nextTransition == null) {
+			end = Long.MAX_VALUE;
+		} else {
+			end = nextTransition.toEpochSecond() + Math.min(nextTransition.getOffsetBefore().getTotalSeconds(), nextTransition.getOffsetAfter().getTotalSeconds());
+		}
+
+		if (start <= localSeconds && localSeconds < end) {
+			return new OffsetWindow(start, end, offset.getTotalSeconds());
+		} else {
+			return null;
+		}
+	}
+
+	private OffsetWindow createDestinationWindow(final long epochSeconds) {
+		final Instant instant = Instant.ofEpochSecond(epochSeconds);
+		final ZoneOffsetTransition previousTransition = destinationRules.previousTransition(instant.plusSeconds(1));
+		final ZoneOffsetTransition nextTransition = destinationRules.nextTransition(instant);
+		final long start = previousTransition == null ? Long.MIN_VALUE : previousTransition.toEpochSecond();
+		final long end = nextTransition == null ? Long.MAX_VALUE : nextTransition.toEpochSecond();
+		return new OffsetWindow(start, end, destinationRules.getOffset(instant).getTotalSeconds());
+	}
+}
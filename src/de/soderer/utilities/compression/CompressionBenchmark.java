@@ -0,0 +1,107 @@
+package de.soderer.utilities.compression;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import de.soderer.utilities.CountingOutputStream;
+import de.soderer.utilities.zip.ZipUtilities;
+
+/**
+ * Compare compression ratio and throughput of zip and all compression codecs on some files, e.g. exported data.
+ *
+ * Usage: java -cp DbExport.jar de.soderer.utilities.compression.CompressionBenchmark [-level n] [-threads n] [-runs n] file ...
+ *
+ * The files are read into memory and compressed into a discarding stream, so only the compression itself is measured.
+ * The best time of all runs after one warm up run is shown.
+ */
+public class CompressionBenchmark {
+	private static final String ZIP = "zip";
+
+	public static void main(final String[] arguments) throws Exception {
+		int level = Deflater.DEFAULT_COMPRESSION;
+		int threads = 1;
+		int runs = 3;
+		final List<File> files = new ArrayList<>();
+		for (int i = 0; i < arguments.length; i++) {
+			if ("-level".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				level = Integer.parseInt(arguments[++i]);
+			} else if ("-threads".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				threads = Integer.parseInt(arguments[++i]);
+			} else if ("-runs".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				runs = Integer.parseInt(arguments[++i]);
+			} else {
+				files.add(new File(arguments[i]));
+			}
+		}
+		if (files.isEmpty()) {
+			System.err.println("Usage: CompressionBenchmark [-level n] [-threads n] [-runs n] file ...");
+			System.exit(1);
+		}
+
+		final List<String> codecNames = new ArrayList<>();
+		codecNames.add(ZIP);
+		for (final CompressionCodec codec : CompressionCodecs.getCodecs()) {
+			codecNames.add(codec.getName());
+		}
+
+		System.out.println(String.format(Locale.ENGLISH, "%-30s %-8s %14s %14s %8s %12s", "File", "Codec", "Size", "Compressed", "Ratio", "MB/s"));
+		for (final File file : files) {
+			final byte[] data = Files.readAllBytes(file.toPath());
+			for (final String codecName : codecNames) {
+				long compressedSize = 0;
+				long bestNanos = Long.MAX_VALUE;
+				for (int run = 0; run <= runs; run++) {
+					final long start = System.nanoTime();
+					compressedSize = compress(codecName, data, file.getName(), level, threads);
+					final long nanos = System.nanoTime() - start;
+					// Run 0 warms up the JIT compiler
+					if (run > 0) {
+						bestNanos = Math.min(bestNanos, nanos);
+					}
+				}
+				System.out.println(String.format(Locale.ENGLISH, "%-30s %-8s %14d %14d %8.3f %12.1f",
+						file.getName(),
+						codecName,
+						data.length,
+						compressedSize,
+						data.length == 0 ? 1.0 : (double) compressedSize / data.length,
+						data.length / 1048576.0 / (Math.max(1, bestNanos) / 1000000000.0)));
+			}
+		}
+	}
+
+	private static long compress(final String codecName, final byte[] data, final String fileName, final int level, final int threads) throws IOException {
+		final CountingOutputStream countingOutputStream = new CountingOutputStream(new OutputStream() {
+			@Override
+			public void write(final int byteValue) {
+				// Discard compressed data
+			}
+
+			@Override
+			public void write(final byte[] buffer, final int offset, final int length) {
+				// Discard compressed data
+			}
+		});
+
+		if (ZIP.equals(codecName)) {
+			try (ZipOutputStream zipOutputStream = ZipUtilities.openNewZipOutputStream(countingOutputStream, level, threads)) {
+				zipOutputStream.putNextEntry(new ZipEntry(fileName));
+				zipOutputStream.write(data);
+				zipOutputStream.closeEntry();
+			}
+		} else {
+			try (OutputStream compressingStream = CompressionCodecs.getCodec(codecName).createOutputStream(countingOutputStream, level, threads)) {
+				compressingStream.write(data);
+			}
+		}
+		return countingOutputStream.getByteCount();
+	}
+}
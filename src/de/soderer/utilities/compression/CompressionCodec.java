@@ -0,0 +1,32 @@
+package de.soderer.utilities.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Codec compressing a single stream of data, like an export file, without any container format around it.
+ *
+ * Additional codecs are registered as service in "META-INF/services/de.soderer.utilities.compression.CompressionCodec" and are found by CompressionCodecs.
+ */
+public interface CompressionCodec {
+	/**
+	 * Name of the codec, which selects it by parameter "-compression"
+	 */
+	String getName();
+
+	/**
+	 * File extension of the compressed files without dot
+	 */
+	String getFileExtension();
+
+	/**
+	 * Open a stream compressing its data into the given OutputStream.
+	 * Closing it finishes the compressed data and closes the underlying OutputStream.
+	 *
+	 * @param level
+	 *            Compression level 0 to 9 or -1 for the default level of the codec. Codecs without levels ignore it.
+	 * @param threads
+	 *            Number of compressing threads. Codecs without parallel compression ignore it.
+	 */
+	OutputStream createOutputStream(OutputStream outputStream, int level, int threads) throws IOException;
+}
@@ -0,0 +1,46 @@
+package de.soderer.utilities.compression;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of the available compression codecs: gzip, lz4 and all codecs registered as service
+ */
+public class CompressionCodecs {
+	private static Map<String, CompressionCodec> codecs = null;
+
+	/**
+	 * Get a codec by its name (case insensitive) or null, if there is no such codec
+	 */
+	public static CompressionCodec getCodec(final String name) {
+		if (name == null) {
+			return null;
+		} else {
+			return getCodecMap().get(name.toLowerCase());
+		}
+	}
+
+	public static List<CompressionCodec> getCodecs() {
+		return new ArrayList<>(getCodecMap().values());
+	}
+
+	private static synchronized Map<String, CompressionCodec> getCodecMap() {
+		if (codecs == null) {
+			codecs = new LinkedHashMap<>();
+			addCodec(new GzipCompressionCodec());
+			addCodec(new Lz4FrameCompressionCodec());
+			// Registered codecs cannot replace the built-in codecs
+			for (final CompressionCodec codec : ServiceLoader.load(CompressionCodec.class)) {
+				addCodec(codec);
+			}
+		}
+		return codecs;
+	}
+
+	private static void addCodec(final CompressionCodec codec) {
+		codecs.putIfAbsent(codec.getName().toLowerCase(), codec);
+	}
+}
@@ -0,0 +1,24 @@
+package de.soderer.utilities.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Gzip (RFC 1952) compression, which is optionally deflated in parallel blocks like pigz does
+ */
+public class GzipCompressionCodec implements CompressionCodec {
+	@Override
+	public String getName() {
+		return "gzip";
+	}
+
+	@Override
+	public String getFileExtension() {
+		return "gz";
+	}
+
+	@Override
+	public OutputStream createOutputStream(final OutputStream outputStream, final int level, final int threads) throws IOException {
+		return new ParallelGzipOutputStream(outputStream, level, threads);
+	}
+}
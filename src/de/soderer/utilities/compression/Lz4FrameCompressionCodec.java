@@ -0,0 +1,25 @@
+package de.soderer.utilities.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * LZ4 frame compression, which is much faster than deflate, but has a lower compression ratio.
+ * The output is readable by the lz4 command line tool. The compression level and threads are ignored.
+ */
+public class Lz4FrameCompressionCodec implements CompressionCodec {
+	@Override
+	public String getName() {
+		return "lz4";
+	}
+
+	@Override
+	public String getFileExtension() {
+		return "lz4";
+	}
+
+	@Override
+	public OutputStream createOutputStream(final OutputStream outputStream, final int level, final int threads) throws IOException {
+		return new Lz4FrameOutputStream(outputStream);
+	}
+}
@@ -0,0 +1,237 @@
+package de.soderer.utilities.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * OutputStream compressing its data into the LZ4 frame format (lz4 command line tool, version 1.6 of the frame format) in pure Java.
+ *
+ * The data is split into independent blocks of 64 KB, which are compressed by the fast greedy LZ4 algorithm.
+ * Blocks, which cannot be compressed, are stored uncompressed. The frame ends with an xxHash32 checksum of the uncompressed data.
+ */
+public class Lz4FrameOutputStream extends OutputStream {
+	private static final int MAGIC_NUMBER = 0x184D2204;
+
+	/** Frame format version 01, independent blocks, content checksum */
+	private static final int FRAME_FLAGS = 0x64;
+
+	/** Maximum block size code 4: 64 KB */
+	private static final int BLOCK_DESCRIPTOR = 0x40;
+	private static final int BLOCK_SIZE = 64 * 1024;
+	private static final int UNCOMPRESSED_BLOCK_FLAG = 0x80000000;
+
+	private static final int MIN_MATCH = 4;
+
+	/** The last 5 bytes of a block are always literals */
+	private static final int LAST_LITERALS = 5;
+
+	/** The last match must start at least 12 bytes before the end of a block */
+	private static final int MATCH_FIND_LIMIT = 12;
+
+	private static final int MAX_OFFSET = 65535;
+	private static final int HASH_LOG = 13;
+
+	/** Skip faster over data without matches like LZ4's default acceleration */
+	private static final int SKIP_TRIGGER = 6;
+
+	private final OutputStream outputStream;
+	private final byte[] block = new byte[BLOCK_SIZE];
+	private int blockLength = 0;
+	private final byte[] compressedBlock = new byte[BLOCK_SIZE + BLOCK_SIZE / 255 + 16];
+	private final int[] hashTable = new int[1 << HASH_LOG];
+	private final XxHash32 contentChecksum = new XxHash32(0);
+	private final byte[] intBuffer = new byte[4];
+	private boolean closed = false;
+
+	public Lz4FrameOutputStream(final OutputStream outputStream) throws IOException {
+		if (outputStream == null) {
+			throw new IllegalArgumentException("OutputStream is null");
+		}
+		this.outputStream = outputStream;
+
+		writeIntLittleEndian(MAGIC_NUMBER);
+		final byte[] frameDescriptor = new byte[] { (byte) FRAME_FLAGS, (byte) BLOCK_DESCRIPTOR, 0 };
+		frameDescriptor[2] = (byte) (XxHash32.hash(frameDescriptor, 0, 2, 0) >>> 8);
+		outputStream.write(frameDescriptor);
+	}
+
+	@Override
+	public void write(final int byteValue) throws IOException {
+		ensureOpen();
+		block[blockLength++] = (byte) byteValue;
+		if (blockLength == BLOCK_SIZE) {
+			writeBlock();
+		}
+	}
+
+	@Override
+	public void write(final byte[] data, int offset, int length) throws IOException {
+		ensureOpen();
+		while (length > 0) {
+			final int copyLength = Math.min(length, BLOCK_SIZE - blockLength);
+			System.arraycopy(data, offset, block, blockLength, copyLength);
+			blockLength += copyLength;
+			offset += copyLength;
+			length -= copyLength;
+			if (blockLength == BLOCK_SIZE) {
+				writeBlock();
+			}
+		}
+	}
+
+	/**
+	 * The current incomplete block is kept, because writing it would make the compression worse
+	 */
+	@Override
+	public void flush() throws IOException {
+		outputStream.flush();
+	}
+
+	/**
+	 * Write the last block, the end mark and the content checksum and close the underlying OutputStream
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			try {
+				if (blockLength > 0) {
+					writeBlock();
+				}
+				writeIntLittleEndian(0);
+				writeIntLittleEndian(contentChecksum.getValue());
+			} finally {
+				closed = true;
+				outputStream.close();
+			}
+		}
+	}
+
+	private void writeBlock() throws IOException {
+		contentChecksum.update(block, 0, blockLength);
+		final int compressedLength = compressBlock(block, blockLength, compressedBlock);
+		if (compressedLength < blockLength) {
+			writeIntLittleEndian(compressedLength);
+			outputStream.write(compressedBlock, 0, compressedLength);
+		} else {
+			writeIntLittleEndian(blockLength | UNCOMPRESSED_BLOCK_FLAG);
+			outputStream.write(block, 0, blockLength);
+		}
+		blockLength = 0;
+	}
+
+	/**
+	 * Compress a block into LZ4 sequences of literals and matches
+	 *
+	 * @return Length of the compressed data
+	 */
+	private int compressBlock(final byte[] source, final int sourceLength, final byte[] destination) {
+		int destinationPosition = 0;
+		int anchor = 0;
+
+		if (sourceLength > MATCH_FIND_LIMIT) {
+			final int matchFindLimit = sourceLength - MATCH_FIND_LIMIT;
+			final int matchLimit = sourceLength - LAST_LITERALS;
+			Arrays.fill(hashTable, -1);
+
+			int position = 0;
+			int searchCount = 1 << SKIP_TRIGGER;
+			while (position <= matchFindLimit) {
+				final int sequence = XxHash32.readIntLittleEndian(source, position);
+				final int hash = hash(sequence);
+				int reference = hashTable[hash];
+				hashTable[hash] = position;
+
+				if (reference < 0 || position - reference > MAX_OFFSET || XxHash32.readIntLittleEndian(source, reference) != sequence) {
+					position += searchCount++ >>> SKIP_TRIGGER;
+					continue;
+				}
+				searchCount = 1 << SKIP_TRIGGER;
+
+				int matchLength = MIN_MATCH;
+				while (position + matchLength < matchLimit && source[position + matchLength] == source[reference + matchLength]) {
+					matchLength++;
+				}
+				while (position > anchor && reference > 0 && source[position - 1] == source[reference - 1]) {
+					position--;
+					reference--;
+					matchLength++;
+				}
+
+				destinationPosition = writeSequence(source, anchor, position - anchor, position - reference, matchLength, destination, destinationPosition);
+				position += matchLength;
+				anchor = position;
+
+				if (position <= matchFindLimit) {
+					// Positions inside of the match are not hashed except the last ones, which often start the next match
+					hashTable[hash(XxHash32.readIntLittleEndian(source, position - 2))] = position - 2;
+				}
+			}
+		}
+
+		// Last sequence has literals only
+		final int literalLength = sourceLength - anchor;
+		destinationPosition = writeLength(literalLength, destination, destinationPosition);
+		System.arraycopy(source, anchor, destination, destinationPosition, literalLength);
+		return destinationPosition + literalLength;
+	}
+
+	private static int writeSequence(final byte[] source, final int literalStart, final int literalLength, final int offset, final int matchLength, final byte[] destination, int destinationPosition) {
+		final int tokenPosition = destinationPosition;
+		destinationPosition = writeLength(literalLength, destination, destinationPosition);
+		System.arraycopy(source, literalStart, destination, destinationPosition, literalLength);
+		destinationPosition += literalLength;
+
+		destination[destinationPosition++] = (byte) offset;
+		destination[destinationPosition++] = (byte) (offset >>> 8);
+
+		final int matchLengthCode = matchLength - MIN_MATCH;
+		if (matchLengthCode >= 15) {
+			destination[tokenPosition] |= 15;
+			destinationPosition = writeLengthBytes(matchLengthCode - 15, destination, destinationPosition);
+		} else {
+			destination[tokenPosition] |= matchLengthCode;
+		}
+		return destinationPosition;
+	}
+
+	/**
+	 * Write a token with the literal length and the additional length bytes
+	 */
+	private static int writeLength(final int literalLength, final byte[] destination, int destinationPosition) {
+		if (literalLength >= 15) {
+			destination[destinationPosition++] = (byte) (15 << 4);
+			return writeLengthBytes(literalLength - 15, destination, destinationPosition);
+		} else {
+			destination[destinationPosition++] = (byte) (literalLength << 4);
+			return destinationPosition;
+		}
+	}
+
+	private static int writeLengthBytes(int length, final byte[] destination, int destinationPosition) {
+		while (length >= 255) {
+			destination[destinationPosition++] = (byte) 255;
+			length -= 255;
+		}
+		destination[destinationPosition++] = (byte) length;
+		return destinationPosition;
+	}
+
+	private static int hash(final int sequence) {
+		return (sequence * -1640531535) >>> (32 - HASH_LOG);
+	}
+
+	private void writeIntLittleEndian(final int value) throws IOException {
+		intBuffer[0] = (byte) value;
+		intBuffer[1] = (byte) (value >>> 8);
+		intBuffer[2] = (byte) (value >>> 16);
+		intBuffer[3] = (byte) (value >>> 24);
+		outputStream.write(intBuffer);
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("Lz4FrameOutputStream is already closed");
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package de.soderer.utilities.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+import de.soderer.utilities.zip.ParallelDeflateOutputStream;
+
+/**
+ * OutputStream writing a single gzip member (RFC 1952), whose data is deflated in parallel blocks by a ParallelDeflateOutputStream.
+ * Gzip members may be concatenated, so compressed files can be appended to each other.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+	private static final int GZIP_MAGIC = 0x8b1f;
+	private static final int OS_UNKNOWN = 255;
+
+	private final OutputStream outputStream;
+	private final ParallelDeflateOutputStream deflateStream;
+	private boolean closed = false;
+
+	/**
+	 * @param level
+	 *            Deflater compression level 0 to 9 or Deflater.DEFAULT_COMPRESSION
+	 * @param threads
+	 *            Number of compressing threads, 1 to compress in the calling thread
+	 */
+	public ParallelGzipOutputStream(final OutputStream outputStream, final int level, final int threads) throws IOException {
+		if (outputStream == null) {
+			throw new IllegalArgumentException("OutputStream is null");
+		}
+		this.outputStream = outputStream;
+		if (threads > 1) {
+			deflateStream = new ParallelDeflateOutputStream(outputStream, level, threads);
+		} else {
+			deflateStream = new ParallelDeflateOutputStream(outputStream, level, ParallelDeflateOutputStream.DEFAULT_BLOCK_SIZE, null, 1);
+		}
+
+		// Header without file name and modification time
+		outputStream.write(new byte[] {
+			(byte) GZIP_MAGIC,
+			(byte) (GZIP_MAGIC >> 8),
+			Deflater.DEFLATED,
+			0,
+			0, 0, 0, 0,
+			(byte) (level == 9 ? 2 : (level == 1 ? 4 : 0)),
+			(byte) OS_UNKNOWN
+		});
+	}
+
+	@Override
+	public void write(final int byteValue) throws IOException {
+		deflateStream.write(byteValue);
+	}
+
+	@Override
+	public void write(final byte[] data, final int offset, final int length) throws IOException {
+		deflateStream.write(data, offset, length);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		deflateStream.flush();
+	}
+
+	/**
+	 * Write the CRC-32 and size of the uncompressed data as trailer and close the underlying OutputStream
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			try {
+				deflateStream.finish();
+				writeIntLittleEndian(deflateStream.getCrc());
+				writeIntLittleEndian(deflateStream.getBytesRead());
+			} finally {
+				deflateStream.close();
+			}
+		}
+	}
+
+	private void writeIntLittleEndian(final long value) throws IOException {
+		outputStream.write(new byte[] { (byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24) });
+	}
+}
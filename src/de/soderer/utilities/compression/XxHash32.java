@@ -0,0 +1,111 @@
+package de.soderer.utilities.compression;
+
+/**
+ * Streaming xxHash32 checksum, which is used by the LZ4 frame format
+ */
+public class XxHash32 {
+	private static final int PRIME1 = 0x9E3779B1;
+	private static final int PRIME2 = 0x85EBCA77;
+	private static final int PRIME3 = 0xC2B2AE3D;
+	private static final int PRIME4 = 0x27D4EB2F;
+	private static final int PRIME5 = 0x165667B1;
+
+	private final int seed;
+	private int v1;
+	private int v2;
+	private int v3;
+	private int v4;
+	private final byte[] buffer = new byte[16];
+	private int bufferLength = 0;
+	private long totalLength = 0;
+
+	public XxHash32(final int seed) {
+		this.seed = seed;
+		v1 = seed + PRIME1 + PRIME2;
+		v2 = seed + PRIME2;
+		v3 = seed;
+		v4 = seed - PRIME1;
+	}
+
+	/**
+	 * Checksum of some data
+	 */
+	public static int hash(final byte[] data, final int offset, final int length, final int seed) {
+		final XxHash32 xxHash32 = new XxHash32(seed);
+		xxHash32.update(data, offset, length);
+		return xxHash32.getValue();
+	}
+
+	public void update(final byte[] data, int offset, int length) {
+		totalLength += length;
+
+		if (bufferLength > 0) {
+			final int copyLength = Math.min(length, 16 - bufferLength);
+			System.arraycopy(data, offset, buffer, bufferLength, copyLength);
+			bufferLength += copyLength;
+			offset += copyLength;
+			length -= copyLength;
+			if (bufferLength < 16) {
+				return;
+			}
+			processStripe(buffer, 0);
+			bufferLength = 0;
+		}
+
+		final int end = offset + length;
+		while (offset + 16 <= end) {
+			processStripe(data, offset);
+			offset += 16;
+		}
+
+		bufferLength = end - offset;
+		System.arraycopy(data, offset, buffer, 0, bufferLength);
+	}
+
+	/**
+	 * Checksum of all data until now. More data may be added afterwards.
+	 */
+	public int getValue() {
+		int hash;
+		if (totalLength >= 16) {
+			hash = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+		} else {
+			hash = seed + PRIME5;
+		}
+		hash += (int) totalLength;
+
+		int position = 0;
+		while (position + 4 <= bufferLength) {
+			hash += readIntLittleEndian(buffer, position) * PRIME3;
+			hash = Integer.rotateLeft(hash, 17) * PRIME4;
+			position += 4;
+		}
+		while (position < bufferLength) {
+			hash += (buffer[position] & 0xFF) * PRIME5;
+			hash = Integer.rotateLeft(hash, 11) * PRIME1;
+			position++;
+		}
+
+		hash ^= hash >>> 15;
+		hash *= PRIME2;
+		hash ^= hash >>> 13;
+		hash *= PRIME3;
+		hash ^= hash >>> 16;
+		return hash;
+	}
+
+	private void processStripe(final byte[] data, final int offset) {
+		v1 = round(v1, readIntLittleEndian(data, offset));
+		v2 = round(v2, readIntLittleEndian(data, offset + 4));
+		v3 = round(v3, readIntLittleEndian(data, offset + 8));
+		v4 = round(v4, readIntLittleEndian(data, offset + 12));
+	}
+
+	private static int round(final int accumulator, final int input) {
+		return Integer.rotateLeft(accumulator + input * PRIME2, 13) * PRIME1;
+	}
+
+	static int readIntLittleEndian(final byte[] data, final int offset) {
+		return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8 | (data[offset + 2] & 0xFF) << 16 | (data[offset + 3] & 0xFF) << 24;
+	}
+}
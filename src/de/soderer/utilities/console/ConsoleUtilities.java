@@ -205,7 +205,20 @@ public class ConsoleUtilities {
 		String etaString = "eta ???";
 		int percentageDone = 0;
 
-		if (itemsToDo > 0) {
+		if (itemsToDo <= 0 || itemsDone > itemsToDo) {
+			// Open-ended progress (or outdated estimation): show the items done and their speed only
+			if (itemsDone > 0) {
+				percentageString = "  ?";
+				itemsToDoString = Utilities.getHumanReadableNumber(itemsDone, itemUnitSign, true, 5, true, Locale.ENGLISH) + " done";
+				long elapsedSeconds = Duration.between(start, now).getSeconds();
+				// Prevent division by zero, when start is fast
+				if (elapsedSeconds == 0) {
+					elapsedSeconds = 1;
+				}
+				final int speed = (int) (itemsDone / elapsedSeconds);
+				speedString = Utilities.getHumanReadableNumber(speed, "", true, 5, true, Locale.ENGLISH) + (itemUnitSign == null ? "" : itemUnitSign) + "/s";
+			}
+		} else {
 			itemsToDoString = Utilities.getHumanReadableNumber(itemsToDo, itemUnitSign, true, 5, true, Locale.ENGLISH);
 
 			if (itemsDone > 0) {
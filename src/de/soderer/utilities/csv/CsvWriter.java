@@ -1,15 +1,17 @@
 package de.soderer.utilities.csv;
 
-import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
+import de.soderer.utilities.OutputSink;
 import de.soderer.utilities.csv.CsvFormat.QuoteMode;
 
 /**
@@ -19,6 +21,9 @@ public class CsvWriter implements Closeable {
 	/** CSV data format definition */
 	private CsvFormat csvFormat;
 
+	/** Maximum number of characters of a streamed value, which are read in advance to decide about its quotation */
+	public static final int STREAMED_VALUE_LOOKAHEAD = 64 * 1024;
+
 	/** Default output encoding. */
 	public static final Charset DEFAULT_ENCODING = StandardCharsets.UTF_8;
 
@@ -44,7 +49,10 @@ public class CsvWriter implements Closeable {
 	private int numberOfColumns = -1;
 
 	/** Output writer. */
-	private BufferedWriter outputWriter = null;
+	private Writer outputWriter = null;
+
+	/** Size of the output buffer in bytes */
+	private int outputBufferSize = OutputSink.DEFAULT_BUFFER_SIZE;
 
 	/** Minimum sizes of columns for beautification */
 	private int[] minimumColumnSizes = null;
@@ -52,6 +60,15 @@ public class CsvWriter implements Closeable {
 	/** Padding locations of columns for beautification (true = right padding = left aligned) */
 	private boolean[] columnPaddings = null;
 
+	/** Number of values written to the current line by writeLineValue */
+	private int currentLineValues = 0;
+
+	/** Reusable buffer for writing parts of non String values */
+	private final char[] charBuffer = new char[1024];
+
+	/** Buffer for reading the start of streamed values in advance, created on first use */
+	private char[] lookaheadBuffer = null;
+
 	/**
 	 * CSV Writer derived constructor.
 	 *
@@ -115,6 +132,15 @@ public class CsvWriter implements Closeable {
 		}
 	}
 
+	/**
+	 * Set the size of the output buffer in bytes. Must be set before the first value is written.
+	 *
+	 * @param outputBufferSize
+	 */
+	public void setOutputBufferSize(final int outputBufferSize) {
+		this.outputBufferSize = outputBufferSize;
+	}
+
 	/**
 	 * Get configured csv format
 	 *
@@ -162,12 +188,7 @@ public class CsvWriter implements Closeable {
 					"Inconsistent number of values after " + writtenLines + " written lines (expected: " + numberOfColumns + " was: " + (values == null ? "null" : values.size()) + ")", writtenLines);
 		}
 
-		if (outputWriter == null) {
-			if (outputStream == null) {
-				throw new IllegalStateException("CsvWriter is already closed");
-			}
-			outputWriter = new BufferedWriter(new OutputStreamWriter(outputStream, encoding));
-		}
+		openOutputWriter();
 
 		for (int i = 0; i < values.size(); i++) {
 			if (i > 0) {
@@ -192,6 +213,232 @@ public class CsvWriter implements Closeable {
 		numberOfColumns = values.size();
 	}
 
+	/**
+	 * Write a single value of the current line.
+	 * The value is escaped in a single scan and written without creating any intermediate Strings.
+	 * Values are treated as strings for QuoteMode.QUOTE_STRINGS. Beautification (column padding) is not applied.
+	 * Each line must be ended by endLine().
+	 *
+	 * @param value
+	 *            the value
+	 * @throws CsvDataException
+	 *             the csv data exception
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void writeLineValue(final CharSequence value) throws CsvDataException, IOException {
+		openOutputWriter();
+
+		if (currentLineValues > 0) {
+			outputWriter.write(csvFormat.getSeparator());
+		}
+		currentLineValues++;
+
+		final CharSequence valueChars = value == null ? "" : value;
+		final int length = valueChars.length();
+		final char stringQuote = csvFormat.getStringQuote();
+		final char separator = csvFormat.getSeparator();
+
+		boolean valueNeedsQuotation = false;
+		for (int i = 0; i < length; i++) {
+			final char nextChar = valueChars.charAt(i);
+			if (nextChar == stringQuote || nextChar == separator || nextChar == '\r' || nextChar == '\n') {
+				valueNeedsQuotation = true;
+				break;
+			}
+		}
+
+		if (csvFormat.getQuoteMode() == QuoteMode.QUOTE_ALL_DATA
+				|| csvFormat.getQuoteMode() == QuoteMode.QUOTE_STRINGS
+				|| (csvFormat.getQuoteMode() == QuoteMode.QUOTE_IF_NEEDED && valueNeedsQuotation)) {
+			outputWriter.write(stringQuote);
+			int unwrittenStart = 0;
+			for (int i = 0; i < length; i++) {
+				if (valueChars.charAt(i) == stringQuote) {
+					writeChars(valueChars, unwrittenStart, i);
+					outputWriter.write(escapedStringQuoteString);
+					unwrittenStart = i + 1;
+				}
+			}
+			writeChars(valueChars, unwrittenStart, length);
+			outputWriter.write(stringQuote);
+		} else if (valueNeedsQuotation) {
+			throw new CsvDataException("StringQuote was deactivated but is needed for csv-value after " + writtenLines + " written lines", writtenLines);
+		} else {
+			writeChars(valueChars, 0, length);
+		}
+	}
+
+	/**
+	 * End the current line, which was written by writeLineValue.
+	 *
+	 * @throws CsvDataException
+	 *             the csv data exception
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void endLine() throws CsvDataException, IOException {
+		if (numberOfColumns != -1 && numberOfColumns != currentLineValues) {
+			throw new CsvDataException(
+					"Inconsistent number of values after " + writtenLines + " written lines (expected: " + numberOfColumns + " was: " + currentLineValues + ")", writtenLines);
+		}
+
+		openOutputWriter();
+		outputWriter.write(csvFormat.getLineBreak());
+
+		writtenLines++;
+		numberOfColumns = currentLineValues;
+		currentLineValues = 0;
+	}
+
+	private void openOutputWriter() {
+		if (outputWriter == null) {
+			if (outputStream == null) {
+				throw new IllegalStateException("CsvWriter is already closed");
+			}
+			outputWriter = OutputSink.createWriter(outputStream, encoding, outputBufferSize);
+		}
+	}
+
+	/**
+	 * Write a part of a CharSequence without creating a String for it
+	 */
+	private void writeChars(final CharSequence value, final int start, final int end) throws IOException {
+		if (value instanceof String) {
+			outputWriter.write((String) value, start, end - start);
+		} else {
+			int position = start;
+			while (position < end) {
+				final int partLength = Math.min(charBuffer.length, end - position);
+				for (int i = 0; i < partLength; i++) {
+					charBuffer[i] = value.charAt(position + i);
+				}
+				outputWriter.write(charBuffer, 0, partLength);
+				position += partLength;
+			}
+		}
+	}
+
+	/**
+	 * Write a single value of the current line, which is read from a Reader in chunks.
+	 * The value is not scanned before it is written, so the caller must tell whether it may contain characters, which need quotation.
+	 * Each line must be ended by endLine().
+	 *
+	 * @param value
+	 *            the reader of the value
+	 * @param valueNeedsQuotation
+	 *            the value may contain the separator, the string quote or line breaks
+	 * @throws CsvDataException
+	 *             the csv data exception
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void writeLineValue(final Reader value, final boolean valueNeedsQuotation) throws CsvDataException, IOException {
+		openOutputWriter();
+
+		if (currentLineValues > 0) {
+			outputWriter.write(csvFormat.getSeparator());
+		}
+		currentLineValues++;
+
+		final char stringQuote = csvFormat.getStringQuote();
+		int lengthRead;
+		if (csvFormat.getQuoteMode() == QuoteMode.QUOTE_ALL_DATA
+				|| csvFormat.getQuoteMode() == QuoteMode.QUOTE_STRINGS
+				|| (csvFormat.getQuoteMode() == QuoteMode.QUOTE_IF_NEEDED && valueNeedsQuotation)) {
+			outputWriter.write(stringQuote);
+			while ((lengthRead = value.read(charBuffer)) > -1) {
+				writeQuotedChars(charBuffer, lengthRead);
+			}
+			outputWriter.write(stringQuote);
+		} else if (valueNeedsQuotation) {
+			throw new CsvDataException("StringQuote was deactivated but is needed for csv-value after " + writtenLines + " written lines", writtenLines);
+		} else {
+			while ((lengthRead = value.read(charBuffer)) > -1) {
+				outputWriter.write(charBuffer, 0, lengthRead);
+			}
+		}
+	}
+
+	/**
+	 * Write a single value of the current line, which is read from a Reader in chunks and escaped incrementally.
+	 * Values up to STREAMED_VALUE_LOOKAHEAD characters are read in advance and written like by writeLineValue(CharSequence).
+	 * Longer values cannot be scanned before they are written, so they are always quoted, unless quotation is deactivated.
+	 * Each line must be ended by endLine().
+	 *
+	 * @param value
+	 *            the reader of the value
+	 * @throws CsvDataException
+	 *             the csv data exception
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void writeStreamedLineValue(final Reader value) throws CsvDataException, IOException {
+		if (lookaheadBuffer == null) {
+			lookaheadBuffer = new char[STREAMED_VALUE_LOOKAHEAD];
+		}
+
+		int length = 0;
+		int lengthRead = 0;
+		while (length < lookaheadBuffer.length && (lengthRead = value.read(lookaheadBuffer, length, lookaheadBuffer.length - length)) > -1) {
+			length += lengthRead;
+		}
+
+		if (lengthRead < 0) {
+			writeLineValue(CharBuffer.wrap(lookaheadBuffer, 0, length));
+		} else {
+			openOutputWriter();
+
+			if (currentLineValues > 0) {
+				outputWriter.write(csvFormat.getSeparator());
+			}
+			currentLineValues++;
+
+			if (csvFormat.getQuoteMode() == QuoteMode.NO_QUOTE) {
+				checkUnquotedChars(lookaheadBuffer, length);
+				outputWriter.write(lookaheadBuffer, 0, length);
+				while ((lengthRead = value.read(charBuffer)) > -1) {
+					checkUnquotedChars(charBuffer, lengthRead);
+					outputWriter.write(charBuffer, 0, lengthRead);
+				}
+			} else {
+				outputWriter.write(csvFormat.getStringQuote());
+				writeQuotedChars(lookaheadBuffer, length);
+				while ((lengthRead = value.read(charBuffer)) > -1) {
+					writeQuotedChars(charBuffer, lengthRead);
+				}
+				outputWriter.write(csvFormat.getStringQuote());
+			}
+		}
+	}
+
+	/**
+	 * Write a part of a quoted value with its string quotes escaped
+	 */
+	private void writeQuotedChars(final char[] characters, final int length) throws IOException {
+		final char stringQuote = csvFormat.getStringQuote();
+		int unwrittenStart = 0;
+		for (int i = 0; i < length; i++) {
+			if (characters[i] == stringQuote) {
+				outputWriter.write(characters, unwrittenStart, i - unwrittenStart);
+				outputWriter.write(escapedStringQuoteString);
+				unwrittenStart = i + 1;
+			}
+		}
+		outputWriter.write(characters, unwrittenStart, length - unwrittenStart);
+	}
+
+	private void checkUnquotedChars(final char[] characters, final int length) throws CsvDataException {
+		final char stringQuote = csvFormat.getStringQuote();
+		final char separator = csvFormat.getSeparator();
+		for (int i = 0; i < length; i++) {
+			final char nextChar = characters[i];
+			if (nextChar == stringQuote || nextChar == separator || nextChar == '\r' || nextChar == '\n') {
+				throw new CsvDataException("StringQuote was deactivated but is needed for csv-value after " + writtenLines + " written lines", writtenLines);
+			}
+		}
+	}
+
 	/**
 	 * Write a full set of lines of data entries.
 	 *
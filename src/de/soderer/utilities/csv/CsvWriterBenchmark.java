@@ -0,0 +1,175 @@
+package de.soderer.utilities.csv;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import de.soderer.utilities.CountingOutputStream;
+import de.soderer.utilities.FastNumberFormatter;
+
+/**
+ * Compare writing csv lines by CsvWriter.writeValues with writing them value by value by CsvWriter.writeLineValue and endLine.
+ *
+ * Usage: java -cp DbExport.jar de.soderer.utilities.csv.CsvWriterBenchmark [-rows n] [-runs n]
+ *
+ * The rows are generated in memory with numbers, texts (some of them with separators and quotes), timestamps and null values.
+ * The writeValues variant converts each value to a String, measures its output size and collects the line in a new list, like the csv export did when not beautified.
+ * The writeLineValue variant writes the same Strings value by value, so only the writers are compared.
+ * The buffered variant formats numbers and timestamps into a reused StringBuilder, like the csv export does now.
+ * The csv data is written into a discarding stream, its size is shown to check all variants create the same output.
+ * The best time of all runs after one warm up run is shown.
+ */
+public class CsvWriterBenchmark {
+	private static final String NULL_VALUE_TEXT = "";
+
+	private final NumberFormat numberFormat;
+	private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+	private final FastNumberFormatter numberFormatter;
+	private final StringBuilder valueBuffer = new StringBuilder();
+
+	public static void main(final String[] arguments) throws Exception {
+		int rows = 1000000;
+		int runs = 3;
+		for (int i = 0; i < arguments.length; i++) {
+			if ("-rows".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				rows = Integer.parseInt(arguments[++i]);
+			} else if ("-runs".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				runs = Integer.parseInt(arguments[++i]);
+			} else {
+				System.err.println("Usage: CsvWriterBenchmark [-rows n] [-runs n]");
+				System.exit(1);
+			}
+		}
+
+		final Object[][] data = createRows(rows);
+		final CsvWriterBenchmark benchmark = new CsvWriterBenchmark();
+
+		System.out.println(String.format(Locale.ENGLISH, "%-16s %10s %14s %12s %12s", "Method", "Rows", "Bytes", "ms", "MB/s"));
+		for (final String method : new String[] { "writeValues", "writeLineValue", "buffered" }) {
+			long bytes = 0;
+			long bestNanos = Long.MAX_VALUE;
+			for (int run = 0; run <= runs; run++) {
+				final long start = System.nanoTime();
+				if ("writeValues".equals(method)) {
+					bytes = benchmark.writeValues(data);
+				} else {
+					bytes = benchmark.writeLineValues(data, "buffered".equals(method));
+				}
+				final long nanos = System.nanoTime() - start;
+				// Run 0 warms up the JIT compiler
+				if (run > 0) {
+					bestNanos = Math.min(bestNanos, nanos);
+				}
+			}
+			System.out.println(String.format(Locale.ENGLISH, "%-16s %10d %14d %12.1f %12.1f",
+					method,
+					rows,
+					bytes,
+					bestNanos / 1000000.0,
+					bytes / 1048576.0 / (Math.max(1, bestNanos) / 1000000000.0)));
+		}
+	}
+
+	private CsvWriterBenchmark() {
+		numberFormat = NumberFormat.getNumberInstance(Locale.ENGLISH);
+		numberFormat.setGroupingUsed(false);
+		numberFormatter = new FastNumberFormatter(numberFormat, null);
+	}
+
+	private static Object[][] createRows(final int rows) {
+		final LocalDateTime baseDateTime = LocalDateTime.of(2020, 1, 1, 0, 0);
+		final Object[][] data = new Object[rows][];
+		for (int i = 0; i < rows; i++) {
+			data[i] = new Object[] {
+					Long.valueOf(i),
+					"Customer " + (i % 1000),
+					i % 20 == 0 ? "Street " + i + "; \"Backyard\"" : "Street " + i,
+					Double.valueOf(i * 0.25),
+					baseDateTime.plusSeconds(i),
+					i % 3 == 0 ? null : "Some description text of line " + i,
+					Integer.valueOf(i % 7)
+			};
+		}
+		return data;
+	}
+
+	private static CsvWriter createCsvWriter(final OutputStream outputStream) {
+		return new CsvWriter(outputStream, StandardCharsets.UTF_8, new CsvFormat().setSeparator(';').setStringQuote('"'));
+	}
+
+	private static CountingOutputStream createDiscardingStream() {
+		return new CountingOutputStream(new OutputStream() {
+			@Override
+			public void write(final int byteValue) {
+				// Discard csv data
+			}
+
+			@Override
+			public void write(final byte[] buffer, final int offset, final int length) {
+				// Discard csv data
+			}
+		});
+	}
+
+	private long writeValues(final Object[][] data) throws Exception {
+		final CountingOutputStream countingOutputStream = createDiscardingStream();
+		try (CsvWriter csvWriter = createCsvWriter(countingOutputStream)) {
+			final int[] minimumColumnSizes = new int[data.length == 0 ? 0 : data[0].length];
+			for (final Object[] row : data) {
+				final List<String> values = new ArrayList<>();
+				for (final Object value : row) {
+					if (value == null) {
+						values.add(NULL_VALUE_TEXT);
+					} else if (value instanceof String) {
+						values.add((String) value);
+					} else if (value instanceof LocalDateTime) {
+						values.add(dateTimeFormatter.format((LocalDateTime) value));
+					} else if (value instanceof Number) {
+						values.add(numberFormat.format(value));
+					} else {
+						values.add(value.toString());
+					}
+					minimumColumnSizes[values.size() - 1] = Math.max(minimumColumnSizes[values.size() - 1], csvWriter.calculateOutputSizesOfValue(values.get(values.size() - 1)));
+				}
+				csvWriter.writeValues(values);
+			}
+		}
+		return countingOutputStream.getByteCount();
+	}
+
+	private long writeLineValues(final Object[][] data, final boolean buffered) throws Exception {
+		final CountingOutputStream countingOutputStream = createDiscardingStream();
+		try (CsvWriter csvWriter = createCsvWriter(countingOutputStream)) {
+			for (final Object[] row : data) {
+				for (final Object value : row) {
+					if (value == null) {
+						csvWriter.writeLineValue(NULL_VALUE_TEXT);
+					} else if (value instanceof String) {
+						csvWriter.writeLineValue((String) value);
+					} else if (value instanceof LocalDateTime && buffered) {
+						valueBuffer.setLength(0);
+						dateTimeFormatter.formatTo((LocalDateTime) value, valueBuffer);
+						csvWriter.writeLineValue(valueBuffer);
+					} else if (value instanceof LocalDateTime) {
+						csvWriter.writeLineValue(dateTimeFormatter.format((LocalDateTime) value));
+					} else if (value instanceof Number && buffered) {
+						valueBuffer.setLength(0);
+						numberFormatter.format((Number) value, valueBuffer);
+						csvWriter.writeLineValue(valueBuffer);
+					} else if (value instanceof Number) {
+						csvWriter.writeLineValue(numberFormat.format(value));
+					} else {
+						csvWriter.writeLineValue(value.toString());
+					}
+				}
+				csvWriter.endLine();
+			}
+		}
+		return countingOutputStream.getByteCount();
+	}
+}
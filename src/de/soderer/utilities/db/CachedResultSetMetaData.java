@@ -0,0 +1,152 @@
+package de.soderer.utilities.db;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Metadata of a resultset with the column count, names and types read only once.
+ * Some jdbc drivers compute these values on every call, which is expensive when done for each row and column.
+ * All other properties are delegated to the drivers metadata.
+ */
+public class CachedResultSetMetaData implements ResultSetMetaData {
+	private final ResultSetMetaData metaData;
+	private final int columnCount;
+	private final String[] columnNames;
+	private final String[] columnLabels;
+	private final int[] columnTypes;
+	private final String[] columnTypeNames;
+
+	public CachedResultSetMetaData(final ResultSetMetaData metaData) throws SQLException {
+		this.metaData = metaData;
+		columnCount = metaData.getColumnCount();
+		columnNames = new String[columnCount];
+		columnLabels = new String[columnCount];
+		columnTypes = new int[columnCount];
+		columnTypeNames = new String[columnCount];
+		for (int columnIndex = 1; columnIndex <= columnCount; columnIndex++) {
+			columnNames[columnIndex - 1] = metaData.getColumnName(columnIndex);
+			columnLabels[columnIndex - 1] = metaData.getColumnLabel(columnIndex);
+			columnTypes[columnIndex - 1] = metaData.getColumnType(columnIndex);
+			columnTypeNames[columnIndex - 1] = metaData.getColumnTypeName(columnIndex);
+		}
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	@Override
+	public String getColumnName(final int column) {
+		return columnNames[column - 1];
+	}
+
+	@Override
+	public String getColumnLabel(final int column) {
+		return columnLabels[column - 1];
+	}
+
+	@Override
+	public int getColumnType(final int column) {
+		return columnTypes[column - 1];
+	}
+
+	@Override
+	public String getColumnTypeName(final int column) {
+		return columnTypeNames[column - 1];
+	}
+
+	@Override
+	public boolean isAutoIncrement(final int column) throws SQLException {
+		return metaData.isAutoIncrement(column);
+	}
+
+	@Override
+	public boolean isCaseSensitive(final int column) throws SQLException {
+		return metaData.isCaseSensitive(column);
+	}
+
+	@Override
+	public boolean isSearchable(final int column) throws SQLException {
+		return metaData.isSearchable(column);
+	}
+
+	@Override
+	public boolean isCurrency(final int column) throws SQLException {
+		return metaData.isCurrency(column);
+	}
+
+	@Override
+	public int isNullable(final int column) throws SQLException {
+		return metaData.isNullable(column);
+	}
+
+	@Override
+	public boolean isSigned(final int column) throws SQLException {
+		return metaData.isSigned(column);
+	}
+
+	@Override
+	public int getColumnDisplaySize(final int column) throws SQLException {
+		return metaData.getColumnDisplaySize(column);
+	}
+
+	@Override
+	public String getSchemaName(final int column) throws SQLException {
+		return metaData.getSchemaName(column);
+	}
+
+	@Override
+	public int getPrecision(final int column) throws SQLException {
+		return metaData.getPrecision(column);
+	}
+
+	@Override
+	public int getScale(final int column) throws SQLException {
+		return metaData.getScale(column);
+	}
+
+	@Override
+	public String getTableName(final int column) throws SQLException {
+		return metaData.getTableName(column);
+	}
+
+	@Override
+	public String getCatalogName(final int column) throws SQLException {
+		return metaData.getCatalogName(column);
+	}
+
+	@Override
+	public boolean isReadOnly(final int column) throws SQLException {
+		return metaData.isReadOnly(column);
+	}
+
+	@Override
+	public boolean isWritable(final int column) throws SQLException {
+		return metaData.isWritable(column);
+	}
+
+	@Override
+	public boolean isDefinitelyWritable(final int column) throws SQLException {
+		return metaData.isDefinitelyWritable(column);
+	}
+
+	@Override
+	public String getColumnClassName(final int column) throws SQLException {
+		return metaData.getColumnClassName(column);
+	}
+
+	@Override
+	public <T> T unwrap(final Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return iface.cast(this);
+		} else {
+			return metaData.unwrap(iface);
+		}
+	}
+
+	@Override
+	public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || metaData.isWrapperFor(iface);
+	}
+}
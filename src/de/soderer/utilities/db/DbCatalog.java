@@ -0,0 +1,378 @@
+package de.soderer.utilities.db;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.soderer.utilities.Utilities;
+import de.soderer.utilities.collection.CaseInsensitiveMap;
+import de.soderer.utilities.collection.CaseInsensitiveSet;
+import de.soderer.utilities.db.DatabaseConstraint.ConstraintType;
+import de.soderer.utilities.db.DbUtilities.DbVendor;
+
+/**
+ * Structure data of multiple tables: columns, primary keys, foreign keys, indices, constraints and default values.
+ * For Oracle, MySQL, MariaDB and PostgreSQL the data of all tables of the current schema is read with one query per catalog view
+ * and kept in memory, so reading the structure of thousands of tables does not need thousands of queries.
+ * For other db vendors the data is read per table by the single table methods of DbUtilities.
+ */
+public class DbCatalog {
+	private final Connection connection;
+	private final DbVendor dbVendor;
+	private final boolean batchLoaded;
+	private final Map<String, TableCatalog> tableCatalogs = new HashMap<>();
+
+	private static class TableCatalog {
+		private final CaseInsensitiveSet keyColumns = new CaseInsensitiveSet();
+		private final CaseInsensitiveMap<DbColumnType> columnTypes = new CaseInsensitiveMap<>();
+		private final CaseInsensitiveMap<String> defaultValues = new CaseInsensitiveMap<>();
+		private final List<DatabaseForeignKey> foreignKeys = new ArrayList<>();
+		private final Map<String, List<String>> indexedColumns = new LinkedHashMap<>();
+		private final List<DatabaseConstraint> constraints = new ArrayList<>();
+	}
+
+	/**
+	 * Read the structure data of the given tables
+	 */
+	public static DbCatalog load(final Connection connection, final Collection<String> tableNames) throws Exception {
+		return new DbCatalog(connection, tableNames);
+	}
+
+	private DbCatalog(final Connection connection, final Collection<String> tableNames) throws Exception {
+		this.connection = connection;
+		dbVendor = DbUtilities.getDbVendor(connection);
+		for (final String tableName : tableNames) {
+			tableCatalogs.put(tableName.toLowerCase(), new TableCatalog());
+		}
+
+		if (dbVendor == DbVendor.Oracle) {
+			loadOracle();
+			batchLoaded = true;
+		} else if (dbVendor == DbVendor.MySQL || dbVendor == DbVendor.MariaDB) {
+			loadMySQL();
+			batchLoaded = true;
+		} else if (dbVendor == DbVendor.PostgreSQL) {
+			loadPostgreSQL();
+			batchLoaded = true;
+		} else {
+			batchLoaded = false;
+		}
+	}
+
+	public CaseInsensitiveSet getPrimaryKeyColumns(final String tableName) throws Exception {
+		if (batchLoaded) {
+			return getTableCatalog(tableName).keyColumns;
+		} else {
+			return DbUtilities.getPrimaryKeyColumns(connection, tableName);
+		}
+	}
+
+	public CaseInsensitiveMap<DbColumnType> getColumnDataTypes(final String tableName) throws Exception {
+		if (batchLoaded) {
+			return getTableCatalog(tableName).columnTypes;
+		} else {
+			return DbUtilities.getColumnDataTypes(connection, tableName);
+		}
+	}
+
+	public CaseInsensitiveMap<String> getColumnDefaultValues(final String tableName) throws Exception {
+		if (batchLoaded) {
+			return getTableCatalog(tableName).defaultValues;
+		} else {
+			return DbUtilities.getColumnDefaultValues(connection, tableName);
+		}
+	}
+
+	public List<DatabaseForeignKey> getForeignKeys(final String tableName) throws Exception {
+		if (batchLoaded) {
+			return getTableCatalog(tableName).foreignKeys;
+		} else {
+			return DbUtilities.getForeignKeys(connection, tableName);
+		}
+	}
+
+	public List<DatabaseIndex> getIndices(final String tableName) throws Exception {
+		if (!batchLoaded) {
+			return DbUtilities.getIndices(connection, tableName);
+		} else if (dbVendor == DbVendor.PostgreSQL) {
+			// Not supported for PostgreSQL, like in DbUtilities.getIndices
+			return null;
+		} else {
+			final Map<String, List<String>> indexedColumns = getTableCatalog(tableName).indexedColumns;
+			final List<DatabaseIndex> returnList = new ArrayList<>();
+			for (final String indexName : Utilities.sortButPutItemsFirst(indexedColumns.keySet(), "primary")) {
+				returnList.add(new DatabaseIndex(tableName.toLowerCase(), indexName, indexedColumns.get(indexName)));
+			}
+			return returnList;
+		}
+	}
+
+	public List<DatabaseConstraint> getConstraints(final String tableName) throws Exception {
+		if (!batchLoaded) {
+			return DbUtilities.getConstraints(connection, tableName);
+		} else if (dbVendor == DbVendor.PostgreSQL) {
+			// Not supported for PostgreSQL, like in DbUtilities.getConstraints
+			return null;
+		} else {
+			return getTableCatalog(tableName).constraints;
+		}
+	}
+
+	private TableCatalog getTableCatalog(final String tableName) throws Exception {
+		final TableCatalog tableCatalog = tableCatalogs.get(tableName.toLowerCase());
+		if (tableCatalog == null) {
+			throw new Exception("Table '" + tableName + "' was not included in catalog");
+		} else {
+			return tableCatalog;
+		}
+	}
+
+	/**
+	 * Get the catalog of a table, if it was requested, otherwise null
+	 */
+	private TableCatalog getRequestedTableCatalog(final String tableName) {
+		if (tableName == null) {
+			return null;
+		} else {
+			return tableCatalogs.get(tableName.toLowerCase());
+		}
+	}
+
+	private void loadOracle() throws Exception {
+		try (Statement statement = connection.createStatement()) {
+			statement.setFetchSize(1000);
+
+			// Watchout: Oracle's timestamp datatype is "TIMESTAMP(6)", so remove the bracket value
+			// Column data_default is of type LONG, which must be read as last column
+			try (ResultSet resultSet = statement.executeQuery("SELECT table_name, column_name, NVL(substr(data_type, 1, instr(data_type, '(') - 1), data_type) AS data_type, data_length, data_precision, data_scale, nullable, data_default FROM user_tab_columns")) {
+				while (resultSet.next()) {
+					final TableCatalog tableCatalog = getRequestedTableCatalog(resultSet.getString("table_name"));
+					if (tableCatalog != null) {
+						final String columnName = resultSet.getString("column_name");
+						final String dataType = resultSet.getString("data_type");
+						final int characterLength = getIntOrMinusOne(resultSet, "data_length");
+						final int numericPrecision = getIntOrMinusOne(resultSet, "data_precision");
+						final int numericScale = getIntOrMinusOne(resultSet, "data_scale");
+						final boolean isNullable = "y".equalsIgnoreCase(resultSet.getString("nullable"));
+						tableCatalog.columnTypes.put(columnName, new DbColumnType(dataType, characterLength, numericPrecision, numericScale, isNullable, false));
+
+						String defaultValue = resultSet.getString("data_default");
+						if (defaultValue != null) {
+							defaultValue = defaultValue.trim();
+						}
+						if (defaultValue == null || "null".equalsIgnoreCase(defaultValue)) {
+							defaultValue = null;
+						} else if (defaultValue.startsWith("'") && defaultValue.endsWith("'")) {
+							defaultValue = defaultValue.substring(1, defaultValue.length() - 1);
+						}
+						tableCatalog.defaultValues.put(columnName.toLowerCase(), defaultValue);
+					}
+				}
+			}
+
+			try (ResultSet resultSet = statement.executeQuery("SELECT user_cons_columns.table_name, user_cons_columns.column_name FROM user_constraints JOIN user_cons_columns ON user_constraints.constraint_name = user_cons_columns.constraint_name AND user_constraints.table_name = user_cons_columns.table_name WHERE user_constraints.constraint_type = 'P'")) {
+				while (resultSet.next()) {
+					final TableCatalog tableCatalog = getRequestedTableCatalog(resultSet.getString("table_name"));
+					if (tableCatalog != null) {
+						tableCatalog.keyColumns.add(resultSet.getString("column_name"));
+					}
+				}
+			}
+
+			try (ResultSet resultSet = statement.executeQuery("SELECT fk.table_name, fk.constraint_name, fk_columns.column_name, pk_columns.table_name AS referenced_table_name, pk_columns.column_name AS referenced_column_name"
+					+ " FROM user_constraints fk"
+					+ " JOIN user_cons_columns fk_columns ON fk_columns.constraint_name = fk.constraint_name AND fk_columns.table_name = fk.table_name"
+					+ " JOIN all_cons_columns pk_columns ON pk_columns.owner = fk.r_owner AND pk_columns.constraint_name = fk.r_constraint_name AND pk_columns.position = fk_columns.position"
+					+ " WHERE fk.constraint_type = 'R'"
+					+ " ORDER BY fk.table_name, pk_columns.table_name, fk_columns.position")) {
+				readForeignKeys(resultSet);
+			}
+
+			try (ResultSet resultSet = statement.executeQuery("SELECT user_constraints.table_name, user_constraints.constraint_name, user_constraints.constraint_type, user_cons_columns.column_name"
+					+ " FROM user_constraints JOIN user_cons_columns ON user_constraints.constraint_name = user_cons_columns.constraint_name AND user_constraints.table_name = user_cons_columns.table_name"
+					+ " ORDER BY user_constraints.table_name, user_constraints.constraint_name")) {
+				while (resultSet.next()) {
+					final String tableName = resultSet.getString("table_name");
+					final TableCatalog tableCatalog = getRequestedTableCatalog(tableName);
+					if (tableCatalog != null) {
+						tableCatalog.constraints.add(new DatabaseConstraint(tableName.toLowerCase(), resultSet.getString("constraint_name").toLowerCase(), ConstraintType.fromName(resultSet.getString("constraint_type")), resultSet.getString("column_name").toLowerCase(), null));
+					}
+				}
+			}
+
+			try (ResultSet resultSet = statement.executeQuery("SELECT table_name, index_name, column_name FROM all_ind_columns WHERE table_owner = USER ORDER BY table_name, index_name, column_position")) {
+				readIndices(resultSet);
+			}
+		}
+	}
+
+	private void loadMySQL() throws Exception {
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery("SELECT table_name, column_name, data_type, character_maximum_length, numeric_precision, numeric_scale, is_nullable, extra, column_default FROM information_schema.columns WHERE table_schema = schema()")) {
+				while (resultSet.next()) {
+					final TableCatalog tableCatalog = getRequestedTableCatalog(resultSet.getString("table_name"));
+					if (tableCatalog != null) {
+						final String columnName = resultSet.getString("column_name");
+						final long characterLength = getLongOrMinusOne(resultSet, "character_maximum_length");
+						final int numericPrecision = getIntOrMinusOne(resultSet, "numeric_precision");
+						final int numericScale = getIntOrMinusOne(resultSet, "numeric_scale");
+						final boolean isNullable = "yes".equalsIgnoreCase(resultSet.getString("is_nullable"));
+						final boolean isAutoIncrement = "auto_increment".equalsIgnoreCase(resultSet.getString("extra"));
+						tableCatalog.columnTypes.put(columnName, new DbColumnType(resultSet.getString("data_type"), characterLength, numericPrecision, numericScale, isNullable, isAutoIncrement));
+
+						String defaultValue = resultSet.getString("column_default");
+						if ("NULL".equalsIgnoreCase(defaultValue)) {
+							defaultValue = null;
+						}
+						tableCatalog.defaultValues.put(columnName.toLowerCase(), defaultValue);
+					}
+				}
+			}
+
+			// Primary keys and foreign keys are both listed in key_column_usage
+			try (ResultSet resultSet = statement.executeQuery("SELECT table_name, column_name FROM information_schema.key_column_usage WHERE table_schema = schema() AND constraint_name = 'PRIMARY'")) {
+				while (resultSet.next()) {
+					final TableCatalog tableCatalog = getRequestedTableCatalog(resultSet.getString("table_name"));
+					if (tableCatalog != null) {
+						tableCatalog.keyColumns.add(resultSet.getString("column_name"));
+					}
+				}
+			}
+
+			try (ResultSet resultSet = statement.executeQuery("SELECT table_name, constraint_name, column_name, referenced_table_name, referenced_column_name FROM information_schema.key_column_usage"
+					+ " WHERE table_schema = schema() AND referenced_table_name IS NOT NULL"
+					+ " ORDER BY table_name, referenced_table_name, ordinal_position")) {
+				readForeignKeys(resultSet);
+			}
+
+			try (ResultSet resultSet = statement.executeQuery("SELECT table_name, constraint_name, constraint_type FROM information_schema.table_constraints WHERE table_schema = schema() ORDER BY table_name, constraint_name")) {
+				while (resultSet.next()) {
+					final String tableName = resultSet.getString("table_name");
+					final TableCatalog tableCatalog = getRequestedTableCatalog(tableName);
+					if (tableCatalog != null) {
+						tableCatalog.constraints.add(new DatabaseConstraint(tableName.toLowerCase(), resultSet.getString("constraint_name").toLowerCase(), ConstraintType.fromName(resultSet.getString("constraint_type")), null, null));
+					}
+				}
+			}
+
+			try (ResultSet resultSet = statement.executeQuery("SELECT table_constraints.table_name, check_constraints.constraint_name, check_constraints.check_clause"
+					+ " FROM information_schema.check_constraints JOIN information_schema.table_constraints ON table_constraints.constraint_schema = check_constraints.constraint_schema AND table_constraints.constraint_name = check_constraints.constraint_name"
+					+ " WHERE check_constraints.constraint_schema = schema()")) {
+				while (resultSet.next()) {
+					final TableCatalog tableCatalog = getRequestedTableCatalog(resultSet.getString("table_name"));
+					if (tableCatalog != null) {
+						final String constraintName = resultSet.getString("constraint_name");
+						for (final DatabaseConstraint databaseConstraint : tableCatalog.constraints) {
+							if (constraintName != null && constraintName.equalsIgnoreCase(databaseConstraint.getConstraintName())) {
+								databaseConstraint.setCondition(resultSet.getString("check_clause"));
+							}
+						}
+					}
+				}
+			} catch (final Exception e) {
+				// Older db versions have no check constraints
+				System.err.println("Cannot read constraint conditions: " + e.getMessage());
+			}
+
+			try (ResultSet resultSet = statement.executeQuery("SELECT table_name, index_name, column_name FROM information_schema.statistics WHERE table_schema = schema() ORDER BY table_name, index_name, seq_in_index")) {
+				readIndices(resultSet);
+			}
+		}
+	}
+
+	private void loadPostgreSQL() throws Exception {
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery("SELECT table_name, column_name, data_type, character_maximum_length, numeric_precision, numeric_scale, is_nullable, column_default FROM information_schema.columns WHERE table_schema = CURRENT_SCHEMA()")) {
+				while (resultSet.next()) {
+					final TableCatalog tableCatalog = getRequestedTableCatalog(resultSet.getString("table_name"));
+					if (tableCatalog != null) {
+						final String columnName = resultSet.getString("column_name");
+						final long characterLength = getLongOrMinusOne(resultSet, "character_maximum_length");
+						final int numericPrecision = getIntOrMinusOne(resultSet, "numeric_precision");
+						final int numericScale = getIntOrMinusOne(resultSet, "numeric_scale");
+						final boolean isNullable = "yes".equalsIgnoreCase(resultSet.getString("is_nullable"));
+						String defaultValue = resultSet.getString("column_default");
+						final boolean isAutoIncrement = defaultValue != null && defaultValue.toLowerCase().startsWith("nextval(");
+						tableCatalog.columnTypes.put(columnName, new DbColumnType(resultSet.getString("data_type"), characterLength, numericPrecision, numericScale, isNullable, isAutoIncrement));
+
+						if ("NULL".equalsIgnoreCase(defaultValue)) {
+							defaultValue = null;
+						}
+						tableCatalog.defaultValues.put(columnName.toLowerCase(), defaultValue);
+					}
+				}
+			}
+
+			try (ResultSet resultSet = statement.executeQuery("SELECT table_constraints.table_name, key_column_usage.column_name"
+					+ " FROM information_schema.table_constraints JOIN information_schema.key_column_usage ON key_column_usage.constraint_schema = table_constraints.constraint_schema AND key_column_usage.constraint_name = table_constraints.constraint_name AND key_column_usage.table_name = table_constraints.table_name"
+					+ " WHERE table_constraints.table_schema = CURRENT_SCHEMA() AND table_constraints.constraint_type = 'PRIMARY KEY'")) {
+				while (resultSet.next()) {
+					final TableCatalog tableCatalog = getRequestedTableCatalog(resultSet.getString("table_name"));
+					if (tableCatalog != null) {
+						tableCatalog.keyColumns.add(resultSet.getString("column_name"));
+					}
+				}
+			}
+
+			try (ResultSet resultSet = statement.executeQuery("SELECT fk_columns.table_name, fk_columns.constraint_name, fk_columns.column_name, pk_columns.table_name AS referenced_table_name, pk_columns.column_name AS referenced_column_name"
+					+ " FROM information_schema.referential_constraints"
+					+ " JOIN information_schema.key_column_usage fk_columns ON fk_columns.constraint_schema = referential_constraints.constraint_schema AND fk_columns.constraint_name = referential_constraints.constraint_name"
+					+ " JOIN information_schema.key_column_usage pk_columns ON pk_columns.constraint_schema = referential_constraints.unique_constraint_schema AND pk_columns.constraint_name = referential_constraints.unique_constraint_name AND pk_columns.ordinal_position = fk_columns.position_in_unique_constraint"
+					+ " WHERE fk_columns.table_schema = CURRENT_SCHEMA()"
+					+ " ORDER BY fk_columns.table_name, pk_columns.table_name, fk_columns.ordinal_position")) {
+				readForeignKeys(resultSet);
+			}
+		}
+	}
+
+	private void readForeignKeys(final ResultSet resultSet) throws Exception {
+		while (resultSet.next()) {
+			final String tableName = resultSet.getString("table_name");
+			final TableCatalog tableCatalog = getRequestedTableCatalog(tableName);
+			if (tableCatalog != null) {
+				String foreignKeyName = resultSet.getString("constraint_name");
+				if (foreignKeyName != null) {
+					foreignKeyName = foreignKeyName.toLowerCase();
+				}
+				tableCatalog.foreignKeys.add(new DatabaseForeignKey(foreignKeyName, tableName.toLowerCase(), resultSet.getString("column_name").toLowerCase(), resultSet.getString("referenced_table_name").toLowerCase(), resultSet.getString("referenced_column_name").toLowerCase()));
+			}
+		}
+	}
+
+	private void readIndices(final ResultSet resultSet) throws Exception {
+		while (resultSet.next()) {
+			final TableCatalog tableCatalog = getRequestedTableCatalog(resultSet.getString("table_name"));
+			if (tableCatalog != null) {
+				final String indexName = resultSet.getString("index_name").toLowerCase();
+				if (!tableCatalog.indexedColumns.containsKey(indexName)) {
+					tableCatalog.indexedColumns.put(indexName, new ArrayList<>());
+				}
+				tableCatalog.indexedColumns.get(indexName).add(resultSet.getString("column_name").toLowerCase());
+			}
+		}
+	}
+
+	private static int getIntOrMinusOne(final ResultSet resultSet, final String columnName) throws Exception {
+		final int value = resultSet.getInt(columnName);
+		if (resultSet.wasNull()) {
+			return -1;
+		} else {
+			return value;
+		}
+	}
+
+	private static long getLongOrMinusOne(final ResultSet resultSet, final String columnName) throws Exception {
+		final long value = resultSet.getLong(columnName);
+		if (resultSet.wasNull()) {
+			return -1;
+		} else {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package de.soderer.utilities.db;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small bounded pool of jdbc connections for parallel readout of one database.
+ * Connections are created lazily up to the maximum size and are handed out exclusively until released.
+ */
+public class DbConnectionPool implements Closeable {
+	@FunctionalInterface
+	public interface ConnectionInitializer {
+		void initialize(Connection connection) throws Exception;
+	}
+
+	private final DbDefinition dbDefinition;
+	private final int maximumSize;
+	private final BlockingQueue<Connection> idleConnections;
+	private final List<Connection> allConnections = new ArrayList<>();
+	/** Number of connections, which are being created right now and are not in allConnections yet */
+	private int connectionsInCreation = 0;
+	private boolean closed = false;
+	private ConnectionInitializer connectionInitializer = null;
+
+	public DbConnectionPool(final DbDefinition dbDefinition, final int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("Invalid maximum size for connection pool: " + maximumSize);
+		}
+		this.dbDefinition = dbDefinition;
+		this.maximumSize = maximumSize;
+		idleConnections = new ArrayBlockingQueue<>(maximumSize);
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Set a preparation for each new connection, which is executed before the connection is handed out for the first time
+	 */
+	public void setConnectionInitializer(final ConnectionInitializer connectionInitializer) {
+		this.connectionInitializer = connectionInitializer;
+	}
+
+	/**
+	 * Create all connections up to the maximum size at once instead of lazily
+	 */
+	public void createAllConnections() throws Exception {
+		final List<Connection> createdConnections = new ArrayList<>();
+		try {
+			for (int i = 0; i < maximumSize; i++) {
+				createdConnections.add(acquire());
+			}
+		} finally {
+			for (final Connection connection : createdConnections) {
+				release(connection);
+			}
+		}
+	}
+
+	/**
+	 * Get an idle connection or create a new one, if the maximum size is not reached yet.
+	 * Blocks until a connection is released or the pool is closed otherwise.
+	 */
+	public Connection acquire() throws Exception {
+		Connection connection = idleConnections.poll();
+		if (connection != null) {
+			return connection;
+		}
+
+		boolean createNewConnection = false;
+		synchronized (allConnections) {
+			if (closed) {
+				throw new IllegalStateException("Connection pool is already closed");
+			} else if (allConnections.size() + connectionsInCreation < maximumSize) {
+				// Reserve the slot before creating the connection, which may take some time
+				connectionsInCreation++;
+				createNewConnection = true;
+			}
+		}
+
+		if (createNewConnection) {
+			try {
+				connection = DbUtilities.createConnection(dbDefinition, true);
+				if (connectionInitializer != null) {
+					connectionInitializer.initialize(connection);
+				}
+			} catch (final Exception e) {
+				closeQuietly(connection);
+				synchronized (allConnections) {
+					connectionsInCreation--;
+				}
+				throw e;
+			}
+			synchronized (allConnections) {
+				connectionsInCreation--;
+				if (closed) {
+					// The pool was closed while the connection was created
+					closeQuietly(connection);
+					throw new IllegalStateException("Connection pool is already closed");
+				}
+				allConnections.add(connection);
+			}
+			return connection;
+		} else {
+			// Waiting is interrupted regularly to notice the close of the pool
+			while (true) {
+				connection = idleConnections.poll(1, TimeUnit.SECONDS);
+				if (connection != null) {
+					return connection;
+				}
+				synchronized (allConnections) {
+					if (closed) {
+						throw new IllegalStateException("Connection pool is already closed");
+					}
+				}
+			}
+		}
+	}
+
+	public void release(final Connection connection) {
+		if (connection != null) {
+			synchronized (allConnections) {
+				if (closed) {
+					closeQuietly(connection);
+				} else {
+					idleConnections.offer(connection);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Close all connections of this pool. Connections which are still in use are closed, too.
+	 */
+	@Override
+	public void close() {
+		synchronized (allConnections) {
+			closed = true;
+			for (final Connection connection : allConnections) {
+				closeQuietly(connection);
+			}
+			allConnections.clear();
+			idleConnections.clear();
+		}
+	}
+
+	private static void closeQuietly(final Connection connection) {
+		if (connection != null) {
+			try {
+				connection.close();
+			} catch (@SuppressWarnings("unused") final Exception e) {
+				// Do nothing
+			}
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package de.soderer.utilities.db;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import de.soderer.utilities.db.DbUtilities.DbVendor;
+
+/**
+ * Consistent point in time for reading data with multiple connections.
+ * The snapshot is taken on the coordinating connection, all other connections join it before their first read.
+ *
+ * PostgreSQL: Repeatable read transactions sharing the snapshot exported by "pg_export_snapshot()".
+ * MySQL/MariaDB: Transactions "WITH CONSISTENT SNAPSHOT". InnoDB cannot share a snapshot between connections,
+ * so all connections must join immediately after the snapshot was taken (see DbConnectionPool.createAllConnections).
+ * Oracle: Session wide flashback query to the system change number of the snapshot.
+ */
+public class DbSnapshot implements AutoCloseable {
+	private final Connection coordinatorConnection;
+	private final DbVendor dbVendor;
+	private String snapshotId;
+
+	public DbSnapshot(final Connection coordinatorConnection) throws Exception {
+		this.coordinatorConnection = coordinatorConnection;
+		dbVendor = DbUtilities.getDbVendor(coordinatorConnection);
+		switch (dbVendor) {
+			case PostgreSQL:
+				startReadTransaction(coordinatorConnection);
+				try (Statement statement = coordinatorConnection.createStatement();
+						ResultSet resultSet = statement.executeQuery("SELECT pg_export_snapshot()")) {
+					resultSet.next();
+					snapshotId = resultSet.getString(1);
+				}
+				break;
+			case MySQL:
+			case MariaDB:
+				startReadTransaction(coordinatorConnection);
+				try (Statement statement = coordinatorConnection.createStatement()) {
+					statement.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT");
+				}
+				break;
+			case Oracle:
+				try (Statement statement = coordinatorConnection.createStatement();
+						ResultSet resultSet = statement.executeQuery("SELECT DBMS_FLASHBACK.GET_SYSTEM_CHANGE_NUMBER FROM DUAL")) {
+					resultSet.next();
+					snapshotId = resultSet.getString(1);
+				}
+				enableFlashback(coordinatorConnection);
+				break;
+			default:
+				throw new Exception("Consistent snapshot is not supported for db vendor " + dbVendor);
+		}
+	}
+
+	/**
+	 * Make a further connection read the data of this snapshot. Must be called before the first statement on that connection.
+	 */
+	public void join(final Connection connection) throws Exception {
+		switch (dbVendor) {
+			case PostgreSQL:
+				startReadTransaction(connection);
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("SET TRANSACTION SNAPSHOT '" + snapshotId.replace("'", "''") + "'");
+				}
+				break;
+			case MySQL:
+			case MariaDB:
+				startReadTransaction(connection);
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT");
+				}
+				break;
+			case Oracle:
+				enableFlashback(connection);
+				break;
+			default:
+				throw new Exception("Consistent snapshot is not supported for db vendor " + dbVendor);
+		}
+	}
+
+	/**
+	 * End reading the snapshot on a connection and reset it to its normal autocommit mode
+	 */
+	public void leave(final Connection connection) throws SQLException {
+		if (dbVendor == DbVendor.Oracle) {
+			try (CallableStatement statement = connection.prepareCall("{call DBMS_FLASHBACK.DISABLE}")) {
+				statement.execute();
+			}
+		} else {
+			try {
+				connection.rollback();
+			} finally {
+				connection.setAutoCommit(true);
+				connection.setReadOnly(false);
+			}
+		}
+	}
+
+	/**
+	 * Short description of the snapshot for logging
+	 */
+	public String getDescription() {
+		switch (dbVendor) {
+			case PostgreSQL:
+				return "PostgreSQL snapshot " + snapshotId;
+			case Oracle:
+				return "Oracle SCN " + snapshotId;
+			default:
+				return dbVendor + " consistent snapshot transactions";
+		}
+	}
+
+	@Override
+	public void close() throws SQLException {
+		leave(coordinatorConnection);
+	}
+
+	private static void startReadTransaction(final Connection connection) throws SQLException {
+		// Read only must be set before the transaction starts
+		connection.setReadOnly(true);
+		connection.setAutoCommit(false);
+		connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+	}
+
+	private void enableFlashback(final Connection connection) throws SQLException {
+		try (CallableStatement statement = connection.prepareCall("{call DBMS_FLASHBACK.ENABLE_AT_SYSTEM_CHANGE_NUMBER(?)}")) {
+			statement.setLong(1, Long.parseLong(snapshotId));
+			statement.execute();
+		}
+	}
+}
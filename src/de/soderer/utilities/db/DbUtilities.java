@@ -5,6 +5,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -19,6 +20,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
 import java.sql.SQLRecoverableException;
+import java.sql.Savepoint;
 import java.sql.Statement;
 import java.sql.Types;
 import java.time.Instant;
@@ -49,6 +51,7 @@ import de.soderer.utilities.DateUtilities;
 import de.soderer.utilities.FileUtilities;
 import de.soderer.utilities.IoUtilities;
 import de.soderer.utilities.NetworkUtilities;
+import de.soderer.utilities.NumberUtilities;
 import de.soderer.utilities.TextTable;
 import de.soderer.utilities.TextUtilities;
 import de.soderer.utilities.Utilities;
@@ -1906,6 +1909,101 @@ public class DbUtilities {
 		}
 	}
 
+	/**
+	 * Get the number of entries of a table from the statistics of the db vendor, which are maintained by analyze runs.
+	 * This is much faster than a COUNT(*) on large tables, but may be outdated.
+	 *
+	 * @return estimated number of entries or -1 if no statistics are available
+	 */
+	public static long getEstimatedTableEntriesCount(final Connection connection, final String tableName) throws Exception {
+		if (Utilities.isBlank(tableName)) {
+			throw new Exception("Invalid empty tableName for getEstimatedTableEntriesCount");
+		}
+
+		String schemaName = null;
+		String tableNameInSchema = tableName;
+		if (tableName.contains(".")) {
+			schemaName = tableName.substring(0, tableName.indexOf("."));
+			tableNameInSchema = tableName.substring(tableName.indexOf(".") + 1);
+		}
+
+		final DbVendor dbVendor = getDbVendor(connection);
+		String sql;
+		final List<String> parameters = new ArrayList<>();
+		if (dbVendor == DbVendor.PostgreSQL) {
+			final DatabaseMetaData databaseMetaData = connection.getMetaData();
+			if (databaseMetaData.getDatabaseMajorVersion() > 9 || (databaseMetaData.getDatabaseMajorVersion() == 9 && databaseMetaData.getDatabaseMinorVersion() >= 6)) {
+				// to_regclass(text) exists since PostgreSQL 9.6 and returns null for unknown tables
+				sql = "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)";
+				parameters.add(tableName);
+			} else if (schemaName != null) {
+				sql = "SELECT c.reltuples::bigint FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace WHERE n.nspname = ? AND c.relname = ? AND c.relkind IN ('r', 'p', 'm')";
+				parameters.add(schemaName.toLowerCase());
+				parameters.add(tableNameInSchema.toLowerCase());
+			} else {
+				// Unqualified table names are resolved by the search path like to_regclass does
+				sql = "SELECT c.reltuples::bigint FROM pg_class c WHERE c.relname = ? AND c.relkind IN ('r', 'p', 'm') AND pg_table_is_visible(c.oid)";
+				parameters.add(tableNameInSchema.toLowerCase());
+			}
+		} else if (dbVendor == DbVendor.MySQL || dbVendor == DbVendor.MariaDB) {
+			if (schemaName != null) {
+				sql = "SELECT table_rows FROM information_schema.tables WHERE table_schema = ? AND table_name = ?";
+				parameters.add(schemaName);
+			} else {
+				sql = "SELECT table_rows FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?";
+			}
+			parameters.add(tableNameInSchema);
+		} else if (dbVendor == DbVendor.Oracle) {
+			if (schemaName != null) {
+				sql = "SELECT num_rows FROM all_tables WHERE owner = ? AND table_name = ?";
+				parameters.add(schemaName.toUpperCase());
+			} else {
+				sql = "SELECT num_rows FROM all_tables WHERE owner = SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA') AND table_name = ?";
+			}
+			parameters.add(tableNameInSchema.toUpperCase());
+		} else if (dbVendor == DbVendor.SQLite) {
+			// The first number of the stat value is the number of table entries, also for index statistics
+			sql = "SELECT stat FROM sqlite_stat1 WHERE tbl = ?";
+			parameters.add(tableNameInSchema);
+		} else {
+			return -1;
+		}
+
+		// Any error aborts a surrounding PostgreSQL transaction, like the streaming read or snapshot transaction, so it is rolled back to a savepoint
+		final Savepoint savepoint = dbVendor == DbVendor.PostgreSQL && !connection.getAutoCommit() ? connection.setSavepoint() : null;
+		try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+			for (int i = 0; i < parameters.size(); i++) {
+				preparedStatement.setString(i + 1, parameters.get(i));
+			}
+			try (ResultSet resultSet = preparedStatement.executeQuery()) {
+				if (savepoint != null) {
+					connection.releaseSavepoint(savepoint);
+				}
+				if (!resultSet.next()) {
+					return -1;
+				} else if (dbVendor == DbVendor.SQLite) {
+					final String stat = resultSet.getString(1);
+					if (Utilities.isBlank(stat)) {
+						return -1;
+					} else {
+						final String entriesCountString = stat.trim().split(" ")[0];
+						return NumberUtilities.isInteger(entriesCountString) ? Long.parseLong(entriesCountString) : -1;
+					}
+				} else {
+					final long estimatedEntriesCount = resultSet.getLong(1);
+					// PostgreSQL uses -1 for tables, which were never analyzed
+					return resultSet.wasNull() || estimatedEntriesCount < 0 ? -1 : estimatedEntriesCount;
+				}
+			}
+		} catch (@SuppressWarnings("unused") final SQLException e) {
+			// No statistics available, e.g. sqlite_stat1 does not exist before the first analyze
+			if (savepoint != null) {
+				connection.rollback(savepoint);
+			}
+			return -1;
+		}
+	}
+
 	public static CaseInsensitiveSet getPrimaryKeyColumns(final DataSource dataSource, final String tableName) throws Exception {
 		try (Connection connection = dataSource.getConnection()) {
 			return getPrimaryKeyColumns(connection, tableName);
@@ -3457,6 +3555,11 @@ public class DbUtilities {
 			final Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
 			statement.setFetchSize(Integer.MIN_VALUE);
 			return statement;
+		} else if (DbVendor.PostgreSQL == dbVendor) {
+			// Fetch size is only used for a server side cursor within a transaction (see StreamingReadTransaction)
+			final Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			statement.setFetchSize(100);
+			return statement;
 		} else {
 			final Statement statement = connection.createStatement();
 			statement.setFetchSize(100);
@@ -3464,6 +3567,31 @@ public class DbUtilities {
 		}
 	}
 
+	/**
+	 * Execute a PostgreSQL "COPY ... TO STDOUT" statement and stream its output bytes into the outputstream.
+	 * The driver classes are accessed by reflection, because the PostgreSQL driver is only available at runtime.
+	 *
+	 * @return number of copied rows
+	 */
+	public static long copyOutPostgreSQL(final Connection connection, final String copyStatement, final OutputStream outputStream) throws Exception {
+		final ClassLoader driverClassLoader = connection.getClass().getClassLoader();
+		final Class<?> baseConnectionClass = Class.forName("org.postgresql.core.BaseConnection", true, driverClassLoader);
+		if (!baseConnectionClass.isInstance(connection)) {
+			throw new Exception("Connection is not a PostgreSQL driver connection: " + connection.getClass().getName());
+		}
+		final Class<?> copyManagerClass = Class.forName("org.postgresql.copy.CopyManager", true, driverClassLoader);
+		try {
+			final Object copyManager = copyManagerClass.getConstructor(baseConnectionClass).newInstance(connection);
+			return (Long) copyManagerClass.getMethod("copyOut", String.class, OutputStream.class).invoke(copyManager, copyStatement, outputStream);
+		} catch (final InvocationTargetException e) {
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			} else {
+				throw e;
+			}
+		}
+	}
+
 	public static List<DatabaseForeignKey> getForeignKeys(final Connection connection, String tableName) throws Exception {
 		if (Utilities.isBlank(tableName)) {
 			return null;
@@ -0,0 +1,158 @@
+package de.soderer.utilities.db;
+
+import java.io.File;
+import java.io.Reader;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.temporal.Temporal;
+import java.util.Date;
+
+/**
+ * Keeps the jdbc fetch size of a resultset within a memory budget.
+ * The initial fetch size is derived from the row size estimated by the resultset metadata.
+ * While reading the data, the fetch size is adjusted to the row size observed in the read values.
+ */
+public class FetchSizeGovernor {
+	public static final long DEFAULT_FETCH_MEMORY = 16 * 1024 * 1024;
+
+	public static final int MINIMUM_FETCH_SIZE = 10;
+	public static final int MAXIMUM_FETCH_SIZE = 50000;
+
+	/** Assumed size of lob values and unlimited texts, until real values were observed */
+	private static final int ESTIMATED_LOB_BYTES = 4096;
+
+	/** Memory overhead of each value object in heap */
+	private static final int VALUE_OVERHEAD_BYTES = 16;
+
+	private static final int ADJUSTMENT_INTERVAL_ROWS = 1000;
+
+	private final ResultSet resultSet;
+	private final long fetchMemory;
+	private final long estimatedRowBytes;
+	private int fetchSize;
+
+	private long observedBytes = 0;
+	private long observedRows = 0;
+	private int adjustments = 0;
+
+	public FetchSizeGovernor(final ResultSet resultSet, final long fetchMemory) throws SQLException {
+		this.resultSet = resultSet;
+		this.fetchMemory = fetchMemory;
+
+		final ResultSetMetaData metaData = resultSet.getMetaData();
+		long rowBytes = 0;
+		for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
+			rowBytes += estimateColumnBytes(metaData, columnIndex);
+		}
+		estimatedRowBytes = Math.max(1, rowBytes);
+		fetchSize = getFetchSizeForRowBytes(estimatedRowBytes);
+		resultSet.setFetchSize(fetchSize);
+	}
+
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	public long getEstimatedRowBytes() {
+		return estimatedRowBytes;
+	}
+
+	public long getObservedRowBytes() {
+		return observedRows == 0 ? 0 : observedBytes / observedRows;
+	}
+
+	public int getAdjustments() {
+		return adjustments;
+	}
+
+	public void observeValue(final Object value) {
+		observedBytes += getValueBytes(value);
+	}
+
+	/**
+	 * Count a value, which was read by a primitive getter
+	 */
+	public void observePrimitiveValue() {
+		observedBytes += 8 + VALUE_OVERHEAD_BYTES;
+	}
+
+	/**
+	 * Signal the end of a row. After a number of rows the fetch size is adjusted to the observed row size.
+	 *
+	 * @return true, if the fetch size was changed
+	 */
+	public boolean rowDone() throws SQLException {
+		observedRows++;
+		if (observedRows % ADJUSTMENT_INTERVAL_ROWS == 0) {
+			final int newFetchSize = getFetchSizeForRowBytes(Math.max(1, observedBytes / observedRows));
+			// Small changes are not worth it
+			if (newFetchSize > fetchSize * 5 / 4 || newFetchSize < fetchSize * 3 / 4) {
+				fetchSize = newFetchSize;
+				resultSet.setFetchSize(fetchSize);
+				adjustments++;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int getFetchSizeForRowBytes(final long rowBytes) {
+		return (int) Math.max(MINIMUM_FETCH_SIZE, Math.min(MAXIMUM_FETCH_SIZE, fetchMemory / rowBytes));
+	}
+
+	private static long estimateColumnBytes(final ResultSetMetaData metaData, final int columnIndex) throws SQLException {
+		switch (metaData.getColumnType(columnIndex)) {
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+			case Types.LONGVARCHAR:
+			case Types.LONGNVARCHAR:
+				final int characters = metaData.getColumnDisplaySize(columnIndex);
+				if (characters <= 0 || characters > ESTIMATED_LOB_BYTES) {
+					// Unlimited or very large text columns are mostly filled partially only
+					return ESTIMATED_LOB_BYTES + VALUE_OVERHEAD_BYTES;
+				} else {
+					return 2L * characters + VALUE_OVERHEAD_BYTES;
+				}
+			case Types.BINARY:
+			case Types.VARBINARY:
+			case Types.LONGVARBINARY:
+				final int binaryBytes = metaData.getPrecision(columnIndex);
+				if (binaryBytes <= 0 || binaryBytes > ESTIMATED_LOB_BYTES) {
+					return ESTIMATED_LOB_BYTES + VALUE_OVERHEAD_BYTES;
+				} else {
+					return binaryBytes + VALUE_OVERHEAD_BYTES;
+				}
+			case Types.BLOB:
+			case Types.CLOB:
+			case Types.NCLOB:
+				return ESTIMATED_LOB_BYTES + VALUE_OVERHEAD_BYTES;
+			default:
+				// Numbers, dates and other small values
+				return 8 + VALUE_OVERHEAD_BYTES;
+		}
+	}
+
+	private static long getValueBytes(final Object value) {
+		if (value == null) {
+			return 0;
+		} else if (value instanceof String) {
+			return 2L * ((String) value).length() + VALUE_OVERHEAD_BYTES;
+		} else if (value instanceof byte[]) {
+			return ((byte[]) value).length + VALUE_OVERHEAD_BYTES;
+		} else if (value instanceof File) {
+			// Lob data was already written to a separate file
+			return VALUE_OVERHEAD_BYTES;
+		} else if (value instanceof Reader) {
+			// Lob data is streamed into the output without being held in memory
+			return VALUE_OVERHEAD_BYTES;
+		} else if (value instanceof Number || value instanceof Date || value instanceof Temporal || value instanceof Boolean) {
+			return 8 + VALUE_OVERHEAD_BYTES;
+		} else {
+			return 2L * value.toString().length() + VALUE_OVERHEAD_BYTES;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package de.soderer.utilities.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import de.soderer.utilities.db.DbUtilities.DbVendor;
+
+/**
+ * Read-only transaction for streaming large resultsets.
+ * The PostgreSQL driver ignores the fetch size and reads the whole resultset into the heap while the connection is in autocommit mode.
+ * Only within a transaction it uses a server side cursor, which is fetched in portions of the fetch size.
+ * The previous state of the connection is restored on close.
+ *
+ * For other db vendors and connections, which already are within a transaction, nothing is changed.
+ */
+public class StreamingReadTransaction implements AutoCloseable {
+	private final Connection connection;
+	private boolean transactionStarted = false;
+	private boolean previousReadOnly = false;
+
+	public StreamingReadTransaction(final Connection connection) throws Exception {
+		this.connection = connection;
+		if (DbUtilities.getDbVendor(connection) == DbVendor.PostgreSQL && connection.getAutoCommit()) {
+			previousReadOnly = connection.isReadOnly();
+			if (!previousReadOnly) {
+				// Must be set before the transaction starts
+				connection.setReadOnly(true);
+			}
+			connection.setAutoCommit(false);
+			transactionStarted = true;
+		}
+	}
+
+	public boolean isTransactionStarted() {
+		return transactionStarted;
+	}
+
+	/**
+	 * Create a statement for a large query, whose resultset is streamed as long as this transaction is open
+	 */
+	public Statement createStatementForLargeQuery() throws Exception {
+		return DbUtilities.getStatementForLargeQuery(connection);
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if (transactionStarted) {
+			transactionStarted = false;
+			try {
+				// Nothing was changed, so the transaction is only ended
+				connection.rollback();
+			} finally {
+				if (!previousReadOnly) {
+					connection.setReadOnly(false);
+				}
+				connection.setAutoCommit(true);
+			}
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package de.soderer.utilities.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Check that a large PostgreSQL resultset is streamed within a StreamingReadTransaction with a flat heap usage.
+ *
+ * Usage: java -Xmx64m -cp DbExport.jar:postgresql.jar de.soderer.utilities.db.StreamingReadTransactionCheck [-rows n] [-noTransaction] jdbcUrl user password
+ *
+ * A synthetic table of about 250 bytes per row is generated by the db server with generate_series, so nothing is written into the database.
+ * The default of 5 million rows is about 1.2 GB of data, which does not fit into a small heap, if the driver reads the whole resultset at once.
+ * The check fails with exit code 1 on an OutOfMemoryError, on a wrong number of read rows or if the connection state is not restored afterwards.
+ * With -noTransaction the rows are read in autocommit mode, which is expected to fail with an OutOfMemoryError.
+ */
+public class StreamingReadTransactionCheck {
+	private static final int HEAP_SAMPLE_ROWS = 100000;
+
+	public static void main(final String[] arguments) throws Exception {
+		long rows = 5000000;
+		boolean useTransaction = true;
+		String jdbcUrl = null;
+		String user = null;
+		String password = null;
+		for (int i = 0; i < arguments.length; i++) {
+			if ("-rows".equalsIgnoreCase(arguments[i]) && i + 1 < arguments.length) {
+				rows = Long.parseLong(arguments[++i]);
+			} else if ("-noTransaction".equalsIgnoreCase(arguments[i])) {
+				useTransaction = false;
+			} else if (jdbcUrl == null) {
+				jdbcUrl = arguments[i];
+			} else if (user == null) {
+				user = arguments[i];
+			} else if (password == null) {
+				password = arguments[i];
+			} else {
+				jdbcUrl = null;
+				break;
+			}
+		}
+		if (jdbcUrl == null || user == null || password == null) {
+			System.err.println("Usage: StreamingReadTransactionCheck [-rows n] [-noTransaction] jdbcUrl user password");
+			System.exit(1);
+		}
+
+		final Runtime runtime = Runtime.getRuntime();
+		System.out.println(String.format(Locale.ENGLISH, "Rows: %d, maximum heap: %.1f MB, streaming transaction: %s", rows, runtime.maxMemory() / 1048576.0, useTransaction));
+
+		try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password)) {
+			if (DbUtilities.getDbVendor(connection) != DbUtilities.DbVendor.PostgreSQL) {
+				System.err.println("Not a PostgreSQL connection: " + jdbcUrl);
+				System.exit(1);
+			}
+			connection.setAutoCommit(true);
+			connection.setReadOnly(false);
+
+			final long start = System.nanoTime();
+			long readRows = 0;
+			long readChars = 0;
+			long maximumUsedHeap = 0;
+			final String sqlStatement = "SELECT i, md5(i::text), repeat('x', 200) FROM generate_series(1, " + rows + ") i";
+			try {
+				try (StreamingReadTransaction readTransaction = useTransaction ? new StreamingReadTransaction(connection) : null;
+						Statement statement = useTransaction ? readTransaction.createStatementForLargeQuery() : DbUtilities.getStatementForLargeQuery(connection);
+						ResultSet resultSet = statement.executeQuery(sqlStatement)) {
+					while (resultSet.next()) {
+						readRows++;
+						readChars += resultSet.getString(2).length() + resultSet.getString(3).length();
+						if (readRows % HEAP_SAMPLE_ROWS == 0) {
+							maximumUsedHeap = Math.max(maximumUsedHeap, runtime.totalMemory() - runtime.freeMemory());
+						}
+					}
+				}
+			} catch (final OutOfMemoryError e) {
+				System.err.println("FAILED: OutOfMemoryError after " + readRows + " read rows");
+				System.exit(1);
+			}
+
+			System.out.println(String.format(Locale.ENGLISH, "Read rows: %d (%d chars) in %.1f s, maximum used heap: %.1f MB",
+					readRows,
+					readChars,
+					(System.nanoTime() - start) / 1000000000.0,
+					maximumUsedHeap / 1048576.0));
+
+			if (readRows != rows) {
+				System.err.println("FAILED: Expected " + rows + " rows, but read " + readRows);
+				System.exit(1);
+			} else if (!connection.getAutoCommit() || connection.isReadOnly()) {
+				System.err.println("FAILED: Connection state was not restored (autocommit: " + connection.getAutoCommit() + ", readonly: " + connection.isReadOnly() + ")");
+				System.exit(1);
+			} else {
+				System.out.println("OK");
+			}
+		}
+	}
+}
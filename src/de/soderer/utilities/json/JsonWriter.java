@@ -1,27 +1,46 @@
 package de.soderer.utilities.json;
 
-import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Map.Entry;
 import java.util.Stack;
 
 import de.soderer.utilities.DateUtilities;
+import de.soderer.utilities.OutputSink;
 import de.soderer.utilities.Utilities;
 
 public class JsonWriter implements Closeable {
 	/** Default output encoding. */
 	public static final Charset DEFAULT_ENCODING = StandardCharsets.UTF_8;
 
+	/** Escape sequences of the characters below 0x80, null for characters written as they are */
+	private static final String[] ESCAPE_SEQUENCES = new String[128];
+
+	static {
+		for (int i = 0; i < 0x20; i++) {
+			ESCAPE_SEQUENCES[i] = String.format("\\u%04x", i);
+		}
+		ESCAPE_SEQUENCES['\b'] = "\\b";
+		ESCAPE_SEQUENCES['\f'] = "\\f";
+		ESCAPE_SEQUENCES['\n'] = "\\n";
+		ESCAPE_SEQUENCES['\r'] = "\\r";
+		ESCAPE_SEQUENCES['\t'] = "\\t";
+		ESCAPE_SEQUENCES['"'] = "\\\"";
+		ESCAPE_SEQUENCES['\\'] = "\\\\";
+		ESCAPE_SEQUENCES['/'] = "\\/";
+	}
+
 	/** Output stream. */
 	private OutputStream outputStream;
 
@@ -29,16 +48,26 @@ public class JsonWriter implements Closeable {
 	private final Charset encoding;
 
 	/** Output writer. */
-	private BufferedWriter outputWriter = null;
+	private Writer outputWriter = null;
+
+	/** Size of the output buffer in bytes */
+	private int outputBufferSize = OutputSink.DEFAULT_BUFFER_SIZE;
 
 	private long writtenCharacters = 0;
 
 	private final Stack<JsonStackItem> openJsonStackItems = new Stack<>();
 
 	private String linebreak = "\n";
+	private String commaLinebreak = ",\n";
 	private String indentation = "\t";
 	private String separator = " ";
 
+	/** Reusable buffer for values read from a Reader, created on first use */
+	private char[] streamBuffer = null;
+
+	/** Indentation strings by depth, created on first use */
+	private String[] indentationStrings = new String[0];
+
 	private enum JsonStackItem {
 		Array_Empty,
 		Array,
@@ -56,16 +85,25 @@ public class JsonWriter implements Closeable {
 		this.encoding = encoding == null ? DEFAULT_ENCODING : encoding;
 	}
 
+	/**
+	 * Set the size of the output buffer in bytes. Must be set before the first item is written.
+	 */
+	public void setOutputBufferSize(final int outputBufferSize) {
+		this.outputBufferSize = outputBufferSize;
+	}
+
 	public void setIndentation(final String indentation) {
 		if (indentation == null) {
 			this.indentation = "";
 		} else {
 			this.indentation = indentation;
 		}
+		indentationStrings = new String[0];
 	}
 
 	public void setIndentation(final char indentationCharacter) {
 		indentation = Character.toString(indentationCharacter);
+		indentationStrings = new String[0];
 	}
 
 	public String getLinebreak() {
@@ -78,6 +116,7 @@ public class JsonWriter implements Closeable {
 		} else {
 			this.linebreak = linebreak;
 		}
+		commaLinebreak = "," + this.linebreak;
 	}
 
 	public String getSeparator() {
@@ -106,6 +145,8 @@ public class JsonWriter implements Closeable {
 			indentation = "\t";
 			separator = " ";
 		}
+		commaLinebreak = "," + linebreak;
+		indentationStrings = new String[0];
 	}
 
 	public void openJsonObject() throws Exception {
@@ -119,7 +160,7 @@ public class JsonWriter implements Closeable {
 				throw new Exception("Not matching open Json item for opening object: " + latestOpenJsonItem);
 			} else {
 				if (latestOpenJsonItem == JsonStackItem.Array) {
-					write("," + linebreak, false);
+					write(commaLinebreak, false);
 				} else if (latestOpenJsonItem == JsonStackItem.Array_Empty) {
 					write(linebreak, false);
 				} else if (latestOpenJsonItem == JsonStackItem.Object_Value) {
@@ -144,12 +185,14 @@ public class JsonWriter implements Closeable {
 			throw new Exception("Not matching open Json item for opening object property: " + latestOpenJsonItem);
 		} else {
 			if (latestOpenJsonItem == JsonStackItem.Object) {
-				write("," + linebreak, false);
+				write(commaLinebreak, false);
 			} else {
 				write(linebreak, false);
 			}
 			openJsonStackItems.push(JsonStackItem.Object);
-			write("\"" + formatStringOutput(propertyName) + "\":", true);
+			write("\"", true);
+			writeEscapedString(propertyName);
+			write("\":", false);
 			openJsonStackItems.push(JsonStackItem.Object_Value);
 		}
 	}
@@ -160,31 +203,30 @@ public class JsonWriter implements Closeable {
 			openJsonStackItems.push(latestOpenJsonItem);
 			throw new Exception("Not matching open Json item for adding object property value: " + latestOpenJsonItem);
 		} else {
-			if (propertyValue == null) {
-				write(separator + "null", false);
-			} else if (propertyValue instanceof Boolean) {
-				write(separator + Boolean.toString((Boolean) propertyValue), false);
-			} else if (propertyValue instanceof Date) {
-				write(separator + "\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT, (Date) propertyValue) + "\"", false);
-			} else if (propertyValue instanceof LocalDateTime) {
-				if (((LocalDateTime) propertyValue).getNano() > 0) {
-					write(separator + "\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT_NO_TIMEZONE, (LocalDateTime) propertyValue) + "\"", false);
-				} else {
-					write(separator + "\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT_NO_TIMEZONE, (LocalDateTime) propertyValue) + "\"", false);
-				}
-			} else if (propertyValue instanceof LocalDate) {
-				write(separator + "\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATE_FORMAT_NO_TIMEZONE, (LocalDate) propertyValue) + "\"", false);
-			} else if (propertyValue instanceof ZonedDateTime) {
-				if (((ZonedDateTime) propertyValue).getNano() > 0) {
-					write(separator + "\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT, (ZonedDateTime) propertyValue) + "\"", false);
-				} else {
-					write(separator + "\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT, (ZonedDateTime) propertyValue) + "\"", false);
-				}
-			} else if (propertyValue instanceof Number) {
-				write(separator + ((Number) propertyValue).toString(), false);
-			} else {
-				write(separator + "\"" + formatStringOutput(propertyValue.toString()) + "\"", false);
+			write(separator, false);
+			writeSimpleValue(propertyValue);
+		}
+	}
+
+	/**
+	 * Add a string property value, which is read from a Reader in chunks and escaped incrementally
+	 */
+	public void addStreamedJsonObjectPropertyValue(final Reader propertyValue) throws Exception {
+		final JsonStackItem latestOpenJsonItem = openJsonStackItems.pop();
+		if (latestOpenJsonItem != JsonStackItem.Object_Value) {
+			openJsonStackItems.push(latestOpenJsonItem);
+			throw new Exception("Not matching open Json item for adding object property value: " + latestOpenJsonItem);
+		} else {
+			write(separator, false);
+			write("\"", false);
+			if (streamBuffer == null) {
+				streamBuffer = new char[4096];
+			}
+			int lengthRead;
+			while ((lengthRead = propertyValue.read(streamBuffer)) > -1) {
+				writeEscapedCharacters(streamBuffer, lengthRead);
 			}
+			write("\"", false);
 		}
 	}
 
@@ -216,7 +258,7 @@ public class JsonWriter implements Closeable {
 				throw new Exception("Not matching open Json item for opening array: " + latestOpenJsonItem);
 			} else {
 				if (latestOpenJsonItem == JsonStackItem.Array) {
-					write("," + linebreak, false);
+					write(commaLinebreak, false);
 				} else if (latestOpenJsonItem == JsonStackItem.Array_Empty) {
 					write(linebreak, false);
 				} else if (latestOpenJsonItem == JsonStackItem.Object_Value) {
@@ -241,38 +283,15 @@ public class JsonWriter implements Closeable {
 			throw new Exception("Not matching open Json item for adding array value: " + latestOpenJsonItem);
 		} else {
 			if (latestOpenJsonItem == JsonStackItem.Array) {
-				write("," + linebreak, false);
+				write(commaLinebreak, false);
 			} else {
 				write(linebreak, false);
 			}
 
 			openJsonStackItems.push(JsonStackItem.Array);
 
-			if (arrayValue == null) {
-				write("null", true);
-			} else if (arrayValue instanceof Boolean) {
-				write(Boolean.toString((Boolean) arrayValue), true);
-			} else if (arrayValue instanceof Date) {
-				write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT, (Date) arrayValue) + "\"", true);
-			} else if (arrayValue instanceof LocalDateTime) {
-				if (((LocalDateTime) arrayValue).getNano() > 0) {
-					write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT_NO_TIMEZONE, (LocalDateTime) arrayValue) + "\"", true);
-				} else {
-					write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT_NO_TIMEZONE, (LocalDateTime) arrayValue) + "\"", true);
-				}
-			} else if (arrayValue instanceof LocalDate) {
-				write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATE_FORMAT_NO_TIMEZONE, (LocalDate) arrayValue) + "\"", true);
-			} else if (arrayValue instanceof ZonedDateTime) {
-				if (((ZonedDateTime) arrayValue).getNano() > 0) {
-					write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT, (ZonedDateTime) arrayValue) + "\"", true);
-				} else {
-					write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT, (ZonedDateTime) arrayValue) + "\"", true);
-				}
-			} else if (arrayValue instanceof Number) {
-				write(((Number) arrayValue).toString(), true);
-			} else {
-				write("\"" + formatStringOutput(arrayValue.toString()) + "\"", true);
-			}
+			write("", true);
+			writeSimpleValue(arrayValue);
 		}
 	}
 
@@ -280,31 +299,7 @@ public class JsonWriter implements Closeable {
 		if (writtenCharacters > 0 || openJsonStackItems.size() != 0) {
 			throw new Exception("Not matching empty Json output for adding simple value");
 		} else {
-			if (value == null) {
-				write("null", true);
-			} else if (value instanceof Boolean) {
-				write(Boolean.toString((Boolean) value), true);
-			} else if (value instanceof Date) {
-				write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT, (Date) value) + "\"", true);
-			} else if (value instanceof LocalDateTime) {
-				if (((LocalDateTime) value).getNano() > 0) {
-					write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT_NO_TIMEZONE, (LocalDateTime) value) + "\"", true);
-				} else {
-					write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT_NO_TIMEZONE, (LocalDateTime) value) + "\"", true);
-				}
-			} else if (value instanceof LocalDate) {
-				write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATE_FORMAT_NO_TIMEZONE, (LocalDate) value) + "\"", true);
-			} else if (value instanceof ZonedDateTime) {
-				if (((ZonedDateTime) value).getNano() > 0) {
-					write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT, (ZonedDateTime) value) + "\"", true);
-				} else {
-					write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT, (ZonedDateTime) value) + "\"", true);
-				}
-			} else if (value instanceof Number) {
-				write(((Number) value).toString(), true);
-			} else {
-				write("\"" + value.toString().replace("\"", "\\\"") + "\"", true);
-			}
+			writeSimpleValue(value);
 		}
 	}
 
@@ -419,12 +414,103 @@ public class JsonWriter implements Closeable {
 			if (outputStream == null) {
 				throw new IllegalStateException("JsonWriter is already closed");
 			}
-			outputWriter = new BufferedWriter(new OutputStreamWriter(outputStream, encoding));
+			outputWriter = OutputSink.createWriter(outputStream, encoding, outputBufferSize);
+		}
+
+		if (indent) {
+			final String indentationString = getIndentationString(openJsonStackItems.size());
+			writtenCharacters += indentationString.length();
+			outputWriter.write(indentationString);
+		}
+		writtenCharacters += text.length();
+		outputWriter.write(text);
+	}
+
+	private void writeSimpleValue(final Object value) throws IOException {
+		if (value == null) {
+			write("null", false);
+		} else if (value instanceof Boolean) {
+			write(Boolean.toString((Boolean) value), false);
+		} else if (value instanceof Date) {
+			write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT, (Date) value) + "\"", false);
+		} else if (value instanceof LocalDateTime) {
+			if (((LocalDateTime) value).getNano() > 0) {
+				write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT_NO_TIMEZONE, (LocalDateTime) value) + "\"", false);
+			} else {
+				write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT_NO_TIMEZONE, (LocalDateTime) value) + "\"", false);
+			}
+		} else if (value instanceof LocalDate) {
+			write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATE_FORMAT_NO_TIMEZONE, (LocalDate) value) + "\"", false);
+		} else if (value instanceof ZonedDateTime) {
+			if (((ZonedDateTime) value).getNano() > 0) {
+				write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT, (ZonedDateTime) value) + "\"", false);
+			} else {
+				write("\"" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT, (ZonedDateTime) value) + "\"", false);
+			}
+		} else if (value instanceof Number) {
+			write(((Number) value).toString(), false);
+		} else {
+			write("\"", false);
+			writeEscapedString(value.toString());
+			write("\"", false);
 		}
+	}
 
-		final String dataToWrite = (indent ? Utilities.repeat(indentation, openJsonStackItems.size()) : "") + text;
-		writtenCharacters += dataToWrite.length();
-		outputWriter.write(dataToWrite);
+	/**
+	 * Write a string value escaped in one pass. Parts without special characters are written without copying.
+	 */
+	private void writeEscapedString(final String value) throws IOException {
+		final int length = value.length();
+		int segmentStart = 0;
+		for (int i = 0; i < length; i++) {
+			final char character = value.charAt(i);
+			if (character < ESCAPE_SEQUENCES.length && ESCAPE_SEQUENCES[character] != null) {
+				if (i > segmentStart) {
+					outputWriter.write(value, segmentStart, i - segmentStart);
+				}
+				final String escapeSequence = ESCAPE_SEQUENCES[character];
+				outputWriter.write(escapeSequence);
+				writtenCharacters += escapeSequence.length() - 1;
+				segmentStart = i + 1;
+			}
+		}
+		if (segmentStart < length) {
+			outputWriter.write(value, segmentStart, length - segmentStart);
+		}
+		writtenCharacters += length;
+	}
+
+	/**
+	 * Write a part of a string value escaped. Parts without special characters are written without copying.
+	 */
+	private void writeEscapedCharacters(final char[] characters, final int length) throws IOException {
+		int segmentStart = 0;
+		for (int i = 0; i < length; i++) {
+			final char character = characters[i];
+			if (character < ESCAPE_SEQUENCES.length && ESCAPE_SEQUENCES[character] != null) {
+				if (i > segmentStart) {
+					outputWriter.write(characters, segmentStart, i - segmentStart);
+				}
+				final String escapeSequence = ESCAPE_SEQUENCES[character];
+				outputWriter.write(escapeSequence);
+				writtenCharacters += escapeSequence.length() - 1;
+				segmentStart = i + 1;
+			}
+		}
+		if (segmentStart < length) {
+			outputWriter.write(characters, segmentStart, length - segmentStart);
+		}
+		writtenCharacters += length;
+	}
+
+	private String getIndentationString(final int depth) {
+		if (depth >= indentationStrings.length) {
+			indentationStrings = Arrays.copyOf(indentationStrings, Math.max(depth + 1, indentationStrings.length * 2));
+		}
+		if (indentationStrings[depth] == null) {
+			indentationStrings[depth] = Utilities.repeat(indentation, depth);
+		}
+		return indentationStrings[depth];
 	}
 
 	/**
@@ -539,14 +625,23 @@ public class JsonWriter implements Closeable {
 	}
 
 	public static String formatStringOutput(final String value) {
-		return value
-				.replace("\\", "\\\\")
-				.replace("\"", "\\\"")
-				.replace("/", "\\/")
-				.replace("\b", "\\b")
-				.replace("\f", "\\f")
-				.replace("\r", "\\r")
-				.replace("\n", "\\n")
-				.replace("\t", "\\t");
+		final int length = value.length();
+		StringBuilder escapedValue = null;
+		int segmentStart = 0;
+		for (int i = 0; i < length; i++) {
+			final char character = value.charAt(i);
+			if (character < ESCAPE_SEQUENCES.length && ESCAPE_SEQUENCES[character] != null) {
+				if (escapedValue == null) {
+					escapedValue = new StringBuilder(length + 16);
+				}
+				escapedValue.append(value, segmentStart, i).append(ESCAPE_SEQUENCES[character]);
+				segmentStart = i + 1;
+			}
+		}
+		if (escapedValue == null) {
+			return value;
+		} else {
+			return escapedValue.append(value, segmentStart, length).toString();
+		}
 	}
 }
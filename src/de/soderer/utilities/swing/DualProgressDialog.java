@@ -83,7 +83,7 @@ public class DualProgressDialog<T extends WorkerDual<?>> extends ProgressDialog<
 	public void receiveItemProgressSignal(final LocalDateTime itemStart, final long subItemsToDo, final long subItemsDone, final String itemsUnitSign) {
 		if (SwingUtilities.isEventDispatchThread()) {
 			updateProgressBar(subItemProgressBar, itemStart, subItemsToDo, subItemsDone);
-			final String labelText = subCommentStringFormat.replace("{0}", Long.toString(subItemsDone)).replace("{1}", Long.toString(subItemsToDo)).replace("{2}", Long.toString(subItemsDone * 100 / subItemsToDo));
+			final String labelText = subCommentStringFormat.replace("{0}", Long.toString(subItemsDone)).replace("{1}", Long.toString(subItemsToDo)).replace("{2}", Long.toString(subItemsToDo > 0 ? subItemsDone * 100 / subItemsToDo : 0));
 			subItemLabel.setText(labelText);
 		} else {
 			SwingUtilities.invokeLater(new Runnable() {
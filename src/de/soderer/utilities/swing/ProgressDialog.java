@@ -144,7 +144,7 @@ public class ProgressDialog<T extends WorkerSimple<?>> extends ModalDialog<Resul
 		if (SwingUtilities.isEventDispatchThread()) {
 			updateProgressBar(progressBar, start, itemsToDo, itemsDone);
 			if (commentLabel != null) {
-				final String labelText = commentStringFormat.replace("{0}", Long.toString(itemsDone)).replace("{1}", Long.toString(itemsToDo)).replace("{2}", Long.toString(itemsDone * 100 / itemsToDo));
+				final String labelText = commentStringFormat.replace("{0}", Long.toString(itemsDone)).replace("{1}", Long.toString(itemsToDo)).replace("{2}", Long.toString(itemsToDo > 0 ? itemsDone * 100 / itemsToDo : 0));
 				commentLabel.setText(labelText);
 			}
 		} else {
@@ -201,6 +201,14 @@ public class ProgressDialog<T extends WorkerSimple<?>> extends ModalDialog<Resul
 	}
 
 	protected static void updateProgressBar(final JProgressBar progressBar, final LocalDateTime start, final long itemsToDo, final long itemsDone) {
+		if (itemsToDo <= 0) {
+			// Number of items is unknown
+			progressBar.setIndeterminate(true);
+			progressBar.setStringPainted(false);
+			progressBar.setToolTipText(null);
+			return;
+		}
+
 		int value;
 		if (itemsToDo > 0) {
 			value = (int) (itemsDone * 100 / itemsToDo);
@@ -2,6 +2,7 @@ package de.soderer.utilities.xml;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -24,6 +25,8 @@ public class IndentedXMLStreamWriter implements XMLStreamWriter, AutoCloseable {
 
 	private final OutputStream outputStream;
 
+	private final Writer outputWriter;
+
 	private final XMLStreamWriter writer;
 
 	private final Charset encoding;
@@ -42,11 +45,24 @@ public class IndentedXMLStreamWriter implements XMLStreamWriter, AutoCloseable {
 
 	public IndentedXMLStreamWriter(final OutputStream outputStream, final Charset encoding, final String indentationString) throws Exception {
 		this.outputStream = outputStream;
+		outputWriter = null;
 		writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, encoding.name());
 		this.encoding = encoding;
 		this.indentationString = indentationString;
 	}
 
+	/**
+	 * Writer based constructor. The encoding is only used for the xml declaration, the characters are encoded by the given writer.
+	 * The writer is not closed by close().
+	 */
+	public IndentedXMLStreamWriter(final Writer outputWriter, final Charset encoding, final String indentationString) throws Exception {
+		outputStream = null;
+		this.outputWriter = outputWriter;
+		writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputWriter);
+		this.encoding = encoding;
+		this.indentationString = indentationString;
+	}
+
 	private static String multiplyCharacter(final char charcterToMulitply, final int times) {
 		final StringBuilder indentationStringBuilder = new StringBuilder();
 		for (int i = 0; i < times; i++) {
@@ -83,7 +99,11 @@ public class IndentedXMLStreamWriter implements XMLStreamWriter, AutoCloseable {
 		}
 		xmlDeclBuilder.append("?>\n");
 		try {
-			outputStream.write(xmlDeclBuilder.toString().getBytes(StandardCharsets.UTF_8));
+			if (outputWriter != null) {
+				outputWriter.write(xmlDeclBuilder.toString());
+			} else {
+				outputStream.write(xmlDeclBuilder.toString().getBytes(StandardCharsets.UTF_8));
+			}
 		} catch (final IOException e) {
 			throw new XMLStreamException(e);
 		}
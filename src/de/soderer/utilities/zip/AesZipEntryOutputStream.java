@@ -0,0 +1,122 @@
+package de.soderer.utilities.zip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * WinZip AES-256 encryption (AE-2) of the compressed data of a zip entry.
+ *
+ * The keys are derived from the password and a random salt by PBKDF2-HMAC-SHA1.
+ * The data is encrypted by AES in counter mode with a little endian counter starting at 1 and authenticated by HMAC-SHA1 of the encrypted data.
+ * Output is the salt, the password verifier, the encrypted data and the first 10 bytes of the authentication code.
+ */
+public class AesZipEntryOutputStream extends ZipEntryEncryptingOutputStream {
+	/** Compression method of AES encrypted zip entries, the real compression method is stored in the extra field */
+	public static final int COMPRESSION_METHOD = 99;
+
+	public static final int EXTRA_FIELD_ID = 0x9901;
+
+	/** Length of the AES extra field data */
+	public static final int EXTRA_FIELD_LENGTH = 7;
+
+	/** AE-2 stores no CRC-32, the data is authenticated by the HMAC */
+	public static final int VENDOR_VERSION = 2;
+
+	/** Key strength code of AES-256 */
+	public static final int KEY_STRENGTH = 3;
+
+	private static final int KEY_LENGTH = 32;
+	private static final int SALT_LENGTH = 16;
+	private static final int PASSWORD_VERIFIER_LENGTH = 2;
+	private static final int AUTHENTICATION_CODE_LENGTH = 10;
+	private static final int KEY_DERIVATION_ITERATIONS = 1000;
+	private static final int BLOCK_SIZE = 16;
+
+	private final Cipher cipher;
+	private final Mac mac;
+
+	/** Counter blocks and the key stream encrypted from them */
+	private final byte[] counterBlocks = new byte[BUFFER_SIZE];
+	private final byte[] keyStream = new byte[BUFFER_SIZE];
+	private int keyStreamPosition = BUFFER_SIZE;
+	private long counter = 0;
+
+	private final byte[] encryptedData = new byte[BUFFER_SIZE];
+	private boolean finished = false;
+
+	public AesZipEntryOutputStream(final OutputStream outputStream, final char[] password, final SecureRandom random) throws IOException {
+		super(outputStream);
+
+		final byte[] salt = new byte[SALT_LENGTH];
+		random.nextBytes(salt);
+		try {
+			final byte[] derivedKey = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA1")
+					.generateSecret(new PBEKeySpec(password, salt, KEY_DERIVATION_ITERATIONS, (2 * KEY_LENGTH + PASSWORD_VERIFIER_LENGTH) * 8))
+					.getEncoded();
+			cipher = Cipher.getInstance("AES/ECB/NoPadding");
+			cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(derivedKey, 0, KEY_LENGTH, "AES"));
+			mac = Mac.getInstance("HmacSHA1");
+			mac.init(new SecretKeySpec(derivedKey, KEY_LENGTH, KEY_LENGTH, "HmacSHA1"));
+
+			writeOutput(salt, 0, SALT_LENGTH);
+			writeOutput(derivedKey, 2 * KEY_LENGTH, PASSWORD_VERIFIER_LENGTH);
+		} catch (final GeneralSecurityException e) {
+			throw new IOException("AES encryption is not available: " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void write(final byte[] data, int offset, int length) throws IOException {
+		if (finished) {
+			throw new IOException("AesZipEntryOutputStream is already finished");
+		}
+
+		while (length > 0) {
+			final int chunkLength = Math.min(length, encryptedData.length);
+			for (int i = 0; i < chunkLength; i++) {
+				if (keyStreamPosition == keyStream.length) {
+					createKeyStream();
+				}
+				encryptedData[i] = (byte) (data[offset + i] ^ keyStream[keyStreamPosition++]);
+			}
+			mac.update(encryptedData, 0, chunkLength);
+			writeOutput(encryptedData, 0, chunkLength);
+			offset += chunkLength;
+			length -= chunkLength;
+		}
+	}
+
+	@Override
+	public void finish() throws IOException {
+		if (!finished) {
+			finished = true;
+			writeOutput(mac.doFinal(), 0, AUTHENTICATION_CODE_LENGTH);
+		}
+	}
+
+	/**
+	 * Encrypt the next counter blocks. The key stream continues over all writes, so only the last block of the data may be incomplete.
+	 */
+	private void createKeyStream() throws IOException {
+		for (int blockStart = 0; blockStart < counterBlocks.length; blockStart += BLOCK_SIZE) {
+			counter++;
+			for (int i = 0; i < 8; i++) {
+				counterBlocks[blockStart + i] = (byte) (counter >>> (8 * i));
+			}
+		}
+		try {
+			cipher.update(counterBlocks, 0, counterBlocks.length, keyStream, 0);
+		} catch (final GeneralSecurityException e) {
+			throw new IOException("AES encryption failed: " + e.getMessage(), e);
+		}
+		keyStreamPosition = 0;
+	}
+}
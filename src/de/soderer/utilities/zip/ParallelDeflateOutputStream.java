@@ -0,0 +1,308 @@
+package de.soderer.utilities.zip;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * OutputStream compressing its data into a raw deflate stream (RFC 1951, without zlib or gzip header) like pigz does.
+ *
+ * The data is split into independent blocks, which are deflated in parallel by a pool of threads.
+ * Each block uses the last 32 KB of the previous block as its dictionary, so the compression ratio is nearly the same as for sequential deflate.
+ * All blocks except the last one are ended by a sync flush, so their compressed data is byte aligned and is simply concatenated.
+ * The result is a single valid deflate stream, which may be used as data of a zip entry or a gzip member.
+ *
+ * The CRC-32 and the sizes of the uncompressed and compressed data are available after finish() for the zip or gzip headers.
+ * Instances are not thread-safe.
+ */
+public class ParallelDeflateOutputStream extends OutputStream {
+	/** Default size of the independently deflated blocks, like pigz */
+	public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+	/** Size of the deflate window, which is preset from the previous block */
+	private static final int DICTIONARY_SIZE = 32 * 1024;
+
+	private final OutputStream outputStream;
+	private final int level;
+	private final int blockSize;
+	private final ExecutorService executorService;
+	private final boolean ownExecutorService;
+	private final int maximumPendingBlocks;
+
+	/** Deflaters are reused by the blocks and ended on finish */
+	private final ConcurrentLinkedQueue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+
+	/** Set on finish, blocks still running afterwards end their Deflater instead of returning it. Guarded by deflaters */
+	private boolean deflatersEnded = false;
+
+	/** Compressed blocks in output order */
+	private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+
+	private final CRC32 crc = new CRC32();
+	private byte[] block;
+	private int blockLength = 0;
+	private byte[] previousBlock = null;
+	private int previousBlockLength = 0;
+	private long bytesRead = 0;
+	private long bytesWritten = 0;
+	private boolean finished = false;
+	private boolean closed = false;
+
+	/**
+	 * Create a stream with its own pool of threads, which is shut down on close
+	 *
+	 * @param level
+	 *            Deflater compression level 0 to 9 or Deflater.DEFAULT_COMPRESSION
+	 */
+	public ParallelDeflateOutputStream(final OutputStream outputStream, final int level, final int threads) {
+		this(outputStream, level, DEFAULT_BLOCK_SIZE, Executors.newFixedThreadPool(Math.max(1, threads), ParallelDeflateOutputStream::createDaemonThread), true, Math.max(1, threads));
+	}
+
+	/**
+	 * Create a stream using a pool of threads, which is shared with other streams and stays open.
+	 * Without pool (executorService null) the blocks are deflated by the calling thread.
+	 */
+	public ParallelDeflateOutputStream(final OutputStream outputStream, final int level, final int blockSize, final ExecutorService executorService, final int threads) {
+		this(outputStream, level, blockSize, executorService, false, Math.max(1, threads));
+	}
+
+	private ParallelDeflateOutputStream(final OutputStream outputStream, final int level, final int blockSize, final ExecutorService executorService, final boolean ownExecutorService, final int threads) {
+		if (outputStream == null) {
+			throw new IllegalArgumentException("OutputStream is null");
+		} else if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		} else if (blockSize < DICTIONARY_SIZE) {
+			throw new IllegalArgumentException("Block size must be at least " + DICTIONARY_SIZE + " bytes");
+		}
+
+		this.outputStream = outputStream;
+		this.level = level;
+		this.blockSize = blockSize;
+		this.executorService = executorService;
+		this.ownExecutorService = ownExecutorService;
+		// Two blocks per thread keep all threads busy, while the oldest block is written
+		maximumPendingBlocks = 2 * threads;
+		block = new byte[blockSize];
+	}
+
+	/**
+	 * Thread of a compression pool, which does not keep the application running
+	 */
+	public static Thread createDaemonThread(final Runnable runnable) {
+		final Thread thread = new Thread(runnable, "ParallelDeflate");
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	@Override
+	public void write(final int byteValue) throws IOException {
+		ensureOpen();
+		block[blockLength++] = (byte) byteValue;
+		crc.update(byteValue);
+		bytesRead++;
+		if (blockLength == blockSize) {
+			submitBlock(false);
+		}
+	}
+
+	@Override
+	public void write(final byte[] data, int offset, int length) throws IOException {
+		ensureOpen();
+		crc.update(data, offset, length);
+		bytesRead += length;
+		while (length > 0) {
+			final int copyLength = Math.min(length, blockSize - blockLength);
+			System.arraycopy(data, offset, block, blockLength, copyLength);
+			blockLength += copyLength;
+			offset += copyLength;
+			length -= copyLength;
+			if (blockLength == blockSize) {
+				submitBlock(false);
+			}
+		}
+	}
+
+	/**
+	 * Write all blocks compressed until now. The current incomplete block is kept, because flushing it would make the compression worse.
+	 */
+	@Override
+	public void flush() throws IOException {
+		while (!pendingBlocks.isEmpty()) {
+			writeOldestBlock();
+		}
+		outputStream.flush();
+	}
+
+	/**
+	 * Write the last block and all pending blocks, which ends the deflate stream. The underlying OutputStream stays open.
+	 */
+	public void finish() throws IOException {
+		if (!finished) {
+			try {
+				submitBlock(true);
+				while (!pendingBlocks.isEmpty()) {
+					writeOldestBlock();
+				}
+			} finally {
+				finished = true;
+				block = null;
+				previousBlock = null;
+				endDeflaters();
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			try {
+				finish();
+				outputStream.flush();
+			} finally {
+				closed = true;
+				if (ownExecutorService) {
+					executorService.shutdownNow();
+				}
+				outputStream.close();
+			}
+		}
+	}
+
+	/**
+	 * CRC-32 of the uncompressed data
+	 */
+	public long getCrc() {
+		return crc.getValue();
+	}
+
+	/**
+	 * Number of uncompressed bytes written into this stream
+	 */
+	public long getBytesRead() {
+		return bytesRead;
+	}
+
+	/**
+	 * Number of compressed bytes written to the underlying OutputStream
+	 */
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	private void submitBlock(final boolean lastBlock) throws IOException {
+		final byte[] data = block;
+		final int dataLength = blockLength;
+		final byte[] dictionary = previousBlock;
+		final int dictionaryLength = Math.min(DICTIONARY_SIZE, previousBlockLength);
+		final int dictionaryOffset = previousBlockLength - dictionaryLength;
+
+		if (pendingBlocks.size() >= maximumPendingBlocks) {
+			writeOldestBlock();
+		}
+		if (executorService == null) {
+			pendingBlocks.add(CompletableFuture.completedFuture(deflateBlock(data, dataLength, dictionary, dictionaryOffset, dictionaryLength, lastBlock)));
+		} else {
+			pendingBlocks.add(executorService.submit(() -> deflateBlock(data, dataLength, dictionary, dictionaryOffset, dictionaryLength, lastBlock)));
+		}
+
+		// The submitted block is still needed as dictionary of the next block, so the next block gets a new buffer
+		previousBlock = data;
+		previousBlockLength = dataLength;
+		if (!lastBlock) {
+			block = new byte[blockSize];
+		}
+		blockLength = 0;
+	}
+
+	private byte[] deflateBlock(final byte[] data, final int dataLength, final byte[] dictionary, final int dictionaryOffset, final int dictionaryLength, final boolean lastBlock) {
+		Deflater deflater = deflaters.poll();
+		if (deflater == null) {
+			deflater = new Deflater(level, true);
+		}
+		try {
+			if (dictionaryLength > 0) {
+				deflater.setDictionary(dictionary, dictionaryOffset, dictionaryLength);
+			}
+			deflater.setInput(data, 0, dataLength);
+
+			// Deflate never grows data by more than a few bytes per 16 KB stored block
+			byte[] output = new byte[dataLength + dataLength / 1000 + 64];
+			int outputLength = 0;
+			if (lastBlock) {
+				deflater.finish();
+				while (!deflater.finished()) {
+					if (outputLength == output.length) {
+						output = Arrays.copyOf(output, output.length * 2);
+					}
+					outputLength += deflater.deflate(output, outputLength, output.length - outputLength);
+				}
+			} else {
+				// A sync flush is complete, when the output buffer was not filled
+				int deflatedLength;
+				do {
+					if (outputLength == output.length) {
+						output = Arrays.copyOf(output, output.length * 2);
+					}
+					deflatedLength = deflater.deflate(output, outputLength, output.length - outputLength, Deflater.SYNC_FLUSH);
+					outputLength += deflatedLength;
+				} while (outputLength == output.length);
+			}
+			return outputLength == output.length ? output : Arrays.copyOf(output, outputLength);
+		} finally {
+			deflater.reset();
+			synchronized (deflaters) {
+				if (deflatersEnded) {
+					// Block of a failed stream, which was already running when it was cancelled
+					deflater.end();
+				} else {
+					deflaters.add(deflater);
+				}
+			}
+		}
+	}
+
+	private void writeOldestBlock() throws IOException {
+		final byte[] compressedBlock;
+		try {
+			compressedBlock = pendingBlocks.poll().get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Compression was interrupted");
+		} catch (final ExecutionException e) {
+			throw new IOException("Compression failed: " + e.getCause().getMessage(), e.getCause());
+		}
+		outputStream.write(compressedBlock);
+		bytesWritten += compressedBlock.length;
+	}
+
+	private void endDeflaters() {
+		for (final Future<byte[]> pendingBlock : pendingBlocks) {
+			pendingBlock.cancel(false);
+		}
+		pendingBlocks.clear();
+		synchronized (deflaters) {
+			deflatersEnded = true;
+			Deflater deflater;
+			while ((deflater = deflaters.poll()) != null) {
+				deflater.end();
+			}
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (finished) {
+			throw new IOException("ParallelDeflateOutputStream is already finished");
+		}
+	}
+}
@@ -0,0 +1,484 @@
+package de.soderer.utilities.zip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ZipOutputStream, which deflates the data of its entries in independent blocks on a pool of threads (see ParallelDeflateOutputStream).
+ * With a password the compressed data is encrypted while it is written, by WinZip AES-256 or by the traditional PKWARE encryption (ZipCrypto).
+ *
+ * Entries are always deflated and are written with a data descriptor, because their CRC-32 and sizes are known only after their data.
+ * Zip64 extensions are used for sizes, offsets and entry counts beyond the limits of the standard zip format, like ZipOutputStream does.
+ * The output is readable by standard unzip tools.
+ */
+public class ParallelZipOutputStream extends ZipOutputStream {
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+	private static final int END_SIGNATURE = 0x06054b50;
+
+	private static final int VERSION = 20;
+	private static final int ZIP64_VERSION = 45;
+	private static final int AES_VERSION = 51;
+	private static final int FLAG_ENCRYPTED = 0x01;
+	private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+	private static final int FLAG_UTF8_NAME = 0x800;
+	private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+
+	private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+	private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+	private final int threads;
+	private final ExecutorService executorService;
+	private final char[] password;
+	private final boolean useZipCrypto;
+	private final SecureRandom random;
+	private int level;
+	private byte[] comment = null;
+
+	private final List<EntryData> entries = new ArrayList<>();
+	private final Set<String> entryNames = new HashSet<>();
+	private EntryData currentEntry = null;
+	private ParallelDeflateOutputStream entryStream = null;
+	private ZipEntryEncryptingOutputStream encryptingStream = null;
+
+	/** Number of bytes written to the underlying OutputStream */
+	private long offset = 0;
+	private final byte[] numberBuffer = new byte[8];
+
+	private boolean finished = false;
+	private boolean closed = false;
+
+	/**
+	 * @param level
+	 *            Deflater compression level 0 to 9 or Deflater.DEFAULT_COMPRESSION
+	 * @param threads
+	 *            Number of threads compressing the data
+	 */
+	public ParallelZipOutputStream(final OutputStream outputStream, final int level, final int threads) {
+		this(outputStream, level, threads, null, false);
+	}
+
+	/**
+	 * @param level
+	 *            Deflater compression level 0 to 9 or Deflater.DEFAULT_COMPRESSION
+	 * @param threads
+	 *            Number of threads compressing the data, 1 to compress in the calling thread
+	 * @param password
+	 *            Password to encrypt all entries or null for unencrypted entries
+	 * @param useZipCrypto
+	 *            Use the weak traditional PKWARE encryption instead of AES-256
+	 */
+	public ParallelZipOutputStream(final OutputStream outputStream, final int level, final int threads, final char[] password, final boolean useZipCrypto) {
+		super(outputStream);
+		if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		} else if (password != null && password.length == 0) {
+			throw new IllegalArgumentException("Empty zip password");
+		}
+		this.level = level;
+		this.threads = Math.max(1, threads);
+		executorService = this.threads > 1 ? Executors.newFixedThreadPool(this.threads, ParallelDeflateOutputStream::createDaemonThread) : null;
+		this.password = password;
+		this.useZipCrypto = useZipCrypto;
+		random = password != null ? new SecureRandom() : null;
+	}
+
+	@Override
+	public void setComment(final String comment) {
+		this.comment = comment == null ? null : comment.getBytes(StandardCharsets.UTF_8);
+		if (this.comment != null && this.comment.length > 0xFFFF) {
+			throw new IllegalArgumentException("ZIP file comment too long");
+		}
+	}
+
+	/**
+	 * Only the default method DEFLATED is supported
+	 */
+	@Override
+	public void setMethod(final int method) {
+		if (method != DEFLATED) {
+			throw new IllegalArgumentException("ParallelZipOutputStream supports deflated entries only");
+		}
+	}
+
+	/**
+	 * Set the compression level of the following entries
+	 */
+	@Override
+	public void setLevel(final int level) {
+		if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		}
+		this.level = level;
+	}
+
+	@Override
+	public void putNextEntry(final ZipEntry entry) throws IOException {
+		ensureOpen();
+		if (currentEntry != null) {
+			closeEntry();
+		}
+		entryStream = new ParallelDeflateOutputStream(startEntry(entry), level, ParallelDeflateOutputStream.DEFAULT_BLOCK_SIZE, executorService, threads);
+	}
+
+	/**
+	 * Write an entry, whose data was already deflated into a raw deflate stream (e.g. by a ParallelDeflateOutputStream), without compressing it again.
+	 * With a password the deflated data is encrypted while it is copied.
+	 *
+	 * @param crc
+	 *            CRC-32 of the uncompressed data
+	 * @param size
+	 *            Size of the uncompressed data
+	 */
+	public void putDeflatedEntry(final ZipEntry entry, final InputStream deflatedData, final long crc, final long size) throws IOException {
+		ensureOpen();
+		if (currentEntry != null) {
+			closeEntry();
+		}
+		final OutputStream compressedDataStream = startEntry(entry);
+		final byte[] buffer = new byte[8192];
+		long deflatedSize = 0;
+		int length;
+		while ((length = deflatedData.read(buffer)) > -1) {
+			compressedDataStream.write(buffer, 0, length);
+			deflatedSize += length;
+		}
+		endEntry(crc, size, deflatedSize);
+	}
+
+	@Override
+	public void closeEntry() throws IOException {
+		ensureOpen();
+		if (currentEntry != null) {
+			entryStream.finish();
+			endEntry(entryStream.getCrc(), entryStream.getBytesRead(), entryStream.getBytesWritten());
+			entryStream = null;
+		}
+	}
+
+	/**
+	 * Write the local header of an entry and open the stream for its compressed data, which encrypts the data if needed
+	 */
+	private OutputStream startEntry(final ZipEntry entry) throws IOException {
+		if (entry.getMethod() == STORED) {
+			throw new ZipException("ParallelZipOutputStream supports deflated entries only: " + entry.getName());
+		} else if (!entryNames.add(entry.getName())) {
+			throw new ZipException("duplicate entry: " + entry.getName());
+		}
+
+		currentEntry = new EntryData(entry, offset, password != null, password != null && !useZipCrypto);
+		writeInt(LOCAL_HEADER_SIGNATURE);
+		writeShort(currentEntry.aes ? AES_VERSION : VERSION);
+		writeShort(currentEntry.flags);
+		writeShort(currentEntry.aes ? AesZipEntryOutputStream.COMPRESSION_METHOD : DEFLATED);
+		writeInt(currentEntry.dosTime);
+		// CRC-32 and sizes follow in the data descriptor
+		writeInt(0);
+		writeInt(0);
+		writeInt(0);
+		writeShort(currentEntry.name.length);
+		writeShort(currentEntry.aes ? 4 + AesZipEntryOutputStream.EXTRA_FIELD_LENGTH : 0);
+		writeBytes(currentEntry.name);
+		if (currentEntry.aes) {
+			writeAesExtraField();
+		}
+
+		if (currentEntry.aes) {
+			encryptingStream = new AesZipEntryOutputStream(out, password, random);
+			return encryptingStream;
+		} else if (password != null) {
+			encryptingStream = new ZipCryptoEntryOutputStream(out, password, (currentEntry.dosTime >>> 8) & 0xFF, random);
+			return encryptingStream;
+		} else {
+			return out;
+		}
+	}
+
+	/**
+	 * Finish the encryption of the current entry and write its data descriptor
+	 */
+	private void endEntry(final long crc, final long size, final long deflatedSize) throws IOException {
+		if (encryptingStream != null) {
+			encryptingStream.finish();
+			currentEntry.compressedSize = encryptingStream.getBytesWritten();
+		} else {
+			currentEntry.compressedSize = deflatedSize;
+		}
+		currentEntry.crc = crc;
+		currentEntry.size = size;
+		offset += currentEntry.compressedSize;
+		currentEntry.entry.setCrc(currentEntry.crc);
+		currentEntry.entry.setSize(currentEntry.size);
+		currentEntry.entry.setCompressedSize(currentEntry.compressedSize);
+
+		writeInt(DATA_DESCRIPTOR_SIGNATURE);
+		writeInt(currentEntry.getStoredCrc());
+		if (currentEntry.size >= ZIP64_MAGIC_VALUE || currentEntry.compressedSize >= ZIP64_MAGIC_VALUE) {
+			writeLong(currentEntry.compressedSize);
+			writeLong(currentEntry.size);
+		} else {
+			writeInt(currentEntry.compressedSize);
+			writeInt(currentEntry.size);
+		}
+
+		entries.add(currentEntry);
+		currentEntry = null;
+		encryptingStream = null;
+	}
+
+	@Override
+	public void write(final int byteValue) throws IOException {
+		ensureEntry();
+		entryStream.write(byteValue);
+	}
+
+	@Override
+	public void write(final byte[] data, final int offset, final int length) throws IOException {
+		ensureEntry();
+		entryStream.write(data, offset, length);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (entryStream != null) {
+			entryStream.flush();
+		} else {
+			out.flush();
+		}
+	}
+
+	/**
+	 * Close the current entry and write the central directory. The underlying OutputStream stays open.
+	 */
+	@Override
+	public void finish() throws IOException {
+		ensureOpen();
+		if (!finished) {
+			if (currentEntry != null) {
+				closeEntry();
+			}
+
+			final long centralDirectoryOffset = offset;
+			for (final EntryData entryData : entries) {
+				writeCentralHeader(entryData);
+			}
+			final long centralDirectoryLength = offset - centralDirectoryOffset;
+
+			final boolean zip64 = entries.size() >= ZIP64_MAGIC_COUNT || centralDirectoryOffset >= ZIP64_MAGIC_VALUE || centralDirectoryLength >= ZIP64_MAGIC_VALUE;
+			if (zip64) {
+				final long zip64EndOffset = offset;
+				writeInt(ZIP64_END_SIGNATURE);
+				writeLong(44);
+				writeShort(ZIP64_VERSION);
+				writeShort(ZIP64_VERSION);
+				writeInt(0);
+				writeInt(0);
+				writeLong(entries.size());
+				writeLong(entries.size());
+				writeLong(centralDirectoryLength);
+				writeLong(centralDirectoryOffset);
+
+				writeInt(ZIP64_LOCATOR_SIGNATURE);
+				writeInt(0);
+				writeLong(zip64EndOffset);
+				writeInt(1);
+			}
+
+			final int entryCount = Math.min(entries.size(), ZIP64_MAGIC_COUNT);
+			writeInt(END_SIGNATURE);
+			writeShort(0);
+			writeShort(0);
+			writeShort(entryCount);
+			writeShort(entryCount);
+			writeInt(Math.min(centralDirectoryLength, ZIP64_MAGIC_VALUE));
+			writeInt(Math.min(centralDirectoryOffset, ZIP64_MAGIC_VALUE));
+			if (comment != null) {
+				writeShort(comment.length);
+				writeBytes(comment);
+			} else {
+				writeShort(0);
+			}
+			out.flush();
+			finished = true;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			try {
+				finish();
+			} finally {
+				closed = true;
+				if (executorService != null) {
+					executorService.shutdownNow();
+				}
+				// The deflater of the super class is never used
+				def.end();
+				out.close();
+			}
+		}
+	}
+
+	private void writeCentralHeader(final EntryData entryData) throws IOException {
+		final boolean zip64Size = entryData.size >= ZIP64_MAGIC_VALUE;
+		final boolean zip64CompressedSize = entryData.compressedSize >= ZIP64_MAGIC_VALUE;
+		final boolean zip64Offset = entryData.offset >= ZIP64_MAGIC_VALUE;
+		final int zip64ExtraLength = (zip64Size ? 8 : 0) + (zip64CompressedSize ? 8 : 0) + (zip64Offset ? 8 : 0);
+		final int extraLength = (zip64ExtraLength > 0 ? 4 + zip64ExtraLength : 0) + (entryData.aes ? 4 + AesZipEntryOutputStream.EXTRA_FIELD_LENGTH : 0);
+		final int version = entryData.aes ? AES_VERSION : zip64ExtraLength > 0 ? ZIP64_VERSION : VERSION;
+
+		writeInt(CENTRAL_HEADER_SIGNATURE);
+		writeShort(version);
+		writeShort(version);
+		writeShort(entryData.flags);
+		writeShort(entryData.aes ? AesZipEntryOutputStream.COMPRESSION_METHOD : DEFLATED);
+		writeInt(entryData.dosTime);
+		writeInt(entryData.getStoredCrc());
+		writeInt(zip64CompressedSize ? ZIP64_MAGIC_VALUE : entryData.compressedSize);
+		writeInt(zip64Size ? ZIP64_MAGIC_VALUE : entryData.size);
+		writeShort(entryData.name.length);
+		writeShort(extraLength);
+		writeShort(0);
+		writeShort(0);
+		writeShort(0);
+		writeInt(0);
+		writeInt(zip64Offset ? ZIP64_MAGIC_VALUE : entryData.offset);
+		writeBytes(entryData.name);
+		if (zip64ExtraLength > 0) {
+			writeShort(ZIP64_EXTRA_FIELD_ID);
+			writeShort(zip64ExtraLength);
+			if (zip64Size) {
+				writeLong(entryData.size);
+			}
+			if (zip64CompressedSize) {
+				writeLong(entryData.compressedSize);
+			}
+			if (zip64Offset) {
+				writeLong(entryData.offset);
+			}
+		}
+		if (entryData.aes) {
+			writeAesExtraField();
+		}
+	}
+
+	/**
+	 * Extra field of WinZip AES encrypted entries with the real compression method
+	 */
+	private void writeAesExtraField() throws IOException {
+		writeShort(AesZipEntryOutputStream.EXTRA_FIELD_ID);
+		writeShort(AesZipEntryOutputStream.EXTRA_FIELD_LENGTH);
+		writeShort(AesZipEntryOutputStream.VENDOR_VERSION);
+		writeBytes(new byte[] { 'A', 'E', AesZipEntryOutputStream.KEY_STRENGTH });
+		writeShort(DEFLATED);
+	}
+
+	private void writeShort(final int value) throws IOException {
+		numberBuffer[0] = (byte) value;
+		numberBuffer[1] = (byte) (value >>> 8);
+		out.write(numberBuffer, 0, 2);
+		offset += 2;
+	}
+
+	private void writeInt(final long value) throws IOException {
+		numberBuffer[0] = (byte) value;
+		numberBuffer[1] = (byte) (value >>> 8);
+		numberBuffer[2] = (byte) (value >>> 16);
+		numberBuffer[3] = (byte) (value >>> 24);
+		out.write(numberBuffer, 0, 4);
+		offset += 4;
+	}
+
+	private void writeLong(final long value) throws IOException {
+		for (int i = 0; i < 8; i++) {
+			numberBuffer[i] = (byte) (value >>> (8 * i));
+		}
+		out.write(numberBuffer, 0, 8);
+		offset += 8;
+	}
+
+	private void writeBytes(final byte[] data) throws IOException {
+		out.write(data, 0, data.length);
+		offset += data.length;
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed");
+		} else if (finished) {
+			throw new ZipException("ZipOutputStream is already finished");
+		}
+	}
+
+	private void ensureEntry() throws IOException {
+		ensureOpen();
+		if (currentEntry == null) {
+			throw new ZipException("no current ZIP entry");
+		}
+	}
+
+	/**
+	 * Convert a java time into the MS-DOS date and time format of zip files, which starts in 1980 and has a resolution of 2 seconds
+	 */
+	private static int toDosTime(final long time) {
+		final LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		if (dateTime.getYear() < 1980) {
+			return (1 << 21) | (1 << 16);
+		} else {
+			return ((dateTime.getYear() - 1980) << 25)
+					| (dateTime.getMonthValue() << 21)
+					| (dateTime.getDayOfMonth() << 16)
+					| (dateTime.getHour() << 11)
+					| (dateTime.getMinute() << 5)
+					| (dateTime.getSecond() >> 1);
+		}
+	}
+
+	private static class EntryData {
+		private final ZipEntry entry;
+		private final byte[] name;
+		private final int flags;
+		private final int dosTime;
+		private final long offset;
+		private final boolean aes;
+		private long crc = 0;
+		private long size = 0;
+		private long compressedSize = 0;
+
+		private EntryData(final ZipEntry entry, final long offset, final boolean encrypted, final boolean aes) {
+			this.entry = entry;
+			this.offset = offset;
+			this.aes = aes;
+			name = entry.getName().getBytes(StandardCharsets.UTF_8);
+			flags = FLAG_DATA_DESCRIPTOR | (name.length != entry.getName().length() ? FLAG_UTF8_NAME : 0) | (encrypted ? FLAG_ENCRYPTED : 0);
+			dosTime = toDosTime(entry.getTime() == -1 ? System.currentTimeMillis() : entry.getTime());
+		}
+
+		/**
+		 * AE-2 encrypted entries store no CRC-32
+		 */
+		private long getStoredCrc() {
+			return aes ? 0 : crc;
+		}
+	}
+}
@@ -0,0 +1,250 @@
+package de.soderer.utilities.zip;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Zip archive, which is shared by multiple writers of entries, like the exports of many tables and their lob files.
+ *
+ * A zip archive can only be written one entry after the other. The first entry opened gets the archive and is written into it directly.
+ * Entries opened meanwhile, like the lob files of a table or the tables of concurrent exports, are deflated into temporary spool files.
+ * Their deflated data is appended without compressing it again, as soon as the archive is free.
+ *
+ * CRC-32 and sizes of each entry are written into the archive, when the entry is closed, and are available from its EntryOutputStream.
+ * Zip64 extensions are used for large archives and entries.
+ */
+public class SharedZipArchive implements Closeable {
+	private final File archiveFile;
+	private final File spoolDirectory;
+	private final int level;
+	private final ParallelZipOutputStream zipOutputStream;
+
+	private final Set<String> entryNames = new HashSet<>();
+	private EntryOutputStream directEntry = null;
+	private final Deque<EntryOutputStream> waitingEntries = new ArrayDeque<>();
+	private long entryNameCounter = 0;
+	private boolean closed = false;
+
+	/**
+	 * @param level
+	 *            Deflater compression level 0 to 9 or Deflater.DEFAULT_COMPRESSION
+	 * @param threads
+	 *            Number of threads compressing directly written entries
+	 * @param password
+	 *            Password to encrypt all entries or null for unencrypted entries
+	 * @param useZipCrypto
+	 *            Use the weak traditional PKWARE encryption instead of AES-256
+	 */
+	public SharedZipArchive(final File archiveFile, final int level, final int threads, final char[] password, final boolean useZipCrypto) throws IOException {
+		if (archiveFile.exists()) {
+			throw new IOException("Outputfile already exists: " + archiveFile.getAbsolutePath());
+		}
+		this.archiveFile = archiveFile;
+		spoolDirectory = archiveFile.getAbsoluteFile().getParentFile();
+		this.level = level;
+		zipOutputStream = new ParallelZipOutputStream(new BufferedOutputStream(new FileOutputStream(archiveFile)), level, threads, password, useZipCrypto);
+	}
+
+	public File getArchiveFile() {
+		return archiveFile;
+	}
+
+	/**
+	 * Open a new entry. The returned stream must be closed to add the entry to the archive.
+	 */
+	public synchronized EntryOutputStream openEntry(final String entryName) throws IOException {
+		if (closed) {
+			throw new IOException("Zip archive is already closed: " + archiveFile.getAbsolutePath());
+		} else if (!entryNames.add(entryName)) {
+			throw new ZipException("duplicate entry: " + entryName);
+		}
+
+		final ZipEntry entry = new ZipEntry(entryName);
+		entry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
+		if (directEntry == null && waitingEntries.isEmpty()) {
+			zipOutputStream.putNextEntry(entry);
+			directEntry = new EntryOutputStream(entry, null);
+			return directEntry;
+		} else {
+			return new EntryOutputStream(entry, File.createTempFile(archiveFile.getName() + "_", ".zipentry", spoolDirectory));
+		}
+	}
+
+	/**
+	 * Create an entry name, which is not used by any other entry of this archive yet
+	 */
+	public synchronized String createUniqueEntryName(final String prefix, final String suffix) {
+		String entryName;
+		do {
+			entryName = prefix + "_" + (++entryNameCounter) + suffix;
+		} while (entryNames.contains(entryName));
+		return entryName;
+	}
+
+	/**
+	 * Close the directly written entry, append all waiting entries and write the central directory.
+	 * Spooled entries, which are still open, are not included in the archive.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			try {
+				if (directEntry != null) {
+					zipOutputStream.closeEntry();
+					directEntry = null;
+				}
+				appendWaitingEntries();
+				zipOutputStream.close();
+			} finally {
+				for (final EntryOutputStream waitingEntry : waitingEntries) {
+					waitingEntry.spoolFile.delete();
+				}
+				waitingEntries.clear();
+			}
+		}
+	}
+
+	private synchronized void entryClosed(final EntryOutputStream entryOutputStream) throws IOException {
+		if (closed) {
+			if (entryOutputStream.spoolFile != null) {
+				entryOutputStream.spoolFile.delete();
+			}
+			throw new IOException("Zip archive is already closed: " + archiveFile.getAbsolutePath());
+		}
+
+		if (entryOutputStream == directEntry) {
+			zipOutputStream.closeEntry();
+			directEntry = null;
+		} else {
+			waitingEntries.add(entryOutputStream);
+		}
+		if (directEntry == null) {
+			appendWaitingEntries();
+		}
+	}
+
+	private void appendWaitingEntries() throws IOException {
+		while (!waitingEntries.isEmpty()) {
+			final EntryOutputStream waitingEntry = waitingEntries.poll();
+			try (InputStream deflatedData = new BufferedInputStream(new FileInputStream(waitingEntry.spoolFile))) {
+				zipOutputStream.putDeflatedEntry(waitingEntry.entry, deflatedData, waitingEntry.crc, waitingEntry.size);
+			} finally {
+				waitingEntry.spoolFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * Data of a single entry of a SharedZipArchive
+	 */
+	public class EntryOutputStream extends OutputStream {
+		private final ZipEntry entry;
+		private final File spoolFile;
+		private final ParallelDeflateOutputStream spoolStream;
+		private long crc = 0;
+		private long size = 0;
+		private boolean closed = false;
+
+		private EntryOutputStream(final ZipEntry entry, final File spoolFile) throws IOException {
+			this.entry = entry;
+			this.spoolFile = spoolFile;
+			if (spoolFile != null) {
+				// Spooled entries are deflated by the thread writing them
+				spoolStream = new ParallelDeflateOutputStream(new BufferedOutputStream(new FileOutputStream(spoolFile)), level, ParallelDeflateOutputStream.DEFAULT_BLOCK_SIZE, null, 1);
+			} else {
+				spoolStream = null;
+			}
+		}
+
+		public SharedZipArchive getArchive() {
+			return SharedZipArchive.this;
+		}
+
+		public String getEntryName() {
+			return entry.getName();
+		}
+
+		/**
+		 * Size of the uncompressed data, available after close
+		 */
+		public long getSize() {
+			return spoolStream != null ? size : entry.getSize();
+		}
+
+		/**
+		 * Size of the compressed data, available after close. Spooled entries may not be appended yet, so their size excludes the encryption header.
+		 */
+		public long getCompressedSize() {
+			return spoolStream != null ? spoolStream.getBytesWritten() : entry.getCompressedSize();
+		}
+
+		@Override
+		public void write(final int byteValue) throws IOException {
+			ensureOpen();
+			if (spoolStream != null) {
+				spoolStream.write(byteValue);
+			} else {
+				zipOutputStream.write(byteValue);
+			}
+		}
+
+		@Override
+		public void write(final byte[] data, final int offset, final int length) throws IOException {
+			ensureOpen();
+			if (spoolStream != null) {
+				spoolStream.write(data, offset, length);
+			} else {
+				zipOutputStream.write(data, offset, length);
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (spoolStream != null) {
+				spoolStream.flush();
+			}
+		}
+
+		/**
+		 * Add the entry to the archive, the archive itself stays open
+		 */
+		@Override
+		public void close() throws IOException {
+			if (!closed) {
+				closed = true;
+				if (spoolStream != null) {
+					try {
+						spoolStream.close();
+					} catch (final IOException e) {
+						spoolFile.delete();
+						throw e;
+					}
+					crc = spoolStream.getCrc();
+					size = spoolStream.getBytesRead();
+				}
+				entryClosed(this);
+			}
+		}
+
+		private void ensureOpen() throws IOException {
+			if (closed) {
+				throw new IOException("Zip entry is already closed: " + entry.getName());
+			}
+		}
+	}
+}
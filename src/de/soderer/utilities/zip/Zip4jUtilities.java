@@ -1,19 +1,130 @@
 package de.soderer.utilities.zip;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Enumeration;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
 public class Zip4jUtilities {
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int CENTRAL_HEADER_LENGTH = 46;
+	private static final int ZIP64_END_HEADER_LENGTH = 56;
+	private static final int ZIP64_LOCATOR_LENGTH = 20;
+	private static final int END_HEADER_LENGTH = 22;
+	private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+
+	/**
+	 * Rewrite an unencrypted zip file with all of its entries encrypted.
+	 * Exports should create their zip files encrypted directly by ZipUtilities.openNewZipOutputStream with a password instead.
+	 */
 	public static void createPasswordSecuredZipFile(final String originalZipFilePath, final char[] zipPassword, final boolean useZipCrypto) throws IOException {
-		throw new IOException("Password secured zip files are not supported");
+		final File originalZipFile = new File(originalZipFilePath);
+		final File encryptedZipFile = File.createTempFile(originalZipFile.getName() + "_", ".tmp", originalZipFile.getAbsoluteFile().getParentFile());
+		try {
+			try (ZipFile zipFile = new ZipFile(originalZipFile);
+					ZipOutputStream zipOutputStream = ZipUtilities.openNewZipOutputStream(new FileOutputStream(encryptedZipFile), Deflater.DEFAULT_COMPRESSION, 1, zipPassword, useZipCrypto)) {
+				final byte[] buffer = new byte[8192];
+				final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+				while (entries.hasMoreElements()) {
+					final ZipEntry entry = entries.nextElement();
+					final ZipEntry encryptedEntry = new ZipEntry(entry.getName());
+					encryptedEntry.setTime(entry.getTime());
+					zipOutputStream.putNextEntry(encryptedEntry);
+					try (InputStream inputStream = zipFile.getInputStream(entry)) {
+						int length;
+						while ((length = inputStream.read(buffer)) > -1) {
+							zipOutputStream.write(buffer, 0, length);
+						}
+					}
+					zipOutputStream.closeEntry();
+				}
+			}
+			if (!originalZipFile.delete() || !encryptedZipFile.renameTo(originalZipFile)) {
+				throw new IOException("Cannot replace zip file '" + originalZipFile.getAbsolutePath() + "' by its encrypted version");
+			}
+		} finally {
+			if (encryptedZipFile.exists()) {
+				encryptedZipFile.delete();
+			}
+		}
 	}
 
+	/**
+	 * The sizes of encrypted entries are readable from the central directory without password.
+	 * java.util.zip.ZipFile refuses to open zip files with encrypted entries, so the central directory is read directly.
+	 */
 	public static long getUncompressedSize(final File zipFilePath, final char[] zipPassword) throws IOException {
-		throw new IOException("Password secured zip files are not supported");
+		try (RandomAccessFile zipFile = new RandomAccessFile(zipFilePath, "r")) {
+			final int tailLength = (int) Math.min(zipFile.length(), END_HEADER_LENGTH + 0xFFFF);
+			final ByteBuffer tail = readBytes(zipFile, zipFile.length() - tailLength, tailLength);
+			int endPosition = tailLength - END_HEADER_LENGTH;
+			while (endPosition >= 0 && tail.getInt(endPosition) != END_SIGNATURE) {
+				endPosition--;
+			}
+			if (endPosition < 0) {
+				throw new ZipException("Zip file '" + zipFilePath.getAbsolutePath() + "' has no central directory");
+			}
+
+			long entryCount = tail.getShort(endPosition + 10) & 0xFFFF;
+			long centralDirectorySize = tail.getInt(endPosition + 12) & 0xFFFFFFFFL;
+			long centralDirectoryOffset = tail.getInt(endPosition + 16) & 0xFFFFFFFFL;
+			final int locatorPosition = endPosition - ZIP64_LOCATOR_LENGTH;
+			if (locatorPosition >= 0 && tail.getInt(locatorPosition) == ZIP64_LOCATOR_SIGNATURE) {
+				final ByteBuffer zip64End = readBytes(zipFile, tail.getLong(locatorPosition + 8), ZIP64_END_HEADER_LENGTH);
+				entryCount = zip64End.getLong(32);
+				centralDirectorySize = zip64End.getLong(40);
+				centralDirectoryOffset = zip64End.getLong(48);
+			}
+
+			final ByteBuffer centralDirectory = readBytes(zipFile, centralDirectoryOffset, (int) centralDirectorySize);
+			long uncompressedSize = 0;
+			int headerPosition = 0;
+			for (long entryIndex = 0; entryIndex < entryCount; entryIndex++) {
+				if (centralDirectory.getInt(headerPosition) != CENTRAL_HEADER_SIGNATURE) {
+					throw new ZipException("Invalid central directory in zip file '" + zipFilePath.getAbsolutePath() + "'");
+				}
+				long entrySize = centralDirectory.getInt(headerPosition + 24) & 0xFFFFFFFFL;
+				final int nameLength = centralDirectory.getShort(headerPosition + 28) & 0xFFFF;
+				final int extraLength = centralDirectory.getShort(headerPosition + 30) & 0xFFFF;
+				final int commentLength = centralDirectory.getShort(headerPosition + 32) & 0xFFFF;
+				if (entrySize == 0xFFFFFFFFL) {
+					// The uncompressed size is the first value of the Zip64 extra field
+					int extraPosition = headerPosition + CENTRAL_HEADER_LENGTH + nameLength;
+					final int extraEnd = extraPosition + extraLength;
+					while (extraPosition + 4 <= extraEnd) {
+						if ((centralDirectory.getShort(extraPosition) & 0xFFFF) == ZIP64_EXTRA_FIELD_ID) {
+							entrySize = centralDirectory.getLong(extraPosition + 4);
+							break;
+						}
+						extraPosition += 4 + (centralDirectory.getShort(extraPosition + 2) & 0xFFFF);
+					}
+				}
+				uncompressedSize += entrySize;
+				headerPosition += CENTRAL_HEADER_LENGTH + nameLength + extraLength + commentLength;
+			}
+			return uncompressedSize;
+		}
 	}
 
 	public static InputStream openPasswordSecuredZipFile(final String importFilePathOrData, final char[] zipPassword) throws Exception {
 		throw new Exception("Password secured zip files are not supported");
 	}
+
+	private static ByteBuffer readBytes(final RandomAccessFile file, final long position, final int length) throws IOException {
+		final byte[] data = new byte[length];
+		file.seek(position);
+		file.readFully(data);
+		return ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+	}
 }
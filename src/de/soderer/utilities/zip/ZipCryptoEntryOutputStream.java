@@ -0,0 +1,82 @@
+package de.soderer.utilities.zip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+/**
+ * Traditional PKWARE encryption (ZipCrypto) of the compressed data of a zip entry, which is weak but supported by Windows.
+ *
+ * Output is the 12 byte encryption header followed by the encrypted data.
+ * The last header byte is checked by the unzip tools before decryption. As the CRC-32 is not known before the data is written, entries with data descriptor use the high byte of their file time.
+ */
+public class ZipCryptoEntryOutputStream extends ZipEntryEncryptingOutputStream {
+	private static final int HEADER_LENGTH = 12;
+
+	private static final int[] CRC_TABLE = new int[256];
+
+	static {
+		for (int i = 0; i < 256; i++) {
+			int crc = i;
+			for (int bit = 0; bit < 8; bit++) {
+				crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0xEDB88320 : crc >>> 1;
+			}
+			CRC_TABLE[i] = crc;
+		}
+	}
+
+	private int key0 = 305419896;
+	private int key1 = 591751049;
+	private int key2 = 878082192;
+
+	private final byte[] encryptedData = new byte[BUFFER_SIZE];
+
+	/**
+	 * @param checkByte
+	 *            High byte of the CRC-32 or, for entries with data descriptor, high byte of the MS-DOS file time
+	 */
+	public ZipCryptoEntryOutputStream(final OutputStream outputStream, final char[] password, final int checkByte, final SecureRandom random) throws IOException {
+		super(outputStream);
+
+		for (final byte passwordByte : new String(password).getBytes(StandardCharsets.UTF_8)) {
+			updateKeys(passwordByte);
+		}
+
+		final byte[] header = new byte[HEADER_LENGTH];
+		random.nextBytes(header);
+		header[HEADER_LENGTH - 1] = (byte) checkByte;
+		write(header, 0, HEADER_LENGTH);
+	}
+
+	@Override
+	public void write(final byte[] data, int offset, int length) throws IOException {
+		while (length > 0) {
+			final int chunkLength = Math.min(length, encryptedData.length);
+			for (int i = 0; i < chunkLength; i++) {
+				final byte plainByte = data[offset + i];
+				final int temp = (key2 | 2) & 0xFFFF;
+				encryptedData[i] = (byte) (plainByte ^ ((temp * (temp ^ 1)) >>> 8));
+				updateKeys(plainByte);
+			}
+			writeOutput(encryptedData, 0, chunkLength);
+			offset += chunkLength;
+			length -= chunkLength;
+		}
+	}
+
+	@Override
+	public void finish() throws IOException {
+		// ZipCrypto has no trailer
+	}
+
+	private void updateKeys(final byte plainByte) {
+		key0 = updateCrc(key0, plainByte);
+		key1 = (key1 + (key0 & 0xFF)) * 134775813 + 1;
+		key2 = updateCrc(key2, (byte) (key1 >>> 24));
+	}
+
+	private static int updateCrc(final int crc, final byte value) {
+		return (crc >>> 8) ^ CRC_TABLE[(crc ^ value) & 0xFF];
+	}
+}
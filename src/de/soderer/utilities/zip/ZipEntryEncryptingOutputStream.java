@@ -0,0 +1,57 @@
+package de.soderer.utilities.zip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Encryption of the compressed data of a single zip entry while it is written.
+ * The encryption header is written on creation, a trailer is written by finish(). The underlying OutputStream is never closed.
+ */
+public abstract class ZipEntryEncryptingOutputStream extends OutputStream {
+	protected static final int BUFFER_SIZE = 8192;
+
+	private final OutputStream outputStream;
+	private long bytesWritten = 0;
+
+	protected ZipEntryEncryptingOutputStream(final OutputStream outputStream) {
+		if (outputStream == null) {
+			throw new IllegalArgumentException("OutputStream is null");
+		}
+		this.outputStream = outputStream;
+	}
+
+	@Override
+	public void write(final int byteValue) throws IOException {
+		write(new byte[] { (byte) byteValue }, 0, 1);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		outputStream.flush();
+	}
+
+	/**
+	 * Finish the encryption of the entry without closing the underlying OutputStream
+	 */
+	@Override
+	public void close() throws IOException {
+		finish();
+	}
+
+	/**
+	 * Write the trailer of the encrypted data
+	 */
+	public abstract void finish() throws IOException;
+
+	/**
+	 * Number of bytes written to the underlying OutputStream including the encryption header and trailer, which is the compressed size of the zip entry
+	 */
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	protected void writeOutput(final byte[] data, final int offset, final int length) throws IOException {
+		outputStream.write(data, offset, length);
+		bytesWritten += length;
+	}
+}
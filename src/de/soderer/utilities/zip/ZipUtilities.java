@@ -331,6 +331,53 @@ public class ZipUtilities {
 		return new ZipOutputStream(new BufferedOutputStream(destinationZipStream));
 	}
 
+	/**
+	 * Open a ZipOutputStream based on a OutputStream in which is written with the given compression level.
+	 * With more than one thread the entries are deflated in parallel blocks by a ParallelZipOutputStream.
+	 *
+	 * @param destinationZipStream
+	 * @param level
+	 *            Deflater compression level 0 to 9 or Deflater.DEFAULT_COMPRESSION
+	 * @param threads
+	 *            Number of compressing threads
+	 * @return
+	 * @throws IOException
+	 */
+	public static ZipOutputStream openNewZipOutputStream(final OutputStream destinationZipStream, final int level, final int threads) throws IOException {
+		return openNewZipOutputStream(destinationZipStream, level, threads, null, false);
+	}
+
+	/**
+	 * Open a ZipOutputStream based on a OutputStream in which is written with the given compression level.
+	 * With more than one thread or with a password the entries are written by a ParallelZipOutputStream, which encrypts their data while it is written.
+	 *
+	 * @param destinationZipStream
+	 * @param level
+	 *            Deflater compression level 0 to 9 or Deflater.DEFAULT_COMPRESSION
+	 * @param threads
+	 *            Number of compressing threads
+	 * @param zipPassword
+	 *            Password to encrypt the entries or null
+	 * @param useZipCrypto
+	 *            Use the weak traditional PKWARE encryption instead of AES-256
+	 * @return
+	 * @throws IOException
+	 */
+	public static ZipOutputStream openNewZipOutputStream(final OutputStream destinationZipStream, final int level, final int threads, final char[] zipPassword, final boolean useZipCrypto) throws IOException {
+		if (destinationZipStream == null) {
+			throw new IOException("DestinationStream is missing");
+		}
+
+		final ZipOutputStream zipOutputStream;
+		if (threads > 1 || zipPassword != null) {
+			zipOutputStream = new ParallelZipOutputStream(new BufferedOutputStream(destinationZipStream), level, threads, zipPassword, useZipCrypto);
+		} else {
+			zipOutputStream = new ZipOutputStream(new BufferedOutputStream(destinationZipStream));
+			zipOutputStream.setLevel(level);
+		}
+		return zipOutputStream;
+	}
+
 	/**
 	 * Add a file to an opened ZipOutputStream
 	 *